@@ -18,6 +18,7 @@ public class CustomerResponse {
     private String email;
     private String cpf;
     private AddressResponse endereco;
+    private boolean enderecoPendente;
 
     public static CustomerResponse from(Customer customer) {
         Address addr = customer.getEndereco();
@@ -35,6 +36,7 @@ public class CustomerResponse {
                         .uf(addr.getUf())
                         .cep(addr.getCep())
                         .build() : null)
+                .enderecoPendente(customer.isEnriquecimentoPendente())
                 .build();
     }
 
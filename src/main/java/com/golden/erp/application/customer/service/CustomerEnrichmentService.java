@@ -0,0 +1,47 @@
+package com.golden.erp.application.customer.service;
+
+import com.golden.erp.domain.customer.entity.Customer;
+import com.golden.erp.domain.customer.repository.CustomerRepository;
+import com.golden.erp.domain.customer.valueobject.Address;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Passos transacionais do enriquecimento assíncrono de endereço. Cada método usa a conexão só pelo
+ * tempo de uma consulta ou de um {@code UPDATE}; a chamada ao ViaCEP fica entre eles, fora de
+ * qualquer transação.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CustomerEnrichmentService {
+
+    private final CustomerRepository customerRepository;
+
+    @Transactional(readOnly = true)
+    public List<Long> findPending(int limit) {
+        return customerRepository.findIdsPendingEnrichment(limit);
+    }
+
+    /** CEP a consultar, se o cliente ainda estiver aguardando o enriquecimento. */
+    @Transactional(readOnly = true)
+    public Optional<String> pendingCep(Long id) {
+        return customerRepository.findById(id)
+                .filter(Customer::isEnriquecimentoPendente)
+                .map(Customer::getEndereco)
+                .map(Address::getCep);
+    }
+
+    public boolean complete(Long id, String cep, Address found) {
+        return customerRepository.completeEnrichment(id, cep, found);
+    }
+
+    /** CEP inválido ou inexistente: o endereço fica como o cliente informou. */
+    public boolean abandon(Long id, String cep) {
+        return customerRepository.completeEnrichment(id, cep, null);
+    }
+}
@@ -10,8 +10,8 @@ import com.golden.erp.domain.customer.repository.CustomerRepository;
 import com.golden.erp.domain.customer.valueobject.Address;
 import com.golden.erp.domain.exception.DuplicateFieldException;
 import com.golden.erp.domain.exception.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,25 +19,29 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class CustomerServiceImpl {
 
     private final CustomerRepository customerRepository;
     private final AddressLookupPort addressLookupPort;
+    private final boolean asyncEnrichment;
+
+    public CustomerServiceImpl(CustomerRepository customerRepository,
+                               AddressLookupPort addressLookupPort,
+                               @Value("${customers.enrichment.async:false}") boolean asyncEnrichment) {
+        this.customerRepository = customerRepository;
+        this.addressLookupPort = addressLookupPort;
+        this.asyncEnrichment = asyncEnrichment;
+    }
 
+    /** E-mail ou CPF repetido é barrado pelos índices únicos ao gravar, com {@link DuplicateFieldException}. */
     public CustomerResponse create(CreateCustomerRequest request) {
-        validateUniqueFields(request.getEmail(), request.getCpf(), null);
-
-        Address address = buildAddress(request.getEndereco());
-        address = enrichAddressIfNeeded(address);
-
         Customer customer = Customer.builder()
                 .nome(request.getNome())
                 .email(request.getEmail())
                 .cpf(request.getCpf())
-                .endereco(address)
                 .build();
+        applyAddress(customer, request.getEndereco());
 
         Customer saved = customerRepository.save(customer);
         log.info("Cliente criado com id: {}", saved.getId());
@@ -51,6 +55,13 @@ public class CustomerServiceImpl {
         return CustomerResponse.from(customer);
     }
 
+    /** Versão atual do cliente para o ETag, sem carregar a entidade. */
+    @Transactional(readOnly = true)
+    public String findVersion(Long id) {
+        return customerRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Cliente", id));
+    }
+
     @Transactional(readOnly = true)
     public Page<CustomerResponse> findAll(String nome, String email, Pageable pageable) {
         return customerRepository.findAll(nome, email, pageable)
@@ -61,15 +72,10 @@ public class CustomerServiceImpl {
         Customer existing = customerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", id));
 
-        validateUniqueFields(request.getEmail(), request.getCpf(), id);
-
-        Address address = buildAddress(request.getEndereco());
-        address = enrichAddressIfNeeded(address);
-
         existing.setNome(request.getNome());
         existing.setEmail(request.getEmail());
         existing.setCpf(request.getCpf());
-        existing.setEndereco(address);
+        applyAddress(existing, request.getEndereco());
 
         Customer saved = customerRepository.save(existing);
         log.info("Cliente atualizado com id: {}", saved.getId());
@@ -84,22 +90,16 @@ public class CustomerServiceImpl {
         log.info("Cliente removido com id: {}", id);
     }
 
-    private void validateUniqueFields(String email, String cpf, Long excludeId) {
-        if (excludeId == null) {
-            if (customerRepository.existsByEmail(email)) {
-                throw new DuplicateFieldException("email", email);
-            }
-            if (customerRepository.existsByCpf(cpf)) {
-                throw new DuplicateFieldException("cpf", cpf);
-            }
-        } else {
-            if (customerRepository.existsByEmailAndIdNot(email, excludeId)) {
-                throw new DuplicateFieldException("email", email);
-            }
-            if (customerRepository.existsByCpfAndIdNot(cpf, excludeId)) {
-                throw new DuplicateFieldException("cpf", cpf);
-            }
-        }
+    /**
+     * No modo assíncrono, um endereço incompleto é gravado como veio e o cliente fica marcado; o
+     * {@code CustomerEnrichmentWorker} consulta o CEP depois, sem segurar a conexão desta transação.
+     */
+    private void applyAddress(Customer customer, AddressRequest request) {
+        Address address = buildAddress(request);
+        boolean pending = asyncEnrichment && address != null && address.needsEnrichment();
+
+        customer.setEndereco(pending ? address : enrichAddressIfNeeded(address));
+        customer.setEnriquecimentoPendente(pending);
     }
 
     private Address buildAddress(AddressRequest request) {
@@ -0,0 +1,25 @@
+package com.golden.erp.application.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateOrderBatchRequest {
+
+    @NotEmpty(message = "O lote deve ter pelo menos um pedido")
+    @Size(max = 500, message = "O lote pode ter no máximo 500 pedidos")
+    @Valid
+    private List<CreateOrderRequest> pedidos;
+}
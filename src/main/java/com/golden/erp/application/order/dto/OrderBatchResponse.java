@@ -0,0 +1,60 @@
+package com.golden.erp.application.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResponse {
+
+    private int total;
+    private int sucessos;
+    private int falhas;
+    private List<OrderBatchItemResponse> resultados;
+
+    public static OrderBatchResponse from(List<OrderBatchItemResponse> resultados) {
+        int sucessos = (int) resultados.stream().filter(OrderBatchItemResponse::isSucesso).count();
+        return OrderBatchResponse.builder()
+                .total(resultados.size())
+                .sucessos(sucessos)
+                .falhas(resultados.size() - sucessos)
+                .resultados(resultados)
+                .build();
+    }
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class OrderBatchItemResponse {
+
+        private int indice;
+        private boolean sucesso;
+        private OrderResponse pedido;
+        private String erro;
+
+        public static OrderBatchItemResponse success(int indice, OrderResponse pedido) {
+            return OrderBatchItemResponse.builder()
+                    .indice(indice)
+                    .sucesso(true)
+                    .pedido(pedido)
+                    .build();
+        }
+
+        public static OrderBatchItemResponse failure(int indice, String erro) {
+            return OrderBatchItemResponse.builder()
+                    .indice(indice)
+                    .sucesso(false)
+                    .erro(erro)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.golden.erp.application.order.dto;
+
+import com.golden.erp.domain.exception.DomainException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na listagem de pedidos por {@code (dataCriacao, id)} decrescente. Trafega como texto
+ * opaco (Base64 URL-safe) para o cliente apenas devolvê-lo na próxima chamada.
+ */
+public record OrderCursor(LocalDateTime dataCriacao, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new OrderCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new DomainException("Cursor de paginação inválido");
+        }
+    }
+
+    public String encode() {
+        String raw = dataCriacao + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,22 @@
+package com.golden.erp.application.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderCursorPage {
+
+    private List<OrderResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,36 @@
+package com.golden.erp.application.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.golden.erp.domain.order.entity.OrderIntake;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderIntakeResponse {
+
+    private Long id;
+    private String status;
+    private Long pedidoId;
+    private String erro;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+
+    public static OrderIntakeResponse from(OrderIntake intake) {
+        return OrderIntakeResponse.builder()
+                .id(intake.getId())
+                .status(intake.getStatus().name())
+                .pedidoId(intake.getPedidoId())
+                .erro(intake.getErro())
+                .dataCriacao(intake.getDataCriacao())
+                .dataAtualizacao(intake.getDataAtualizacao())
+                .build();
+    }
+}
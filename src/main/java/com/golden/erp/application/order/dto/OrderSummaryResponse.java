@@ -0,0 +1,29 @@
+package com.golden.erp.application.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da listagem resumida de pedidos. Montada a partir de uma projeção da consulta, sem
+ * carregar itens nem passar pela entidade de domínio.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+
+    private Long id;
+    private Long clienteId;
+    private String clienteNome;
+    private String status;
+    private Long quantidadeItens;
+    private BigDecimal total;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+}
@@ -0,0 +1,21 @@
+package com.golden.erp.application.order.port;
+
+import com.golden.erp.application.order.dto.OrderResponse;
+
+import java.util.function.Function;
+
+public interface OrderCachePort {
+
+    /** Devolve o pedido em cache ou carrega com {@code loader}; exceções do loader não são guardadas. */
+    OrderResponse get(Long id, Function<Long, OrderResponse> loader);
+
+    /**
+     * Como {@link #get(Long, Function)}, mas só aproveita o valor em cache se ele estiver na
+     * versão {@code version} (formato de {@code OrderRepository.findVersionById}); um valor atrás
+     * do banco é descartado e recarregado.
+     */
+    OrderResponse get(Long id, String version, Function<Long, OrderResponse> loader);
+
+    /** Remove o pedido agora e de novo ao fim da transação atual, se houver uma. */
+    void evict(Long id);
+}
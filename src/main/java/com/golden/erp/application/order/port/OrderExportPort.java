@@ -0,0 +1,12 @@
+package com.golden.erp.application.order.port;
+
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+
+import java.util.function.Consumer;
+
+public interface OrderExportPort {
+
+    /** Entrega os pedidos com itens, um a um e em ordem de ID, sem carregar o resultado inteiro. */
+    void forEach(OrderStatus status, Long clienteId, Consumer<Order> action);
+}
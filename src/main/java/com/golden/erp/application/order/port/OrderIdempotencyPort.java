@@ -0,0 +1,16 @@
+package com.golden.erp.application.order.port;
+
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+
+import java.util.Optional;
+
+public interface OrderIdempotencyPort {
+
+    /** Resposta gravada para a chave; lança {@code IdempotencyKeyReuseException} se o corpo for outro. */
+    Optional<OrderResponse> find(String key, CreateOrderRequest request);
+
+    void save(String key, CreateOrderRequest request, OrderResponse response);
+
+    int purgeExpired();
+}
@@ -0,0 +1,11 @@
+package com.golden.erp.application.order.port;
+
+import com.golden.erp.application.order.dto.OrderSummaryResponse;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderSummaryPort {
+
+    Page<OrderSummaryResponse> findAll(OrderStatus status, Long clienteId, Pageable pageable);
+}
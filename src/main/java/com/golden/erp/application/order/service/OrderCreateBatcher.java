@@ -0,0 +1,188 @@
+package com.golden.erp.application.order.service;
+
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupa criações de pedido concorrentes (group commit). As requisições que chegam enquanto um
+ * lote está aberto, por até {@code max-wait-ms} ou {@code max-size} pedidos, são gravadas por
+ * {@link OrderServiceImpl#createAll} numa única transação. Cada chamador recebe o próprio pedido
+ * ou a própria exceção de domínio, e nunca espera mais que {@code result-timeout-ms}. Se a
+ * transação do lote falha como um todo (lock indisponível, conexão perdida), cada pedido é refeito
+ * sozinho pelo caminho direto, para que um pedido não derrube os outros.
+ */
+@Slf4j
+@Component
+public class OrderCreateBatcher {
+
+    private final OrderServiceImpl orderService;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final long resultTimeoutMs;
+    private final BlockingQueue<PendingOrder> queue;
+    private final Counter commits;
+    private final Counter orders;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public OrderCreateBatcher(OrderServiceImpl orderService,
+                              MeterRegistry meterRegistry,
+                              @Value("${orders.batching.enabled:false}") boolean enabled,
+                              @Value("${orders.batching.max-size:50}") int maxSize,
+                              @Value("${orders.batching.max-wait-ms:5}") long maxWaitMs,
+                              @Value("${orders.batching.queue-capacity:2000}") int queueCapacity,
+                              @Value("${orders.batching.result-timeout-ms:30000}") long resultTimeoutMs) {
+        this.orderService = orderService;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.resultTimeoutMs = resultTimeoutMs;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.commits = meterRegistry.counter("orders.batching.commits");
+        this.orders = meterRegistry.counter("orders.batching.orders");
+        this.batchSizes = DistributionSummary.builder("orders.batching.size")
+                .description("Pedidos por transação no group commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        flusher = Thread.ofPlatform().name("order-batcher").daemon().start(this::run);
+        log.info("Micro-batching de pedidos ativo (até {} pedidos ou {} ms por lote)",
+                maxSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        failPending(new IllegalStateException("Aplicação encerrando"));
+    }
+
+    public OrderResponse create(CreateOrderRequest request, String idempotencyKey) {
+        // A chave de idempotência é gravada na transação do próprio pedido; esses seguem o caminho direto
+        if (!running || (idempotencyKey != null && !idempotencyKey.isBlank())) {
+            return orderService.create(request, idempotencyKey);
+        }
+
+        PendingOrder pending = new PendingOrder(request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            // Fila cheia: segue pelo caminho direto em vez de aumentar a espera
+            return orderService.create(request, null);
+        }
+        if (!running) {
+            // stop() pode ter esvaziado a fila antes deste offer; ninguém mais vai consumi-la
+            failPending(new IllegalStateException("Aplicação encerrando"));
+        }
+
+        try {
+            return pending.result().get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha ao gravar lote de pedidos", e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                // Ainda não tinha entrado em nenhum lote: segue pelo caminho direto
+                return orderService.create(request, null);
+            }
+            throw new IllegalStateException("Lote de pedidos não concluído em %d ms".formatted(resultTimeoutMs));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o lote de pedidos", e);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                List<PendingOrder> batch = new ArrayList<>(maxSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<PendingOrder> batch) {
+        try {
+            List<OrderCreationResult> results = orderService.createAll(batch.stream()
+                    .map(PendingOrder::request)
+                    .toList());
+            commits.increment();
+            orders.increment(batch.size());
+            batchSizes.record(batch.size());
+
+            for (int i = 0; i < batch.size(); i++) {
+                OrderCreationResult result = results.get(i);
+                if (result.isSuccess()) {
+                    batch.get(i).result().complete(result.response());
+                } else {
+                    batch.get(i).result().completeExceptionally(result.error());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} pedido(s); refazendo um a um", batch.size(), e);
+            batch.forEach(this::createAlone);
+        } catch (Throwable e) {
+            // Error: nenhum chamador do lote pode ficar esperando um resultado que não virá
+            log.error("Falha ao gravar lote de {} pedido(s)", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void createAlone(PendingOrder pending) {
+        try {
+            pending.result().complete(orderService.create(pending.request(), null));
+        } catch (Throwable e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private void failPending(RuntimeException error) {
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result().completeExceptionally(error));
+    }
+
+    private record PendingOrder(CreateOrderRequest request, CompletableFuture<OrderResponse> result) {
+    }
+}
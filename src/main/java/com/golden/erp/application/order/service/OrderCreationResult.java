@@ -0,0 +1,19 @@
+package com.golden.erp.application.order.service;
+
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.domain.exception.DomainException;
+
+public record OrderCreationResult(OrderResponse response, DomainException error) {
+
+    public static OrderCreationResult success(OrderResponse response) {
+        return new OrderCreationResult(response, null);
+    }
+
+    public static OrderCreationResult failure(DomainException error) {
+        return new OrderCreationResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.golden.erp.application.order.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.golden.erp.application.order.dto.OrderExportFormat;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.port.OrderExportPort;
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Exportação completa de pedidos. Cada pedido é escrito na saída assim que chega do banco, sem
+ * acumular a lista em memória: NDJSON traz um pedido com itens por linha, e CSV traz uma linha
+ * por item, repetindo os dados do pedido.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    static final String CSV_HEADER = "pedidoId,clienteId,clienteNome,status,subtotal,descontos,total,"
+            + "dataCriacao,dataAtualizacao,itemId,produtoId,produtoNome,quantidade,precoUnitario,"
+            + "desconto,itemSubtotal,itemTotal";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderExportPort exportPort;
+    private final ObjectMapper objectMapper;
+
+    /** A transação mantém o cursor aberto no banco enquanto a resposta é escrita. */
+    @Transactional(readOnly = true)
+    public long export(OrderStatus status, Long clienteId, OrderExportFormat format, OutputStream out) throws IOException {
+        long exported = switch (format) {
+            case NDJSON -> writeNdjson(status, clienteId, out);
+            case CSV -> writeCsv(status, clienteId, out);
+        };
+        log.info("Exportação {} concluída: {} pedido(s)", format, exported);
+        return exported;
+    }
+
+    private long writeNdjson(OrderStatus status, Long clienteId, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            return stream(status, clienteId, order -> {
+                writer.writeValue(generator, OrderResponse.from(order));
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private long writeCsv(OrderStatus status, Long clienteId, OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            return stream(status, clienteId, order -> {
+                if (order.getItens().isEmpty()) {
+                    writeCsvLine(writer, order, null);
+                }
+                for (OrderItem item : order.getItens()) {
+                    writeCsvLine(writer, order, item);
+                }
+            });
+        }
+    }
+
+    private long stream(OrderStatus status, Long clienteId, OrderWriter orderWriter) throws IOException {
+        AtomicLong count = new AtomicLong();
+        Consumer<Order> action = order -> {
+            try {
+                orderWriter.write(order);
+                count.incrementAndGet();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            exportPort.forEach(status, clienteId, action);
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente fechou a conexão; a exceção interrompe a leitura do cursor
+            throw e.getCause();
+        }
+        return count.get();
+    }
+
+    private void writeCsvLine(Writer writer, Order order, OrderItem item) throws IOException {
+        writer.write(String.join(",",
+                String.valueOf(order.getId()),
+                String.valueOf(order.getClienteId()),
+                csv(order.getClienteNome()),
+                order.getStatus().name(),
+                decimal(order.getSubtotal()),
+                decimal(order.getDescontos()),
+                decimal(order.getTotal()),
+                order.getDataCriacao() != null ? order.getDataCriacao().toString() : "",
+                order.getDataAtualizacao() != null ? order.getDataAtualizacao().toString() : "",
+                item != null ? String.valueOf(item.getId()) : "",
+                item != null ? String.valueOf(item.getProdutoId()) : "",
+                item != null ? csv(item.getProdutoNome()) : "",
+                item != null ? String.valueOf(item.getQuantidade()) : "",
+                item != null ? decimal(item.getPrecoUnitario()) : "",
+                item != null ? decimal(item.getDesconto()) : "",
+                item != null ? decimal(item.getSubtotal()) : "",
+                item != null ? decimal(item.getTotal()) : ""));
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    @FunctionalInterface
+    private interface OrderWriter {
+        void write(Order order) throws IOException;
+    }
+}
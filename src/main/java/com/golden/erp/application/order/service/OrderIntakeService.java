@@ -0,0 +1,106 @@
+package com.golden.erp.application.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderIntakeResponse;
+import com.golden.erp.application.order.dto.OrderItemRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.domain.exception.EntityNotFoundException;
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.repository.OrderIntakeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderIntakeService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderIntakeRepository intakeRepository;
+    private final OrderServiceImpl orderService;
+    private final ObjectMapper objectMapper;
+
+    public OrderIntakeResponse submit(CreateOrderRequest request) {
+        Long menorProdutoId = request.getItens().stream()
+                .map(OrderItemRequest::getProdutoId)
+                .min(Long::compare)
+                .orElseThrow();
+
+        OrderIntake saved = intakeRepository.save(OrderIntake.builder()
+                .requisicao(serialize(request))
+                .menorProdutoId(menorProdutoId)
+                .build());
+        log.info("Pedido {} recebido para processamento assíncrono", saved.getId());
+        return OrderIntakeResponse.from(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderIntakeResponse findById(Long id) {
+        OrderIntake intake = intakeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Solicitação de pedido", id));
+        return OrderIntakeResponse.from(intake);
+    }
+
+    public List<OrderIntake> claimPending(int limit) {
+        return intakeRepository.claimPending(limit);
+    }
+
+    /**
+     * Cria o pedido e marca a solicitação como concluída na mesma transação. Se a criação
+     * falhar, nada é gravado e a solicitação continua em PROCESSING até {@link #markFailed}
+     * ou {@link #retryOrFail}. Se ela voltou à fila e foi reivindicada de novo enquanto este
+     * worker processava, a gravação falha por versão e o pedido é desfeito.
+     */
+    public OrderResponse process(OrderIntake intake) {
+        CreateOrderRequest request = deserialize(intake.getRequisicao());
+        OrderResponse response = orderService.create(request);
+
+        intake.complete(response.getId());
+        intakeRepository.save(intake);
+        return response;
+    }
+
+    public void markFailed(OrderIntake intake, String erro) {
+        intake.fail(truncate(erro));
+        intakeRepository.save(intake);
+    }
+
+    public void retryOrFail(OrderIntake intake, String erro, int maxTentativas) {
+        intake.retryOrFail(truncate(erro), maxTentativas);
+        intakeRepository.save(intake);
+    }
+
+    public int requeueStale(LocalDateTime threshold) {
+        return intakeRepository.requeueProcessingBefore(threshold);
+    }
+
+    private String serialize(CreateOrderRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar solicitação de pedido", e);
+        }
+    }
+
+    private CreateOrderRequest deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, CreateOrderRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler solicitação de pedido", e);
+        }
+    }
+
+    private String truncate(String erro) {
+        if (erro == null || erro.length() <= MAX_ERROR_LENGTH) return erro;
+        return erro.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,14 +1,26 @@
 package com.golden.erp.application.order.service;
 
+import com.golden.erp.application.order.dto.CreateOrderBatchRequest;
 import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderBatchResponse;
+import com.golden.erp.application.order.dto.OrderBatchResponse.OrderBatchItemResponse;
+import com.golden.erp.application.order.dto.OrderCursor;
+import com.golden.erp.application.order.dto.OrderCursorPage;
 import com.golden.erp.application.order.dto.OrderItemRequest;
 import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.dto.OrderSummaryResponse;
 import com.golden.erp.application.order.dto.OrderUsdResponse;
 import com.golden.erp.application.order.port.ExchangeRatePort;
+import com.golden.erp.application.order.port.OrderCachePort;
+import com.golden.erp.application.order.port.OrderIdempotencyPort;
+import com.golden.erp.application.order.port.OrderSummaryPort;
 import com.golden.erp.domain.customer.entity.Customer;
 import com.golden.erp.domain.customer.repository.CustomerRepository;
 import com.golden.erp.domain.exception.DomainException;
 import com.golden.erp.domain.exception.EntityNotFoundException;
+import com.golden.erp.domain.exception.InsufficientStockException;
+import com.golden.erp.domain.exception.StockBusyException;
+import com.golden.erp.domain.exception.StockLockUnavailableException;
 import com.golden.erp.domain.order.entity.Order;
 import com.golden.erp.domain.order.entity.OrderItem;
 import com.golden.erp.domain.order.repository.OrderRepository;
@@ -25,7 +37,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -33,57 +51,151 @@ import java.util.List;
 @Transactional
 public class OrderServiceImpl {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
     private final ExchangeRatePort exchangeRatePort;
+    private final OrderIdempotencyPort idempotencyPort;
+    private final OrderSummaryPort summaryPort;
+    private final OrderCachePort orderCache;
+
+    public OrderResponse create(CreateOrderRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return create(request);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new DomainException("Idempotency-Key deve ter no máximo %d caracteres"
+                    .formatted(MAX_IDEMPOTENCY_KEY_LENGTH));
+        }
+
+        Optional<OrderResponse> stored = idempotencyPort.find(idempotencyKey, request);
+        if (stored.isPresent()) {
+            log.info("Pedido {} reaproveitado pela Idempotency-Key {}", stored.get().getId(), idempotencyKey);
+            return stored.get();
+        }
+
+        OrderResponse response = create(request);
+        idempotencyPort.save(idempotencyKey, request, response);
+        return response;
+    }
 
     public OrderResponse create(CreateOrderRequest request) {
         Customer customer = customerRepository.findById(request.getClienteId())
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", request.getClienteId()));
 
-        List<OrderItem> orderItems = new ArrayList<>();
-        List<Product> productsToUpdate = new ArrayList<>();
+        Map<Long, Product> products = loadProducts(request.getItens());
+        Order order = buildOrder(customer, request.getItens(), products);
+        decreaseStock(order, products);
 
-        for (OrderItemRequest itemReq : request.getItens()) {
-            Product product = productRepository.findById(itemReq.getProdutoId())
-                    .orElseThrow(() -> new EntityNotFoundException("Produto", itemReq.getProdutoId()));
+        Order saved = orderRepository.save(order);
+        log.info("Pedido criado com id: {} para cliente: {}", saved.getId(), customer.getNome());
+        return OrderResponse.from(saved);
+    }
 
-            product.decreaseStock(itemReq.getQuantidade());
-            productsToUpdate.add(product);
+    public OrderBatchResponse createBatch(CreateOrderBatchRequest request) {
+        List<OrderCreationResult> results = createAll(request.getPedidos());
 
-            OrderItem orderItem = OrderItem.builder()
-                    .produtoId(product.getId())
-                    .produtoNome(product.getNome())
-                    .quantidade(itemReq.getQuantidade())
-                    .precoUnitario(product.getPrecoBruto())
-                    .desconto(itemReq.getDesconto())
-                    .build();
-
-            orderItems.add(orderItem);
+        List<OrderBatchItemResponse> resultados = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            OrderCreationResult result = results.get(i);
+            resultados.add(result.isSuccess()
+                    ? OrderBatchItemResponse.success(i, result.response())
+                    : OrderBatchItemResponse.failure(i, result.error().getMessage()));
         }
 
-        for (Product product : productsToUpdate) {
-            productRepository.save(product);
+        OrderBatchResponse response = OrderBatchResponse.from(resultados);
+        log.info("Lote de pedidos processado: {} criado(s), {} rejeitado(s)",
+                response.getSucessos(), response.getFalhas());
+        return response;
+    }
+
+    /**
+     * Cria vários pedidos numa única transação, com uma consulta para clientes, uma para produtos
+     * e um insert em lote. Cada pedido é validado isoladamente: o resultado de cada posição traz o
+     * pedido criado ou a {@link DomainException} que o rejeitou.
+     * <p>
+     * As linhas da união dos produtos são travadas uma vez, em ordem de ID, e o estoque do lote é
+     * baixado numa única passada. Só se algum produto não tiver saldo para o lote inteiro a baixa é
+     * desfeita e refeita pedido a pedido, para decidir quais pedidos cabem no estoque.
+     */
+    public List<OrderCreationResult> createAll(List<CreateOrderRequest> pedidos) {
+        Map<Long, Customer> customers = loadCustomers(pedidos);
+        Map<Long, Product> products = loadProducts(pedidos.stream()
+                .flatMap(pedido -> pedido.getItens().stream())
+                .toList());
+
+        OrderCreationResult[] results = new OrderCreationResult[pedidos.size()];
+        List<Order> built = new ArrayList<>();
+        List<Integer> builtIndexes = new ArrayList<>();
+
+        for (int i = 0; i < pedidos.size(); i++) {
+            CreateOrderRequest pedido = pedidos.get(i);
+            try {
+                Customer customer = customers.get(pedido.getClienteId());
+                if (customer == null) {
+                    throw new EntityNotFoundException("Cliente", pedido.getClienteId());
+                }
+                built.add(buildOrder(customer, pedido.getItens(), products));
+                builtIndexes.add(i);
+            } catch (DomainException e) {
+                results[i] = OrderCreationResult.failure(e);
+            }
         }
 
-        Order order = Order.builder()
-                .clienteId(customer.getId())
-                .clienteNome(customer.getNome())
-                .status(OrderStatus.CREATED)
-                .itens(orderItems)
-                .build();
+        // Uma falha de lock aqui derruba o lote: a transação não pode seguir (no PostgreSQL ela fica abortada)
+        Map<Long, Integer> merged = sumQuantitiesByProduct(built.stream()
+                .flatMap(order -> order.getItens().stream())
+                .toList());
+        productRepository.lockStock(merged.keySet());
 
-        Order saved = orderRepository.save(order);
-        log.info("Pedido criado com id: {} para cliente: {}", saved.getId(), customer.getNome());
-        return OrderResponse.from(saved);
+        List<Order> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        if (built.size() > 1 && decreaseAllOrNothing(merged).isEmpty()) {
+            accepted.addAll(built);
+            acceptedIndexes.addAll(builtIndexes);
+        } else {
+            for (int j = 0; j < built.size(); j++) {
+                try {
+                    decreaseStock(built.get(j), products);
+                    accepted.add(built.get(j));
+                    acceptedIndexes.add(builtIndexes.get(j));
+                } catch (StockLockUnavailableException e) {
+                    throw e;
+                } catch (DomainException e) {
+                    results[builtIndexes.get(j)] = OrderCreationResult.failure(e);
+                }
+            }
+        }
+
+        List<Order> saved = orderRepository.saveAll(accepted);
+        for (int j = 0; j < saved.size(); j++) {
+            results[acceptedIndexes.get(j)] = OrderCreationResult.success(OrderResponse.from(saved.get(j)));
+        }
+        return List.of(results);
     }
 
     @Transactional(readOnly = true)
     public OrderResponse findById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderCache.get(id, this::loadResponse);
+    }
+
+    /**
+     * Pedido para o {@code GET} com ETag {@code version}. O cache só serve se estiver nessa versão;
+     * senão o pedido é relido, então o corpo nunca é mais antigo que o ETag.
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse findById(Long id, String version) {
+        return orderCache.get(id, version, this::loadResponse);
+    }
+
+    /** Versão atual do pedido para o ETag, sem carregar pedido nem itens. */
+    @Transactional(readOnly = true)
+    public String findVersion(Long id) {
+        return orderRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
-        return OrderResponse.from(order);
     }
 
     @Transactional(readOnly = true)
@@ -92,6 +204,33 @@ public class OrderServiceImpl {
                 .map(OrderResponse::from);
     }
 
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryResponse> findAllSummaries(OrderStatus status, Long clienteId, Pageable pageable) {
+        return summaryPort.findAll(status, clienteId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderCursorPage findAllByCursor(OrderStatus status, Long clienteId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        // Busca um a mais só para saber se existe próxima página
+        List<Order> orders = orderRepository.findAfter(status, clienteId,
+                after != null ? after.dataCriacao() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+        boolean hasNext = orders.size() > pageSize;
+        List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+
+        Order last = page.isEmpty() ? null : page.getLast();
+        return OrderCursorPage.builder()
+                .content(page.stream().map(OrderResponse::from).toList())
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new OrderCursor(last.getDataCriacao(), last.getId()).encode() : null)
+                .build();
+    }
+
     public OrderResponse pay(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
@@ -99,6 +238,7 @@ public class OrderServiceImpl {
         order.pay();
 
         Order saved = orderRepository.save(order);
+        orderCache.evict(id);
         log.info("Pedido {} pago com sucesso", saved.getId());
         return OrderResponse.from(saved);
     }
@@ -112,26 +252,19 @@ public class OrderServiceImpl {
         order.cancel();
 
         if (shouldRestoreStock) {
-            for (OrderItem item : order.getItens()) {
-                Product product = productRepository.findById(item.getProdutoId())
-                        .orElse(null);
-                if (product != null) {
-                    product.increaseStock(item.getQuantidade());
-                    productRepository.save(product);
-                }
-            }
+            productRepository.increaseStock(sumQuantitiesByProduct(order.getItens()));
             log.info("Estoque devolvido para pedido {}", id);
         }
 
         Order saved = orderRepository.save(order);
+        orderCache.evict(id);
         log.info("Pedido {} cancelado", saved.getId());
         return OrderResponse.from(saved);
     }
 
     @Transactional(readOnly = true)
     public OrderUsdResponse getUsdTotal(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
+        OrderResponse order = orderCache.get(id, this::loadResponse);
 
         BigDecimal rate = exchangeRatePort.getBrlToUsdRate();
         if (rate == null) {
@@ -148,4 +281,92 @@ public class OrderServiceImpl {
                 .exchangeRate(rate)
                 .build();
     }
+
+    private OrderResponse loadResponse(Long id) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido", id));
+        return OrderResponse.from(order);
+    }
+
+    private Order buildOrder(Customer customer, List<OrderItemRequest> itens, Map<Long, Product> products) {
+        List<OrderItem> orderItems = new ArrayList<>();
+
+        for (OrderItemRequest itemReq : itens) {
+            Product product = products.get(itemReq.getProdutoId());
+            if (product == null) {
+                throw new EntityNotFoundException("Produto", itemReq.getProdutoId());
+            }
+
+            OrderItem orderItem = OrderItem.builder()
+                    .produtoId(product.getId())
+                    .produtoNome(product.getNome())
+                    .quantidade(itemReq.getQuantidade())
+                    .precoUnitario(product.getPrecoBruto())
+                    .desconto(itemReq.getDesconto())
+                    .build();
+
+            orderItems.add(orderItem);
+        }
+
+        Order order = Order.builder()
+                .clienteId(customer.getId())
+                .clienteNome(customer.getNome())
+                .status(OrderStatus.CREATED)
+                .itens(orderItems)
+                .build();
+        order.calculateTotals();
+        return order;
+    }
+
+    private void decreaseStock(Order order, Map<Long, Product> products) {
+        Map<Long, Integer> quantities = sumQuantitiesByProduct(order.getItens());
+        Set<Long> rejected = decreaseAllOrNothing(quantities);
+        if (rejected.isEmpty()) return;
+
+        // O catálogo em cache não traz estoque; o saldo da mensagem é lido do banco
+        Long productId = rejected.iterator().next();
+        Product product = productRepository.findById(productId).orElse(products.get(productId));
+        int available = product.getEstoque() != null ? product.getEstoque() : 0;
+        if (available >= quantities.get(productId)) {
+            // Há saldo, mas preso em shards travados por outros pedidos ainda não confirmados
+            throw new StockBusyException(product.getNome());
+        }
+        throw new InsufficientStockException(product.getNome(), available, quantities.get(productId));
+    }
+
+    /** Baixa tudo ou nada: se algum produto for rejeitado, devolve o que já tinha sido baixado. */
+    private Set<Long> decreaseAllOrNothing(Map<Long, Integer> quantities) {
+        Set<Long> rejected = productRepository.decreaseStock(quantities);
+        if (rejected.isEmpty()) return rejected;
+
+        Map<Long, Integer> applied = new HashMap<>(quantities);
+        applied.keySet().removeAll(rejected);
+        if (!applied.isEmpty()) {
+            productRepository.increaseStock(applied);
+        }
+        return rejected;
+    }
+
+    private Map<Long, Customer> loadCustomers(List<CreateOrderRequest> pedidos) {
+        Set<Long> ids = pedidos.stream()
+                .map(CreateOrderRequest::getClienteId)
+                .collect(Collectors.toSet());
+
+        return customerRepository.findAllByIds(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+    }
+
+    private Map<Long, Product> loadProducts(List<OrderItemRequest> itens) {
+        Set<Long> ids = itens.stream()
+                .map(OrderItemRequest::getProdutoId)
+                .collect(Collectors.toSet());
+
+        return productRepository.findCatalogByIds(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private Map<Long, Integer> sumQuantitiesByProduct(List<OrderItem> itens) {
+        return itens.stream()
+                .collect(Collectors.toMap(OrderItem::getProdutoId, OrderItem::getQuantidade, Integer::sum));
+    }
 }
@@ -1,6 +1,7 @@
 package com.golden.erp.application.product.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -38,4 +39,9 @@ public class CreateProductRequest {
     private Integer estoqueMinimo;
 
     private Boolean ativo = true;
+
+    /** Quantas linhas dividem o estoque; acima de 1 para SKUs muito disputados. */
+    @Min(value = 1, message = "Shards deve ser no mínimo 1")
+    @Max(value = 64, message = "Shards deve ser no máximo 64")
+    private Integer shards;
 }
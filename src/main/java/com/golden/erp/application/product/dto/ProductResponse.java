@@ -21,6 +21,7 @@ public class ProductResponse {
     private Integer estoque;
     private Integer estoqueMinimo;
     private Boolean ativo;
+    private Integer shards;
 
     public static ProductResponse from(Product product) {
         return ProductResponse.builder()
@@ -31,6 +32,7 @@ public class ProductResponse {
                 .estoque(product.getEstoque())
                 .estoqueMinimo(product.getEstoqueMinimo())
                 .ativo(product.getAtivo())
+                .shards(product.getShards())
                 .build();
     }
 }
@@ -1,6 +1,7 @@
 package com.golden.erp.application.product.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -39,4 +40,9 @@ public class UpdateProductRequest {
 
     @NotNull(message = "Campo ativo é obrigatório")
     private Boolean ativo;
+
+    /** Quantas linhas dividem o estoque; acima de 1 para SKUs muito disputados. */
+    @Min(value = 1, message = "Shards deve ser no mínimo 1")
+    @Max(value = 64, message = "Shards deve ser no máximo 64")
+    private Integer shards;
 }
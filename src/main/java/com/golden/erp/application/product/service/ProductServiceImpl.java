@@ -34,6 +34,7 @@ public class ProductServiceImpl {
                 .estoque(request.getEstoque())
                 .estoqueMinimo(request.getEstoqueMinimo())
                 .ativo(request.getAtivo() != null ? request.getAtivo() : true)
+                .shards(request.getShards() != null ? request.getShards() : 1)
                 .build();
 
         Product saved = productRepository.save(product);
@@ -48,6 +49,13 @@ public class ProductServiceImpl {
         return ProductResponse.from(product);
     }
 
+    /** Versão atual do produto (dados e estoque) para o ETag, sem carregar a entidade. */
+    @Transactional(readOnly = true)
+    public String findVersion(Long id) {
+        return productRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Produto", id));
+    }
+
     @Transactional(readOnly = true)
     public Page<ProductResponse> findAll(Boolean ativo, Pageable pageable) {
         return productRepository.findAll(ativo, pageable)
@@ -68,6 +76,9 @@ public class ProductServiceImpl {
         existing.setEstoque(request.getEstoque());
         existing.setEstoqueMinimo(request.getEstoqueMinimo());
         existing.setAtivo(request.getAtivo());
+        if (request.getShards() != null) {
+            existing.setShards(request.getShards());
+        }
 
         Product saved = productRepository.save(existing);
         log.info("Produto atualizado com id: {}", saved.getId());
@@ -0,0 +1,149 @@
+package com.golden.erp.application.scheduler;
+
+import com.golden.erp.application.customer.port.AddressLookupPort;
+import com.golden.erp.application.customer.service.CustomerEnrichmentService;
+import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.AddressLookupUnavailableException;
+import com.golden.erp.domain.exception.DomainException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Preenche em segundo plano os endereços dos clientes gravados com {@code enriquecimento_pendente}.
+ * Cada cliente é tratado numa virtual thread: lê o CEP, consulta o ViaCEP sem transação aberta e
+ * grava o resultado num {@code UPDATE} condicional. Se o ViaCEP está fora, as consultas param por
+ * {@code retry-delay-seconds} e os clientes continuam pendentes até a próxima rodada.
+ */
+@Slf4j
+@Component
+public class CustomerEnrichmentWorker {
+
+    private final CustomerEnrichmentService enrichmentService;
+    private final AddressLookupPort addressLookupPort;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int batchSize;
+    private final long retryDelayNanos;
+    private final MeterRegistry meterRegistry;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile long pausedUntil;
+    private volatile boolean paused;
+
+    public CustomerEnrichmentWorker(CustomerEnrichmentService enrichmentService,
+                                    AddressLookupPort addressLookupPort,
+                                    @Qualifier("customerEnrichmentExecutor") ExecutorService executor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${customers.enrichment.workers:4}") int workers,
+                                    @Value("${customers.enrichment.batch-size:50}") int batchSize,
+                                    @Value("${customers.enrichment.retry-delay-seconds:30}") long retryDelaySeconds) {
+        this.enrichmentService = enrichmentService;
+        this.addressLookupPort = addressLookupPort;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(workers);
+        this.batchSize = batchSize;
+        this.retryDelayNanos = Duration.ofSeconds(retryDelaySeconds).toNanos();
+    }
+
+    /**
+     * Entrega os pendentes ao executor sem esperar por eles: a thread do agendador é a mesma dos
+     * outros {@code @Scheduled}. Os pendentes ainda em andamento ficam fora da rodada seguinte,
+     * que só pega o que cabe em {@code batch-size} clientes em andamento.
+     */
+    @Scheduled(fixedDelayString = "${customers.enrichment.poll-interval-ms:500}")
+    public void poll() {
+        if (paused && System.nanoTime() - pausedUntil < 0) return;
+        paused = false;
+
+        int room = batchSize - inFlight.size();
+        if (room <= 0) return;
+
+        // Quem está em andamento continua pendente no banco, então a consulta pede o lote inteiro
+        List<Long> pending = enrichmentService.findPending(batchSize);
+        for (Long id : pending) {
+            if (room == 0) break;
+            if (!inFlight.add(id)) continue;
+
+            room--;
+            try {
+                executor.execute(() -> enrichWithPermit(id));
+            } catch (RejectedExecutionException e) {
+                // Executor encerrando: o cliente continua pendente e volta na próxima execução
+                inFlight.remove(id);
+            }
+        }
+    }
+
+    private void enrichWithPermit(Long id) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.remove(id);
+            return;
+        }
+        try {
+            enrichSafely(id);
+        } finally {
+            permits.release();
+            inFlight.remove(id);
+        }
+    }
+
+    private void enrichSafely(Long id) {
+        try {
+            enrich(id);
+        } catch (Exception e) {
+            // Continua pendente e volta na próxima rodada
+            log.error("[Enriquecimento] Falha ao enriquecer endereço do cliente {}", id, e);
+        }
+    }
+
+    void enrich(Long id) {
+        if (paused) return;
+
+        Optional<String> pendingCep = enrichmentService.pendingCep(id);
+        if (pendingCep.isEmpty()) return;
+
+        String cep = pendingCep.get();
+        String outcome;
+        try {
+            Address found = addressLookupPort.lookup(cep);
+            outcome = enrichmentService.complete(id, cep, found) ? "enriched" : "stale";
+        } catch (AddressLookupUnavailableException e) {
+            pause();
+            log.warn("[Enriquecimento] ViaCEP indisponível para o cliente {}; nova tentativa em {}s: {}",
+                    id, Duration.ofNanos(retryDelayNanos).toSeconds(), e.getMessage());
+            outcome = "unavailable";
+        } catch (DomainException e) {
+            log.warn("[Enriquecimento] Endereço do cliente {} mantido como informado: {}", id, e.getMessage());
+            enrichmentService.abandon(id, cep);
+            outcome = "not_found";
+        }
+
+        Counter.builder("customers.enrichment")
+                .description("Clientes processados pelo enriquecimento assíncrono de endereço")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void pause() {
+        pausedUntil = System.nanoTime() + retryDelayNanos;
+        paused = true;
+    }
+}
@@ -0,0 +1,25 @@
+package com.golden.erp.application.scheduler;
+
+import com.golden.erp.application.order.port.OrderIdempotencyPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupScheduler {
+
+    private final OrderIdempotencyPort idempotencyPort;
+
+    @Scheduled(cron = "0 30 * * * *")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int removed = idempotencyPort.purgeExpired();
+        if (removed > 0) {
+            log.info("[Scheduler] {} chave(s) de idempotência expirada(s) removida(s)", removed);
+        }
+    }
+}
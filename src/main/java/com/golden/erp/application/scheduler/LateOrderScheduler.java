@@ -1,5 +1,6 @@
 package com.golden.erp.application.scheduler;
 
+import com.golden.erp.application.order.port.OrderCachePort;
 import com.golden.erp.domain.order.entity.Order;
 import com.golden.erp.domain.order.repository.OrderRepository;
 import com.golden.erp.domain.order.valueobject.OrderStatus;
@@ -18,6 +19,7 @@ import java.util.List;
 public class LateOrderScheduler {
 
     private final OrderRepository orderRepository;
+    private final OrderCachePort orderCache;
 
     @Scheduled(cron = "0 0 * * * *")
     @Transactional
@@ -35,6 +37,7 @@ public class LateOrderScheduler {
         for (Order order : lateOrders) {
             order.markAsLate();
             orderRepository.save(order);
+            orderCache.evict(order.getId());
             count++;
         }
 
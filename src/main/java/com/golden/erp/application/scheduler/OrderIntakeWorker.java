@@ -0,0 +1,172 @@
+package com.golden.erp.application.scheduler;
+
+import com.golden.erp.application.order.service.OrderIntakeService;
+import com.golden.erp.domain.exception.DomainException;
+import com.golden.erp.domain.exception.StockBusyException;
+import com.golden.erp.domain.exception.StockLockUnavailableException;
+import com.golden.erp.domain.order.entity.OrderIntake;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consome a fila {@code order_intake}. Cada lote reúne as solicitações mais antigas, ordenadas
+ * pelo menor ID de produto; as que começam pelo mesmo produto são processadas em sequência numa mesma virtual thread, para
+ * não disputarem o lock da linha entre si, e grupos diferentes rodam em paralelo.
+ */
+@Slf4j
+@Component
+public class OrderIntakeWorker {
+
+    private final OrderIntakeService intakeService;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration staleAfter;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OrderIntakeWorker(OrderIntakeService intakeService,
+                             @Qualifier("orderIntakeExecutor") ExecutorService executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${orders.intake.workers:8}") int workers,
+                             @Value("${orders.intake.batch-size:100}") int batchSize,
+                             @Value("${orders.intake.max-attempts:3}") int maxAttempts,
+                             @Value("${orders.intake.stale-after-seconds:300}") long staleAfterSeconds) {
+        this.intakeService = intakeService;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(workers);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+        meterRegistry.gauge("orders.intake.batch.size", lastBatchSize);
+    }
+
+    /**
+     * Reivindica um lote e entrega os grupos ao executor sem esperar por eles: a thread do agendador
+     * é a mesma dos outros {@code @Scheduled}. O lote seguinte só pega o que cabe em
+     * {@code batch-size} solicitações em andamento, e o semáforo limita os grupos em paralelo.
+     */
+    @Scheduled(fixedDelayString = "${orders.intake.poll-interval-ms:200}")
+    public void poll() {
+        int room = batchSize - inFlight.get();
+        if (room <= 0) return;
+
+        List<OrderIntake> claimed = intakeService.claimPending(room);
+        lastBatchSize.set(claimed.size());
+        if (claimed.isEmpty()) return;
+
+        inFlight.addAndGet(claimed.size());
+        for (List<OrderIntake> group : groupByFirstProduct(claimed)) {
+            try {
+                executor.execute(() -> processGroup(group));
+            } catch (RejectedExecutionException e) {
+                // Executor encerrando: o grupo fica em PROCESSING e volta para a fila em requeueStale
+                inFlight.addAndGet(-group.size());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.intake.requeue-interval-ms:60000}")
+    public void requeueStale() {
+        int requeued = intakeService.requeueStale(LocalDateTime.now().minus(staleAfter));
+        if (requeued > 0) {
+            log.warn("[Intake] {} solicitação(ões) presa(s) em PROCESSING devolvida(s) à fila", requeued);
+        }
+    }
+
+    private void processGroup(List<OrderIntake> group) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.addAndGet(-group.size());
+            return;
+        }
+        try {
+            for (OrderIntake intake : group) {
+                try {
+                    processSafely(intake);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void processSafely(OrderIntake intake) {
+        try {
+            process(intake);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[Intake] Solicitação {} já foi reivindicada por outro worker; resultado descartado", intake.getId());
+        } catch (Exception e) {
+            // Fica em PROCESSING e volta para a fila em requeueStale
+            log.error("[Intake] Falha ao registrar resultado da solicitação {}", intake.getId(), e);
+        }
+    }
+
+    void process(OrderIntake intake) {
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            intakeService.process(intake);
+            outcome = "done";
+        } catch (OptimisticLockingFailureException e) {
+            // Voltou à fila por requeueStale e outro worker a reivindicou: o pedido desta execução foi desfeito
+            log.warn("[Intake] Solicitação {} já foi reivindicada por outro worker; pedido desfeito", intake.getId());
+            outcome = "superseded";
+        } catch (StockLockUnavailableException | StockBusyException e) {
+            intakeService.retryOrFail(intake, e.getMessage(), maxAttempts);
+            outcome = "retry";
+        } catch (DomainException e) {
+            intakeService.markFailed(intake, e.getMessage());
+            outcome = "failed";
+        } catch (Exception e) {
+            log.error("[Intake] Erro ao processar solicitação {}", intake.getId(), e);
+            intakeService.retryOrFail(intake, "Erro interno ao processar pedido", maxAttempts);
+            outcome = "error";
+        }
+
+        Timer.builder("orders.intake.processing")
+                .description("Tempo de processamento de uma solicitação pelo worker")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+        if (intake.getDataCriacao() != null) {
+            Timer.builder("orders.intake.latency")
+                    .description("Tempo entre o 202 Accepted e a conclusão da solicitação")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(Duration.between(intake.getDataCriacao(), LocalDateTime.now()));
+        }
+    }
+
+    private List<List<OrderIntake>> groupByFirstProduct(List<OrderIntake> claimed) {
+        Map<Long, List<OrderIntake>> groups = new LinkedHashMap<>();
+        for (OrderIntake intake : claimed) {
+            groups.computeIfAbsent(intake.getMenorProdutoId(), k -> new ArrayList<>()).add(intake);
+        }
+        return new ArrayList<>(groups.values());
+    }
+}
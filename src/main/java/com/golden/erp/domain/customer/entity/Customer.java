@@ -19,4 +19,5 @@ public class Customer {
     private String email;
     private String cpf;
     private Address endereco;
+    private boolean enriquecimentoPendente;
 }
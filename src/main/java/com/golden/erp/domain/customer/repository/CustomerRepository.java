@@ -1,26 +1,40 @@
 package com.golden.erp.domain.customer.repository;
 
 import com.golden.erp.domain.customer.entity.Customer;
+import com.golden.erp.domain.customer.valueobject.Address;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository {
 
+    /**
+     * Grava já enviando o statement ao banco; e-mail ou CPF repetido falha aqui mesmo com
+     * {@link com.golden.erp.domain.exception.DuplicateFieldException}.
+     */
     Customer save(Customer customer);
 
     Optional<Customer> findById(Long id);
 
-    Page<Customer> findAll(String nome, String email, Pageable pageable);
+    /** Token que muda a cada alteração do cliente, lido sem carregar a entidade; vazio se não existir. */
+    Optional<String> findVersionById(Long id);
 
-    boolean existsByEmail(String email);
+    /** IDs dos clientes com endereço aguardando o enriquecimento via CEP, do mais antigo ao mais novo. */
+    List<Long> findIdsPendingEnrichment(int limit);
 
-    boolean existsByCpf(String cpf);
+    /**
+     * Completa os campos vazios do endereço com {@code found} e tira a pendência, desde que o cliente
+     * ainda esteja pendente com o mesmo {@code cep}; com {@code found} nulo só tira a pendência.
+     * Devolve {@code false} se o cliente mudou nesse meio tempo.
+     */
+    boolean completeEnrichment(Long id, String cep, Address found);
 
-    boolean existsByEmailAndIdNot(String email, Long id);
+    List<Customer> findAllByIds(Collection<Long> ids);
 
-    boolean existsByCpfAndIdNot(String cpf, Long id);
+    Page<Customer> findAll(String nome, String email, Pageable pageable);
 
     void deleteById(Long id);
 
@@ -0,0 +1,9 @@
+package com.golden.erp.domain.exception;
+
+/** Serviço de CEP fora do ar ou lento demais; ao contrário de CEP inválido, vale tentar de novo depois. */
+public class AddressLookupUnavailableException extends DomainException {
+
+    public AddressLookupUnavailableException(String message) {
+        super(message);
+    }
+}
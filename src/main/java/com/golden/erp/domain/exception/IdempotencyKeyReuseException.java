@@ -0,0 +1,8 @@
+package com.golden.erp.domain.exception;
+
+public class IdempotencyKeyReuseException extends DomainException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super("Idempotency-Key '%s' já foi usada com outro corpo de requisição".formatted(key));
+    }
+}
@@ -0,0 +1,9 @@
+package com.golden.erp.domain.exception;
+
+public class StockBusyException extends DomainException {
+
+    public StockBusyException(String productName) {
+        super("Estoque de '%s' está reservado por pedidos em andamento. Tente novamente."
+                .formatted(productName));
+    }
+}
@@ -0,0 +1,9 @@
+package com.golden.erp.domain.exception;
+
+public class StockLockUnavailableException extends DomainException {
+
+    public StockLockUnavailableException(String skus) {
+        super("Estoque de '%s' está sendo atualizado por outro pedido. Tente novamente."
+                .formatted(skus));
+    }
+}
@@ -31,7 +31,27 @@ public class Order {
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
 
+    /** Gravados junto com o pedido; os itens não mudam depois da criação. */
+    private BigDecimal subtotal;
+    private BigDecimal descontos;
+    private BigDecimal total;
+
+    /** Calcula os totais de cada item e do pedido uma única vez, na criação. */
+    public void calculateTotals() {
+        BigDecimal somaSubtotais = BigDecimal.ZERO;
+        BigDecimal somaDescontos = BigDecimal.ZERO;
+        for (OrderItem item : itens) {
+            item.calculateTotals();
+            somaSubtotais = somaSubtotais.add(item.getSubtotal());
+            somaDescontos = somaDescontos.add(item.getDescontoTotal());
+        }
+        this.subtotal = somaSubtotais.setScale(2, RoundingMode.HALF_UP);
+        this.descontos = somaDescontos.setScale(2, RoundingMode.HALF_UP);
+        this.total = subtotal.subtract(descontos).setScale(2, RoundingMode.HALF_UP);
+    }
+
     public BigDecimal getSubtotal() {
+        if (subtotal != null) return subtotal;
         return itens.stream()
                 .map(OrderItem::getSubtotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add)
@@ -39,6 +59,7 @@ public class Order {
     }
 
     public BigDecimal getDescontos() {
+        if (descontos != null) return descontos;
         return itens.stream()
                 .map(OrderItem::getDescontoTotal)
                 .reduce(BigDecimal.ZERO, BigDecimal::add)
@@ -46,6 +67,7 @@ public class Order {
     }
 
     public BigDecimal getTotal() {
+        if (total != null) return total;
         return getSubtotal().subtract(getDescontos()).setScale(2, RoundingMode.HALF_UP);
     }
 
@@ -0,0 +1,59 @@
+package com.golden.erp.domain.order.entity;
+
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntake {
+
+    private Long id;
+    @Builder.Default
+    private OrderIntakeStatus status = OrderIntakeStatus.PENDING;
+    private String requisicao;
+    private Long menorProdutoId;
+    private Long pedidoId;
+    private String erro;
+    @Builder.Default
+    private int tentativas = 0;
+    private Long versao;
+    private LocalDateTime dataCriacao;
+    private LocalDateTime dataAtualizacao;
+
+    public void complete(Long pedidoId) {
+        this.status = OrderIntakeStatus.DONE;
+        this.pedidoId = pedidoId;
+        this.erro = null;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void fail(String erro) {
+        this.status = OrderIntakeStatus.FAILED;
+        this.erro = erro;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void retryOrFail(String erro, int maxTentativas) {
+        this.tentativas++;
+        if (this.tentativas >= maxTentativas) {
+            fail(erro);
+            return;
+        }
+        this.status = OrderIntakeStatus.PENDING;
+        this.erro = erro;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == OrderIntakeStatus.DONE || status == OrderIntakeStatus.FAILED;
+    }
+}
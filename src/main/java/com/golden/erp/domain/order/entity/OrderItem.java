@@ -22,18 +22,36 @@ public class OrderItem {
     private Integer quantidade;
     private BigDecimal precoUnitario;
     private BigDecimal desconto;
+    private BigDecimal subtotal;
+    private BigDecimal total;
+
+    /** Fixa subtotal e total da linha; a partir daí os getters devolvem os valores guardados. */
+    public void calculateTotals() {
+        this.subtotal = computeSubtotal();
+        this.total = subtotal.subtract(computeDescontoTotal()).setScale(2, RoundingMode.HALF_UP);
+    }
 
     public BigDecimal getSubtotal() {
-        BigDecimal total = precoUnitario.multiply(BigDecimal.valueOf(quantidade));
-        return total.setScale(2, RoundingMode.HALF_UP);
+        return subtotal != null ? subtotal : computeSubtotal();
     }
 
     public BigDecimal getDescontoTotal() {
-        if (desconto == null) return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-        return desconto.multiply(BigDecimal.valueOf(quantidade)).setScale(2, RoundingMode.HALF_UP);
+        if (subtotal != null && total != null) return subtotal.subtract(total);
+        return computeDescontoTotal();
     }
 
     public BigDecimal getTotal() {
-        return getSubtotal().subtract(getDescontoTotal()).setScale(2, RoundingMode.HALF_UP);
+        if (total != null) return total;
+        return getSubtotal().subtract(computeDescontoTotal()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal computeSubtotal() {
+        BigDecimal total = precoUnitario.multiply(BigDecimal.valueOf(quantidade));
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal computeDescontoTotal() {
+        if (desconto == null) return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        return desconto.multiply(BigDecimal.valueOf(quantidade)).setScale(2, RoundingMode.HALF_UP);
     }
 }
@@ -0,0 +1,21 @@
+package com.golden.erp.domain.order.repository;
+
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderIntakeRepository {
+
+    OrderIntake save(OrderIntake intake);
+
+    Optional<OrderIntake> findById(Long id);
+
+    List<OrderIntake> claimPending(int limit);
+
+    int requeueProcessingBefore(LocalDateTime threshold);
+
+    long countByStatus(OrderIntakeStatus status);
+}
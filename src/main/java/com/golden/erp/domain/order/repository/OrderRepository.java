@@ -13,9 +13,20 @@ public interface OrderRepository {
 
     Order save(Order order);
 
+    List<Order> saveAll(List<Order> orders);
+
     Optional<Order> findById(Long id);
 
+    /** Token que muda a cada alteração do pedido, lido sem carregar a entidade; vazio se não existir. */
+    Optional<String> findVersionById(Long id);
+
     Page<Order> findAll(OrderStatus status, Long clienteId, Pageable pageable);
 
+    /**
+     * Até {@code limit} pedidos em ordem decrescente de {@code (dataCriacao, id)}, depois da posição
+     * informada; sem posição, a partir do mais recente. Não executa contagem.
+     */
+    List<Order> findAfter(OrderStatus status, Long clienteId, LocalDateTime dataCriacao, Long id, int limit);
+
     List<Order> findByStatusAndDataCriacaoBefore(OrderStatus status, LocalDateTime dateTime);
 }
@@ -0,0 +1,8 @@
+package com.golden.erp.domain.order.valueobject;
+
+public enum OrderIntakeStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED
+}
@@ -1,6 +1,5 @@
 package com.golden.erp.domain.product.entity;
 
-import com.golden.erp.domain.exception.InsufficientStockException;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,16 +22,10 @@ public class Product {
     private Integer estoque;
     private Integer estoqueMinimo;
     private Boolean ativo;
+    private Integer shards;
 
-    public void decreaseStock(int quantity) {
-        if (this.estoque < quantity) {
-            throw new InsufficientStockException(this.nome, this.estoque, quantity);
-        }
-        this.estoque -= quantity;
-    }
-
-    public void increaseStock(int quantity) {
-        this.estoque += quantity;
+    public boolean isSharded() {
+        return this.shards != null && this.shards > 1;
     }
 
     public boolean isLowStock() {
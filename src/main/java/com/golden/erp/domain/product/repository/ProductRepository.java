@@ -4,8 +4,11 @@ import com.golden.erp.domain.product.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProductRepository {
 
@@ -13,6 +16,18 @@ public interface ProductRepository {
 
     Optional<Product> findById(Long id);
 
+    /** Token que muda a cada alteração do produto ou do seu estoque, lido sem carregar a entidade; vazio se não existir. */
+    Optional<String> findVersionById(Long id);
+
+    List<Product> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Dados de catálogo (sku, nome, preço, ativo) servidos do cache local. Só a versão de cada linha
+     * é lida do banco, para descartar entradas alteradas por outra instância. O estoque não é
+     * preenchido: o saldo só vale no banco.
+     */
+    List<Product> findCatalogByIds(Collection<Long> ids);
+
     Page<Product> findAll(Boolean ativo, Pageable pageable);
 
     boolean existsBySku(String sku);
@@ -24,4 +39,11 @@ public interface ProductRepository {
     boolean existsById(Long id);
 
     List<Product> findAllWithLowStock();
+
+    /** Trava as linhas dos produtos em ordem de ID até o fim da transação. */
+    void lockStock(Collection<Long> productIds);
+
+    Set<Long> decreaseStock(Map<Long, Integer> quantitiesByProduct);
+
+    void increaseStock(Map<Long, Integer> quantitiesByProduct);
 }
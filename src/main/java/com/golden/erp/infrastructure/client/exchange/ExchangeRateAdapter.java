@@ -1,39 +1,64 @@
 package com.golden.erp.infrastructure.client.exchange;
 
 import com.golden.erp.application.order.port.ExchangeRatePort;
-import lombok.RequiredArgsConstructor;
+import com.golden.erp.infrastructure.client.resilience.ExternalCallException;
+import com.golden.erp.infrastructure.client.resilience.ExternalCallResilience;
+import com.golden.erp.infrastructure.client.resilience.ResiliencePolicy;
+import com.golden.erp.infrastructure.client.resilience.ResilientCall;
+import com.golden.erp.infrastructure.client.resilience.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
+/**
+ * Taxa BRL→USD com cache de {@code exchange.cache.ttl-seconds} (uma hora por padrão). Vencido o cache, a API é consultada pela
+ * {@link ResilientCall}; se ela falhar ou o circuito estiver aberto, a última taxa conhecida é
+ * devolvida sem esperar pela API. Quem pede a taxa enquanto a consulta está em andamento espera
+ * por ela, em vez de abrir outra.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ExchangeRateAdapter implements ExchangeRatePort {
 
     private final ExchangeRateClient exchangeRateClient;
+    private final ResilientCall exchangeCall;
+    private final Duration cacheTtl;
+    private final SingleFlight<String, Optional<BigDecimal>> inFlight;
 
-    private BigDecimal cachedRate;
-    private LocalDateTime cacheExpiry;
+    private volatile BigDecimal cachedRate;
+    private volatile LocalDateTime cacheExpiry;
+
+    public ExchangeRateAdapter(ExchangeRateClient exchangeRateClient,
+                               ExternalCallResilience resilience,
+                               @Value("${exchange.cache.ttl-seconds:3600}") long cacheTtlSeconds,
+                               @Value("${exchange.resilience.max-attempts:2}") int maxAttempts,
+                               @Value("${exchange.resilience.initial-backoff-ms:200}") long initialBackoffMs,
+                               @Value("${exchange.resilience.timeout-ms:2000}") long timeoutMs,
+                               @Value("${exchange.resilience.failure-threshold:3}") int failureThreshold,
+                               @Value("${exchange.resilience.open-seconds:60}") long openSeconds) {
+        this.exchangeRateClient = exchangeRateClient;
+        this.cacheTtl = Duration.ofSeconds(cacheTtlSeconds);
+        this.exchangeCall = resilience.call("exchange", new ResiliencePolicy(maxAttempts,
+                Duration.ofMillis(initialBackoffMs), Duration.ofMillis(timeoutMs),
+                failureThreshold, Duration.ofSeconds(openSeconds)));
+        this.inFlight = new SingleFlight<>(Duration.ofMillis(timeoutMs).multipliedBy(2));
+    }
 
     @Override
     public BigDecimal getBrlToUsdRate() {
-        if (cachedRate != null && cacheExpiry != null && LocalDateTime.now().isBefore(cacheExpiry)) {
+        if (isCacheValid()) {
             return cachedRate;
         }
 
-        try {
-            ExchangeRateResponse response = exchangeRateClient.getLatestRates("BRL");
-            if (response != null && response.getRates() != null && response.getRates().containsKey("USD")) {
-                cachedRate = response.getRates().get("USD").setScale(6, RoundingMode.HALF_UP);
-                cacheExpiry = LocalDateTime.now().plusHours(1);
-                return cachedRate;
-            }
-        } catch (Exception e) {
-            log.error("Erro ao consultar taxa de câmbio: {}", e.getMessage());
+        Optional<BigDecimal> fresh = inFlight.run("BRL", this::fetchRate);
+        if (fresh.isPresent()) {
+            return fresh.get();
         }
 
         if (cachedRate != null) {
@@ -44,4 +69,29 @@ public class ExchangeRateAdapter implements ExchangeRatePort {
         log.warn("Taxa de câmbio indisponível");
         return null;
     }
+
+    private Optional<BigDecimal> fetchRate() {
+        // Uma consulta que terminou logo antes desta começar já renovou o cache
+        if (isCacheValid()) {
+            return Optional.of(cachedRate);
+        }
+
+        try {
+            ExchangeRateResponse response = exchangeCall.execute(() -> exchangeRateClient.getLatestRates("BRL"));
+            if (response != null && response.getRates() != null && response.getRates().containsKey("USD")) {
+                BigDecimal rate = response.getRates().get("USD").setScale(6, RoundingMode.HALF_UP);
+                cachedRate = rate;
+                cacheExpiry = LocalDateTime.now().plus(cacheTtl);
+                return Optional.of(rate);
+            }
+        } catch (ExternalCallException e) {
+            log.error("Erro ao consultar taxa de câmbio: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private boolean isCacheValid() {
+        LocalDateTime expiry = cacheExpiry;
+        return cachedRate != null && expiry != null && LocalDateTime.now().isBefore(expiry);
+    }
 }
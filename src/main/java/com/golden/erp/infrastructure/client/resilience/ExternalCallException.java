@@ -0,0 +1,16 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+/** A integração não respondeu: tentativas esgotadas, tempo esgotado ou circuito aberto. */
+public class ExternalCallException extends RuntimeException {
+
+    private final boolean circuitOpen;
+
+    public ExternalCallException(String message, boolean circuitOpen, Throwable cause) {
+        super(message, cause);
+        this.circuitOpen = circuitOpen;
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+}
@@ -0,0 +1,40 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Cria as {@link ResilientCall} dos adapters, todas sobre o mesmo executor de virtual threads e o
+ * mesmo agendador de retentativas. O agendador não é um bean: um {@code ScheduledExecutorService}
+ * no contexto passaria a rodar também os {@code @Scheduled} da aplicação.
+ */
+@Component
+public class ExternalCallResilience implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry meterRegistry;
+
+    public ExternalCallResilience(@Qualifier("externalCallExecutor") ExecutorService executor,
+                                  MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("external-retry").daemon().factory());
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ResilientCall call(String name, ResiliencePolicy policy) {
+        return new ResilientCall(name, policy, executor, scheduler, meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,15 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+import java.time.Duration;
+
+/**
+ * Limites de uma integração: tentativas com backoff exponencial a partir de {@code initialBackoff},
+ * tempo total da chamada e quando abrir o circuito.
+ */
+public record ResiliencePolicy(int maxAttempts, Duration initialBackoff, Duration timeout,
+                               int failureThreshold, Duration openDuration) {
+
+    Duration backoffAfter(int attempt) {
+        return initialBackoff.multipliedBy(1L << (attempt - 1));
+    }
+}
@@ -0,0 +1,115 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Chamada a uma integração externa protegida por {@link CircuitBreaker}. Cada tentativa roda numa
+ * virtual thread; o intervalo até a próxima é agendado, sem {@code Thread.sleep}. O chamador espera
+ * no máximo {@code timeout} pelo total das tentativas. Com o circuito aberto, falha na hora.
+ * <p>
+ * Métricas: {@code external.calls} por {@code client} e {@code outcome}
+ * (success/failure/timeout/rejected) e {@code external.circuit.state} (0 fechado, 1 aberto,
+ * 2 meio-aberto).
+ */
+@Slf4j
+public class ResilientCall {
+
+    private final String name;
+    private final ResiliencePolicy policy;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry meterRegistry;
+
+    public ResilientCall(String name, ResiliencePolicy policy, ExecutorService executor,
+                         ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.policy = policy;
+        this.circuitBreaker = new CircuitBreaker(policy.failureThreshold(), policy.openDuration());
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("external.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Estado do circuito da integração")
+                .tag("client", name)
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            count("rejected");
+            throw new ExternalCallException(name + ": circuito aberto, chamada recusada", true, null);
+        }
+
+        long timeoutNanos = policy.timeout().toNanos();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, 1, System.nanoTime() + timeoutNanos, result);
+
+        try {
+            T value = result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            circuitBreaker.onSuccess();
+            count("success");
+            return value;
+        } catch (ExecutionException e) {
+            circuitBreaker.onFailure();
+            count("failure");
+            throw (ExternalCallException) e.getCause();
+        } catch (TimeoutException e) {
+            // Tentativas ainda agendadas veem o resultado concluído e não rodam
+            result.cancel(false);
+            circuitBreaker.onFailure();
+            count("timeout");
+            throw new ExternalCallException(name + " não respondeu em " + policy.timeout().toMillis() + " ms",
+                    false, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(false);
+            circuitBreaker.onFailure();
+            throw new ExternalCallException(name + ": chamada interrompida", false, e);
+        }
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.state();
+    }
+
+    private <T> void attempt(Supplier<T> call, int attempt, long deadline, CompletableFuture<T> result) {
+        executor.execute(() -> {
+            if (result.isDone()) return;
+            try {
+                result.complete(call.get());
+            } catch (Exception e) {
+                long backoffNanos = policy.backoffAfter(attempt).toNanos();
+                if (attempt < policy.maxAttempts() && System.nanoTime() + backoffNanos < deadline) {
+                    log.warn("Tentativa {}/{} falhou ao chamar {}: {}", attempt, policy.maxAttempts(), name, e.getMessage());
+                    scheduler.schedule(() -> attempt(call, attempt + 1, deadline, result),
+                            backoffNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    log.error("{} falhou após {} tentativa(s): {}", name, attempt, e.getMessage());
+                    result.completeExceptionally(new ExternalCallException(
+                            name + " indisponível após " + attempt + " tentativas: " + e.getMessage(), false, e));
+                }
+            }
+        });
+    }
+
+    private void count(String outcome) {
+        Counter.builder("external.calls")
+                .description("Chamadas a integrações externas")
+                .tag("client", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,66 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes: por chave, só uma chamada fica em andamento; quem chega
+ * enquanto ela roda espera o mesmo resultado, ou a mesma exceção, em vez de repetir a chamada.
+ * A chave é liberada quando a chamada termina, então o resultado não fica guardado aqui. A espera
+ * é limitada por {@code maxWait}: se a chamada em andamento não termina a tempo, quem esperava faz
+ * a própria chamada.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public V run(K key, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running, call);
+        }
+
+        try {
+            V value = call.get();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Inclui Error: quem espera recebe a mesma falha em vez de ficar preso
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V await(CompletableFuture<V> running, Supplier<V> call) {
+        try {
+            return running.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido enquanto aguardava chamada em andamento", e);
+        }
+    }
+}
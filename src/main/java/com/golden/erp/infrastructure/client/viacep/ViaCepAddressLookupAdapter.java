@@ -2,20 +2,53 @@ package com.golden.erp.infrastructure.client.viacep;
 
 import com.golden.erp.application.customer.port.AddressLookupPort;
 import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.AddressLookupUnavailableException;
 import com.golden.erp.domain.exception.DomainException;
-import lombok.RequiredArgsConstructor;
+import com.golden.erp.infrastructure.client.resilience.ExternalCallException;
+import com.golden.erp.infrastructure.client.resilience.ExternalCallResilience;
+import com.golden.erp.infrastructure.client.resilience.ResiliencePolicy;
+import com.golden.erp.infrastructure.client.resilience.ResilientCall;
+import com.golden.erp.infrastructure.client.resilience.SingleFlight;
+import com.golden.erp.infrastructure.persistence.cep.CepCache;
+import com.golden.erp.infrastructure.persistence.cep.CepCache.CachedCep;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Consulta o ViaCEP só quando o CEP não está no {@link CepCache}; endereços encontrados e CEPs
+ * inexistentes voltam para o cache. Falhas de rede não são guardadas. As retentativas e o
+ * circuito ficam na {@link ResilientCall}: com o ViaCEP fora, a consulta falha na hora.
+ * Consultas simultâneas ao mesmo CEP fora do cache viram uma só chamada ao ViaCEP.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class ViaCepAddressLookupAdapter implements AddressLookupPort {
 
-    private static final int MAX_RETRIES = 3;
-    private static final long INITIAL_BACKOFF_MS = 500;
-
     private final ViaCepClient viaCepClient;
+    private final CepCache cepCache;
+    private final ResilientCall viaCepCall;
+    private final SingleFlight<String, Address> inFlight;
+
+    public ViaCepAddressLookupAdapter(ViaCepClient viaCepClient,
+                                      CepCache cepCache,
+                                      ExternalCallResilience resilience,
+                                      @Value("${viacep.resilience.max-attempts:3}") int maxAttempts,
+                                      @Value("${viacep.resilience.initial-backoff-ms:500}") long initialBackoffMs,
+                                      @Value("${viacep.resilience.timeout-ms:4000}") long timeoutMs,
+                                      @Value("${viacep.resilience.failure-threshold:5}") int failureThreshold,
+                                      @Value("${viacep.resilience.open-seconds:30}") long openSeconds) {
+        this.viaCepClient = viaCepClient;
+        this.cepCache = cepCache;
+        this.viaCepCall = resilience.call("viacep", new ResiliencePolicy(maxAttempts,
+                Duration.ofMillis(initialBackoffMs), Duration.ofMillis(timeoutMs),
+                failureThreshold, Duration.ofSeconds(openSeconds)));
+        // A chamada em andamento termina em até timeout-ms; o dobro cobre a gravação no cache
+        this.inFlight = new SingleFlight<>(Duration.ofMillis(timeoutMs).multipliedBy(2));
+    }
 
     @Override
     public Address lookup(String cep) {
@@ -25,44 +58,38 @@ public class ViaCepAddressLookupAdapter implements AddressLookupPort {
             throw new DomainException("CEP inválido: " + cep);
         }
 
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try {
-                ViaCepResponse response = viaCepClient.findByCep(cleanCep);
+        Optional<CachedCep> cached = cepCache.get(cleanCep);
+        if (cached.isPresent()) {
+            if (!cached.get().encontrado()) {
+                throw new DomainException("CEP não encontrado: " + cep);
+            }
+            return cached.get().toAddress();
+        }
 
-                if (response == null || Boolean.TRUE.equals(response.getErro())) {
-                    throw new DomainException("CEP não encontrado: " + cep);
-                }
+        return inFlight.run(cleanCep, () -> fetch(cleanCep, cep));
+    }
 
-                return Address.builder()
-                        .logradouro(response.getLogradouro())
-                        .bairro(response.getBairro())
-                        .cidade(response.getLocalidade())
-                        .uf(response.getUf())
-                        .cep(cleanCep)
-                        .build();
-            } catch (DomainException e) {
-                throw e;
-            } catch (Exception e) {
-                lastException = e;
-                log.warn("Tentativa {}/{} falhou ao consultar ViaCEP para CEP {}: {}",
-                        attempt, MAX_RETRIES, cep, e.getMessage());
+    private Address fetch(String cleanCep, String cep) {
+        ViaCepResponse response;
+        try {
+            response = viaCepCall.execute(() -> viaCepClient.findByCep(cleanCep));
+        } catch (ExternalCallException e) {
+            throw new AddressLookupUnavailableException("Erro ao consultar CEP " + cep + ": " + e.getMessage());
+        }
 
-                if (attempt < MAX_RETRIES) {
-                    try {
-                        long sleepMs = INITIAL_BACKOFF_MS * (1L << (attempt - 1));
-                        Thread.sleep(sleepMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
+        if (response == null || Boolean.TRUE.equals(response.getErro())) {
+            cepCache.putNotFound(cleanCep);
+            throw new DomainException("CEP não encontrado: " + cep);
         }
 
-        log.error("Todas as {} tentativas falharam ao consultar ViaCEP para CEP {}", MAX_RETRIES, cep);
-        throw new DomainException("Erro ao consultar CEP após " + MAX_RETRIES + " tentativas: " + cep
-                + " - " + (lastException != null ? lastException.getMessage() : "erro desconhecido"));
+        Address address = Address.builder()
+                .logradouro(response.getLogradouro())
+                .bairro(response.getBairro())
+                .cidade(response.getLocalidade())
+                .uf(response.getUf())
+                .cep(cleanCep)
+                .build();
+        cepCache.putFound(cleanCep, address);
+        return address;
     }
 }
@@ -0,0 +1,16 @@
+package com.golden.erp.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class CustomerEnrichmentConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService customerEnrichmentExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("customer-enrichment-", 0).factory());
+    }
+}
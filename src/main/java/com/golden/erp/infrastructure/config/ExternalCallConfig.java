@@ -0,0 +1,16 @@
+package com.golden.erp.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExternalCallConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService externalCallExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("external-call-", 0).factory());
+    }
+}
@@ -0,0 +1,17 @@
+package com.golden.erp.infrastructure.config;
+
+import com.golden.erp.infrastructure.metrics.BoundedTagMeterFilter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /** O Spring Boot aplica os {@link MeterFilter} do contexto a todos os registries. */
+    @Bean
+    public MeterFilter stockLockSkuLimit(@Value("${stock.lock.metrics.max-skus:50}") int maxSkus) {
+        return new BoundedTagMeterFilter("stock.lock.wait", "sku", maxSkus);
+    }
+}
@@ -0,0 +1,47 @@
+package com.golden.erp.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limita os valores distintos de uma tag num meter: os primeiros {@code maxValues} passam como
+ * vieram e os seguintes viram {@value #OTHER}. Assim uma tag como {@code sku} mostra os produtos
+ * disputados sem criar uma série por item do catálogo.
+ */
+public class BoundedTagMeterFilter implements MeterFilter {
+
+    public static final String OTHER = "other";
+
+    private final String meterName;
+    private final String tagKey;
+    private final int maxValues;
+    private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+
+    public BoundedTagMeterFilter(String meterName, String tagKey, int maxValues) {
+        this.meterName = meterName;
+        this.tagKey = tagKey;
+        this.maxValues = maxValues;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        if (!meterName.equals(id.getName())) return id;
+
+        String value = id.getTag(tagKey);
+        if (value == null || OTHER.equals(value) || admit(value)) return id;
+        return id.replaceTags(Tags.of(id.getTagsAsIterable()).and(tagKey, OTHER));
+    }
+
+    private boolean admit(String value) {
+        if (admitted.contains(value)) return true;
+        synchronized (admitted) {
+            if (admitted.size() >= maxValues) return false;
+            admitted.add(value);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.golden.erp.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Versão de uma linha lida sem carregar a entidade: a data de atualização e, para produtos, o
+ * estoque, que muda por {@code UPDATE} direto sem tocar na data. Vira o ETag das respostas.
+ */
+public record RowVersion(LocalDateTime dataAtualizacao, Integer estoque) {
+
+    public RowVersion(LocalDateTime dataAtualizacao) {
+        this(dataAtualizacao, null);
+    }
+
+    public String token() {
+        String updated = "0";
+        if (dataAtualizacao != null) {
+            long micros = dataAtualizacao.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dataAtualizacao.getNano() / 1_000;
+            updated = Long.toString(micros, 36);
+        }
+        return estoque == null ? updated : updated + "-" + estoque;
+    }
+}
@@ -0,0 +1,185 @@
+package com.golden.erp.infrastructure.persistence.cep;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.golden.erp.domain.customer.valueobject.Address;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Cache de CEPs em dois níveis: um LRU em memória na frente da tabela {@code cep_cache}, que
+ * sobrevive a reinícios e é compartilhada entre instâncias. CEPs inexistentes também ficam
+ * guardados, com TTL menor. A tabela tem uma linha por CEP; a vencida é ignorada na leitura e
+ * sobrescrita na próxima consulta ao ViaCEP.
+ * <p>
+ * Falhas do banco não impedem a consulta: o CEP segue para o ViaCEP. Dentro de uma transação (a
+ * consulta síncrona ao criar cliente), a linha só é gravada depois que ela termina, numa virtual
+ * thread com transação própria: a thread do chamador nunca segura duas conexões do pool. Métricas em
+ * {@code cache.gets}/{@code cache.size} com {@code cache=cep} para a memória e em
+ * {@code cep.cache.database} (hit/miss) para a tabela.
+ */
+@Slf4j
+@Component
+public class CepCache {
+
+    private final CepCacheJpaRepository jpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, CachedCep> cache;
+    private final Duration ttl;
+    private final Duration notFoundTtl;
+    private final Counter databaseHits;
+    private final Counter databaseMisses;
+
+    public CepCache(CepCacheJpaRepository jpaRepository,
+                    PlatformTransactionManager transactionManager,
+                    MeterRegistry meterRegistry,
+                    @Value("${viacep.cache.max-size:10000}") long maxSize,
+                    @Value("${viacep.cache.ttl-days:30}") long ttlDays,
+                    @Value("${viacep.cache.not-found-ttl-hours:24}") long notFoundTtlHours) {
+        this.jpaRepository = jpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofDays(ttlDays);
+        this.notFoundTtl = Duration.ofHours(notFoundTtlHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new RemainingTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cep");
+        this.databaseHits = Counter.builder("cep.cache.database")
+                .description("Consultas à tabela cep_cache após falta na memória")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.databaseMisses = Counter.builder("cep.cache.database")
+                .description("Consultas à tabela cep_cache após falta na memória")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /** Entrada ainda válida do CEP, da memória ou da tabela; vazio se nunca consultado ou vencido. */
+    public Optional<CachedCep> get(String cep) {
+        CachedCep cached = cache.getIfPresent(cep);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CachedCep> stored = Optional.empty();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            stored = jpaRepository.findById(cep)
+                    .filter(entity -> entity.getDataExpiracao().isAfter(now))
+                    .map(CachedCep::from);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao ler o CEP {} da tabela de cache: {}", cep, e.getMessage());
+        }
+
+        (stored.isPresent() ? databaseHits : databaseMisses).increment();
+        stored.ifPresent(entry -> cache.put(cep, entry));
+        return stored;
+    }
+
+    public void putFound(String cep, Address address) {
+        put(new CachedCep(cep, true, address.getLogradouro(), address.getBairro(), address.getCidade(),
+                address.getUf(), LocalDateTime.now().plus(ttl)));
+    }
+
+    public void putNotFound(String cep) {
+        put(new CachedCep(cep, false, null, null, null, null, LocalDateTime.now().plus(notFoundTtl)));
+    }
+
+    private void put(CachedCep entry) {
+        cache.put(entry.cep(), entry);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            save(entry);
+            return;
+        }
+
+        // Mesmo com rollback do cliente a resposta do ViaCEP continua válida
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // A conexão do chamador só é devolvida depois deste callback
+                Thread.ofVirtual().name("cep-cache-write").start(() -> save(entry));
+            }
+        });
+    }
+
+    private void save(CachedCep entry) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jpaRepository.save(entry.toJpaEntity()));
+        } catch (DataAccessException | TransactionException e) {
+            // Outra instância gravou o mesmo CEP ao mesmo tempo, ou o banco está fora; a memória basta
+            log.warn("Falha ao gravar o CEP {} na tabela de cache: {}", entry.cep(), e.getMessage());
+        }
+    }
+
+    /** Na memória, cada entrada vale até a mesma data de expiração gravada na tabela. */
+    private static final class RemainingTtl implements Expiry<String, CachedCep> {
+
+        @Override
+        public long expireAfterCreate(String cep, CachedCep entry, long currentTime) {
+            return entry.remaining().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String cep, CachedCep entry, long currentTime, long currentDuration) {
+            return entry.remaining().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String cep, CachedCep entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public record CachedCep(String cep, boolean encontrado, String logradouro, String bairro,
+                            String cidade, String uf, LocalDateTime expiraEm) {
+
+        static CachedCep from(CepCacheJpaEntity entity) {
+            return new CachedCep(entity.getCep(), Boolean.TRUE.equals(entity.getEncontrado()), entity.getLogradouro(),
+                    entity.getBairro(), entity.getCidade(), entity.getUf(), entity.getDataExpiracao());
+        }
+
+        CepCacheJpaEntity toJpaEntity() {
+            return CepCacheJpaEntity.builder()
+                    .cep(cep)
+                    .encontrado(encontrado)
+                    .logradouro(logradouro)
+                    .bairro(bairro)
+                    .cidade(cidade)
+                    .uf(uf)
+                    .dataExpiracao(expiraEm)
+                    .build();
+        }
+
+        public Address toAddress() {
+            return Address.builder()
+                    .logradouro(logradouro)
+                    .bairro(bairro)
+                    .cidade(cidade)
+                    .uf(uf)
+                    .cep(cep)
+                    .build();
+        }
+
+        Duration remaining() {
+            Duration remaining = Duration.between(LocalDateTime.now(), expiraEm);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.golden.erp.infrastructure.persistence.cep;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cep_cache")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CepCacheJpaEntity {
+
+    @Id
+    @Column(length = 8)
+    private String cep;
+
+    // false quando o ViaCEP respondeu "erro": true
+    @Column(nullable = false)
+    private Boolean encontrado;
+
+    private String logradouro;
+    private String bairro;
+    private String cidade;
+
+    @Column(length = 2)
+    private String uf;
+
+    @Column(name = "data_expiracao", nullable = false)
+    private LocalDateTime dataExpiracao;
+}
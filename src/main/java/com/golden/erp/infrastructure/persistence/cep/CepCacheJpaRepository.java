@@ -0,0 +1,6 @@
+package com.golden.erp.infrastructure.persistence.cep;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CepCacheJpaRepository extends JpaRepository<CepCacheJpaEntity, String> {
+}
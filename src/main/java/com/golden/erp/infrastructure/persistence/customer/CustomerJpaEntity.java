@@ -6,6 +6,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +16,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "customers", indexes = {
         @Index(name = "idx_customer_email", columnList = "email", unique = true),
@@ -27,16 +32,18 @@ import lombok.Setter;
 public class CustomerJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_id_gen")
+    @SequenceGenerator(name = "customers_id_gen", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String nome;
 
-    @Column(nullable = false, unique = true)
+    // Unicidade pelos índices idx_customer_email e idx_customer_cpf, cujos nomes identificam o campo repetido
+    @Column(nullable = false)
     private String email;
 
-    @Column(nullable = false, unique = true, length = 14)
+    @Column(nullable = false, length = 14)
     private String cpf;
 
     private String logradouro;
@@ -50,4 +57,18 @@ public class CustomerJpaEntity {
 
     @Column(length = 9)
     private String cep;
+
+    // Endereço aguardando o preenchimento via CEP em segundo plano
+    @Builder.Default
+    @Column(name = "enriquecimento_pendente", nullable = false)
+    private Boolean enriquecimentoPendente = false;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.dataAtualizacao = LocalDateTime.now();
+    }
 }
@@ -1,28 +1,77 @@
 package com.golden.erp.infrastructure.persistence.customer;
 
+import com.golden.erp.infrastructure.persistence.RowVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 public interface CustomerJpaRepository extends JpaRepository<CustomerJpaEntity, Long> {
 
-    boolean existsByEmail(String email);
+    @Query("SELECT new com.golden.erp.infrastructure.persistence.RowVersion(c.dataAtualizacao) FROM CustomerJpaEntity c WHERE c.id = :id")
+    Optional<RowVersion> findVersionById(@Param("id") Long id);
+
+    // No PostgreSQL, lê o índice parcial idx_customer_enrichment_pending
+    @Query("SELECT c.id FROM CustomerJpaEntity c WHERE c.enriquecimentoPendente = true ORDER BY c.id")
+    List<Long> findIdsPendingEnrichment(Limit limit);
+
+    /*
+     * Preenchem só os campos vazios e só se o cliente segue pendente com o mesmo CEP, numa única
+     * instrução: uma edição feita durante a consulta ao ViaCEP não é sobrescrita.
+     */
+
+    @Modifying
+    @Query("""
+            UPDATE CustomerJpaEntity c SET
+                c.logradouro = CASE WHEN c.logradouro IS NULL OR TRIM(c.logradouro) = '' THEN :logradouro ELSE c.logradouro END,
+                c.bairro = CASE WHEN c.bairro IS NULL OR TRIM(c.bairro) = '' THEN :bairro ELSE c.bairro END,
+                c.cidade = CASE WHEN c.cidade IS NULL OR TRIM(c.cidade) = '' THEN :cidade ELSE c.cidade END,
+                c.uf = CASE WHEN c.uf IS NULL OR TRIM(c.uf) = '' THEN :uf ELSE c.uf END,
+                c.enriquecimentoPendente = false,
+                c.dataAtualizacao = :agora
+            WHERE c.id = :id AND c.enriquecimentoPendente = true AND c.cep = :cep
+            """)
+    int completeEnrichment(@Param("id") Long id,
+                           @Param("cep") String cep,
+                           @Param("logradouro") String logradouro,
+                           @Param("bairro") String bairro,
+                           @Param("cidade") String cidade,
+                           @Param("uf") String uf,
+                           @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("""
+            UPDATE CustomerJpaEntity c SET c.enriquecimentoPendente = false, c.dataAtualizacao = :agora
+            WHERE c.id = :id AND c.enriquecimentoPendente = true AND c.cep = :cep
+            """)
+    int clearEnrichmentPending(@Param("id") Long id, @Param("cep") String cep, @Param("agora") LocalDateTime agora);
 
-    boolean existsByCpf(String cpf);
+    /*
+     * Uma consulta por combinação de filtros, sem "(:x IS NULL OR ...)": o predicado fica sempre
+     * "LOWER(coluna) LIKE padrão", que no PostgreSQL usa os índices GIN de trigramas
+     * idx_customer_nome_trgm e idx_customer_email_trgm. Os padrões chegam prontos, em minúsculas.
+     */
 
-    boolean existsByEmailAndIdNot(String email, Long id);
+    @Query("SELECT c FROM CustomerJpaEntity c WHERE LOWER(c.nome) LIKE :nome ESCAPE '\\'")
+    Page<CustomerJpaEntity> searchByNome(@Param("nome") String nomePattern, Pageable pageable);
 
-    boolean existsByCpfAndIdNot(String cpf, Long id);
+    @Query("SELECT c FROM CustomerJpaEntity c WHERE LOWER(c.email) LIKE :email ESCAPE '\\'")
+    Page<CustomerJpaEntity> searchByEmail(@Param("email") String emailPattern, Pageable pageable);
 
     @Query("""
             SELECT c FROM CustomerJpaEntity c
-            WHERE (:nome IS NULL OR LOWER(c.nome) LIKE LOWER(CONCAT('%', CAST(:nome AS string), '%')))
-            AND (:email IS NULL OR LOWER(c.email) LIKE LOWER(CONCAT('%', CAST(:email AS string), '%')))
+            WHERE LOWER(c.nome) LIKE :nome ESCAPE '\\'
+            AND LOWER(c.email) LIKE :email ESCAPE '\\'
             """)
-    Page<CustomerJpaEntity> findAllWithFilters(
-            @Param("nome") String nome,
-            @Param("email") String email,
+    Page<CustomerJpaEntity> searchByNomeAndEmail(
+            @Param("nome") String nomePattern,
+            @Param("email") String emailPattern,
             Pageable pageable);
 }
@@ -24,6 +24,7 @@ public class CustomerMapper {
                         .uf(entity.getUf())
                         .cep(entity.getCep())
                         .build())
+                .enriquecimentoPendente(Boolean.TRUE.equals(entity.getEnriquecimentoPendente()))
                 .build();
     }
 
@@ -43,6 +44,7 @@ public class CustomerMapper {
                 .cidade(addr != null ? addr.getCidade() : null)
                 .uf(addr != null ? addr.getUf() : null)
                 .cep(addr != null ? addr.getCep() : null)
+                .enriquecimentoPendente(domain.isEnriquecimentoPendente())
                 .build();
     }
 }
@@ -2,11 +2,21 @@ package com.golden.erp.infrastructure.persistence.customer;
 
 import com.golden.erp.domain.customer.entity.Customer;
 import com.golden.erp.domain.customer.repository.CustomerRepository;
+import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.DuplicateFieldException;
+import com.golden.erp.infrastructure.persistence.RowVersion;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Repository
@@ -19,8 +29,12 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     @Override
     public Customer save(Customer customer) {
         CustomerJpaEntity entity = mapper.toJpaEntity(customer);
-        CustomerJpaEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        try {
+            // O flush leva o insert/update ao banco agora, para a violação dos índices únicos cair aqui
+            return mapper.toDomain(jpaRepository.saveAndFlush(entity));
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateField(e, customer);
+        }
     }
 
     @Override
@@ -29,29 +43,79 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     }
 
     @Override
-    public Page<Customer> findAll(String nome, String email, Pageable pageable) {
-        return jpaRepository.findAllWithFilters(nome, email, pageable)
-                .map(mapper::toDomain);
+    public Optional<String> findVersionById(Long id) {
+        return jpaRepository.findVersionById(id).map(RowVersion::token);
     }
 
     @Override
-    public boolean existsByEmail(String email) {
-        return jpaRepository.existsByEmail(email);
+    public List<Long> findIdsPendingEnrichment(int limit) {
+        return jpaRepository.findIdsPendingEnrichment(Limit.of(limit));
     }
 
     @Override
-    public boolean existsByCpf(String cpf) {
-        return jpaRepository.existsByCpf(cpf);
+    public boolean completeEnrichment(Long id, String cep, Address found) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = found == null
+                ? jpaRepository.clearEnrichmentPending(id, cep, now)
+                : jpaRepository.completeEnrichment(id, cep, found.getLogradouro(), found.getBairro(),
+                        found.getCidade(), found.getUf(), now);
+        return updated > 0;
     }
 
     @Override
-    public boolean existsByEmailAndIdNot(String email, Long id) {
-        return jpaRepository.existsByEmailAndIdNot(email, id);
+    public List<Customer> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::toDomain)
+                .toList();
     }
 
     @Override
-    public boolean existsByCpfAndIdNot(String cpf, Long id) {
-        return jpaRepository.existsByCpfAndIdNot(cpf, id);
+    public Page<Customer> findAll(String nome, String email, Pageable pageable) {
+        String nomePattern = containsPattern(nome);
+        String emailPattern = containsPattern(email);
+
+        Page<CustomerJpaEntity> page;
+        if (nomePattern != null && emailPattern != null) {
+            page = jpaRepository.searchByNomeAndEmail(nomePattern, emailPattern, pageable);
+        } else if (nomePattern != null) {
+            page = jpaRepository.searchByNome(nomePattern, pageable);
+        } else if (emailPattern != null) {
+            page = jpaRepository.searchByEmail(emailPattern, pageable);
+        } else {
+            page = jpaRepository.findAll(pageable);
+        }
+        return page.map(mapper::toDomain);
+    }
+
+    /**
+     * Traduz a violação de {@code idx_customer_email} ou {@code idx_customer_cpf} pelo nome do
+     * constraint; qualquer outra violação segue adiante.
+     */
+    private RuntimeException duplicateField(DataIntegrityViolationException e, Customer customer) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                : "";
+        if (constraint.contains("email")) {
+            return new DuplicateFieldException("email", customer.getEmail());
+        }
+        if (constraint.contains("cpf")) {
+            return new DuplicateFieldException("cpf", customer.getCpf());
+        }
+        return e;
+    }
+
+    /** {@code %termo%} em minúsculas, com {@code %}, {@code _} e {@code \} do termo escapados; nulo se vazio. */
+    static String containsPattern(String term) {
+        if (term == null || term.isBlank()) return null;
+
+        String escaped = term.strip().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 
     @Override
@@ -0,0 +1,75 @@
+package com.golden.erp.infrastructure.persistence.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_data_criacao", columnList = "data_criacao")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyJpaEntity implements Persistable<String> {
+
+    @Id
+    @Column(length = 255)
+    private String chave;
+
+    @Column(name = "pedido_id", nullable = false)
+    private Long pedidoId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String resposta;
+
+    /** SHA-256 do corpo da requisição; nulo nas chaves gravadas antes da coluna existir. */
+    @Column(name = "hash_requisicao", length = 64)
+    private String hashRequisicao;
+
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+
+    // Chave atribuída pela aplicação: força INSERT para que uma chave repetida viole a PK
+    // em vez de virar um UPDATE via merge.
+    @Transient
+    @Builder.Default
+    private boolean novo = true;
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.dataCriacao = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        this.novo = false;
+    }
+}
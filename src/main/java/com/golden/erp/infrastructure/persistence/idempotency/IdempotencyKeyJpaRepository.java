@@ -0,0 +1,15 @@
+package com.golden.erp.infrastructure.persistence.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyJpaEntity, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyJpaEntity k WHERE k.dataCriacao < :threshold")
+    int deleteByDataCriacaoBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,136 @@
+package com.golden.erp.infrastructure.persistence.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.port.OrderIdempotencyPort;
+import com.golden.erp.domain.exception.DuplicateFieldException;
+import com.golden.erp.domain.exception.IdempotencyKeyReuseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Respostas de {@code POST /api/orders} por {@code Idempotency-Key}. A tabela {@code idempotency_keys}
+ * garante a deduplicação entre instâncias; o LRU em memória responde a maior parte das retentativas
+ * sem ir ao banco. A chave é gravada na mesma transação do pedido, com o hash do corpo da requisição:
+ * reaproveitar a chave com outro corpo é rejeitado em vez de devolver o primeiro pedido.
+ */
+@Slf4j
+@Component
+public class OrderIdempotencyAdapter implements OrderIdempotencyPort {
+
+    private final IdempotencyKeyJpaRepository jpaRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Cache<String, StoredResponse> cache;
+
+    public OrderIdempotencyAdapter(IdempotencyKeyJpaRepository jpaRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                                   @Value("${idempotency.cache.max-size:10000}") long maxSize) {
+        this.jpaRepository = jpaRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<OrderResponse> find(String key, CreateOrderRequest request) {
+        StoredResponse stored = cache.getIfPresent(key);
+        if (stored == null) {
+            LocalDateTime threshold = LocalDateTime.now().minus(ttl);
+            stored = jpaRepository.findById(key)
+                    .filter(entity -> entity.getDataCriacao().isAfter(threshold))
+                    .map(entity -> new StoredResponse(entity.getHashRequisicao(), deserialize(entity.getResposta())))
+                    .orElse(null);
+            if (stored == null) {
+                return Optional.empty();
+            }
+            cache.put(key, stored);
+        }
+
+        if (stored.requestHash() != null && !stored.requestHash().equals(hash(request))) {
+            throw new IdempotencyKeyReuseException(key);
+        }
+        return Optional.of(stored.response());
+    }
+
+    @Override
+    public void save(String key, CreateOrderRequest request, OrderResponse response) {
+        StoredResponse stored = new StoredResponse(hash(request), response);
+        try {
+            jpaRepository.saveAndFlush(IdempotencyKeyJpaEntity.builder()
+                    .chave(key)
+                    .pedidoId(response.getId())
+                    .resposta(serialize(response))
+                    .hashRequisicao(stored.requestHash())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição com a mesma chave gravou primeiro; esta transação será desfeita.
+            throw new DuplicateFieldException("Idempotency-Key", key);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(key, stored);
+                }
+            });
+        } else {
+            cache.put(key, stored);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        cache.cleanUp();
+        return jpaRepository.deleteByDataCriacaoBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private String serialize(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta do pedido " + response.getId(), e);
+        }
+    }
+
+    /** O corpo já desserializado é reescrito pelo Jackson, então espaços e formatação não mudam o hash. */
+    private String hash(CreateOrderRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Falha ao calcular o hash da requisição", e);
+        }
+    }
+
+    private OrderResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao desserializar resposta idempotente", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, OrderResponse response) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.port.OrderCachePort;
+import com.golden.erp.infrastructure.persistence.RowVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache de leitura de {@code GET /api/orders/{id}} e {@code /usd-total}, limitado por tamanho e
+ * TTL. Guarda {@link OrderResponse}, que não muda depois de montado. Métricas em
+ * {@code cache.gets} (hit/miss), {@code cache.evictions} e {@code cache.size} com {@code cache=orders}.
+ */
+@Component
+public class OrderCacheAdapter implements OrderCachePort {
+
+    private final Cache<Long, OrderResponse> cache;
+
+    public OrderCacheAdapter(MeterRegistry meterRegistry,
+                             @Value("${orders.cache.max-size:10000}") long maxSize,
+                             @Value("${orders.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    @Override
+    public OrderResponse get(Long id, Function<Long, OrderResponse> loader) {
+        // Uma remoção concorrente espera a carga em andamento terminar, então não sobra valor antigo
+        return cache.get(id, loader);
+    }
+
+    @Override
+    public OrderResponse get(Long id, String version, Function<Long, OrderResponse> loader) {
+        OrderResponse cached = cache.getIfPresent(id);
+        if (cached != null && versionOf(cached).equals(version)) {
+            return cached;
+        }
+        // Ausente ou atrás do banco (por exemplo, alterado por outra instância): recarrega
+        cache.invalidate(id);
+        return cache.get(id, loader);
+    }
+
+    static String versionOf(OrderResponse order) {
+        return new RowVersion(order.getDataAtualizacao()).token();
+    }
+
+    @Override
+    public void evict(Long id) {
+        cache.invalidate(id);
+
+        // Uma leitura concorrente pode ter carregado a versão anterior ao commit; remove de novo no fim
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
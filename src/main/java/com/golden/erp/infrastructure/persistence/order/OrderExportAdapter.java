@@ -0,0 +1,122 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.application.order.port.OrderExportPort;
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lê pedidos e itens num único {@code SELECT} com cursor forward-only. O driver busca
+ * {@code orders.export.fetch-size} linhas por vez (no PostgreSQL, só dentro de uma transação),
+ * e cada pedido é entregue assim que a última linha dele é lida. Nada passa pelo contexto de
+ * persistência, então a memória não cresce com o tamanho da exportação.
+ */
+@Component
+public class OrderExportAdapter implements OrderExportPort {
+
+    private static final String SELECT_SQL = """
+            SELECT o.id, o.cliente_id, o.cliente_nome, o.status, o.subtotal, o.descontos, o.total,
+                   o.data_criacao, o.data_atualizacao,
+                   i.id AS item_id, i.produto_id, i.produto_nome, i.quantidade, i.preco_unitario,
+                   i.desconto, i.subtotal AS item_subtotal, i.total AS item_total
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderExportAdapter(DataSource dataSource,
+                              @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public void forEach(OrderStatus status, Long clienteId, Consumer<Order> action) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            conditions.add("o.status = ?");
+            args.add(status.name());
+        }
+        if (clienteId != null) {
+            conditions.add("o.cliente_id = ?");
+            args.add(clienteId);
+        }
+
+        String sql = SELECT_SQL
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY o.id";
+
+        OrderRowGrouper grouper = new OrderRowGrouper(action);
+        jdbcTemplate.query(sql, grouper, args.toArray());
+        grouper.finish();
+    }
+
+    /** Junta as linhas consecutivas do mesmo pedido; o resultado vem ordenado por ID do pedido. */
+    private static class OrderRowGrouper implements RowCallbackHandler {
+
+        private final Consumer<Order> action;
+        private Order current;
+
+        OrderRowGrouper(Consumer<Order> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.getId() != id) {
+                finish();
+                current = Order.builder()
+                        .id(id)
+                        .clienteId(rs.getLong("cliente_id"))
+                        .clienteNome(rs.getString("cliente_nome"))
+                        .status(OrderStatus.valueOf(rs.getString("status")))
+                        .subtotal(rs.getBigDecimal("subtotal"))
+                        .descontos(rs.getBigDecimal("descontos"))
+                        .total(rs.getBigDecimal("total"))
+                        .dataCriacao(toLocalDateTime(rs.getTimestamp("data_criacao")))
+                        .dataAtualizacao(toLocalDateTime(rs.getTimestamp("data_atualizacao")))
+                        .build();
+            }
+
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                current.getItens().add(OrderItem.builder()
+                        .id(itemId)
+                        .produtoId(rs.getLong("produto_id"))
+                        .produtoNome(rs.getString("produto_nome"))
+                        .quantidade(rs.getInt("quantidade"))
+                        .precoUnitario(rs.getBigDecimal("preco_unitario"))
+                        .desconto(rs.getBigDecimal("desconto"))
+                        .subtotal(rs.getBigDecimal("item_subtotal"))
+                        .total(rs.getBigDecimal("item_total"))
+                        .build());
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                action.accept(current);
+                current = null;
+            }
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+}
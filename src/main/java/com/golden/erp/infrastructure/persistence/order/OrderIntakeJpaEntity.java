@@ -0,0 +1,84 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_intake", indexes = {
+        @Index(name = "idx_order_intake_fila", columnList = "status, id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_intake_id_gen")
+    @SequenceGenerator(name = "order_intake_id_gen", sequenceName = "order_intake_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderIntakeStatus status;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String requisicao;
+
+    @Column(name = "menor_produto_id", nullable = false)
+    private Long menorProdutoId;
+
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    @Column(length = 500)
+    private String erro;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    /**
+     * Avança a cada reivindicação e a cada devolução à fila: o resultado de um worker que perdeu a
+     * solicitação para outro falha no {@code UPDATE} e a transação do pedido é desfeita.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(name = "data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    protected void onCreate() {
+        this.dataCriacao = LocalDateTime.now();
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,34 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderIntakeJpaRepository extends JpaRepository<OrderIntakeJpaEntity, Long> {
+
+    /** Os mais antigos primeiro (FIFO); a ordem por produto é aplicada só dentro do lote reivindicado. */
+    @Query("""
+            SELECT i.id FROM OrderIntakeJpaEntity i
+            WHERE i.status = :status
+            ORDER BY i.id
+            """)
+    List<Long> findIdsByStatusInQueueOrder(@Param("status") OrderIntakeStatus status, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            UPDATE OrderIntakeJpaEntity i
+            SET i.status = :target, i.versao = i.versao + 1, i.dataAtualizacao = CURRENT_TIMESTAMP
+            WHERE i.status = :source AND i.dataAtualizacao < :threshold
+            """)
+    int updateStatusBefore(@Param("source") OrderIntakeStatus source,
+                           @Param("target") OrderIntakeStatus target,
+                           @Param("threshold") LocalDateTime threshold);
+
+    long countByStatus(OrderIntakeStatus status);
+}
@@ -0,0 +1,42 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.OrderIntake;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderIntakeMapper {
+
+    public OrderIntake toDomain(OrderIntakeJpaEntity entity) {
+        if (entity == null) return null;
+
+        return OrderIntake.builder()
+                .id(entity.getId())
+                .status(entity.getStatus())
+                .requisicao(entity.getRequisicao())
+                .menorProdutoId(entity.getMenorProdutoId())
+                .pedidoId(entity.getPedidoId())
+                .erro(entity.getErro())
+                .tentativas(entity.getTentativas())
+                .versao(entity.getVersao())
+                .dataCriacao(entity.getDataCriacao())
+                .dataAtualizacao(entity.getDataAtualizacao())
+                .build();
+    }
+
+    public OrderIntakeJpaEntity toJpaEntity(OrderIntake domain) {
+        if (domain == null) return null;
+
+        return OrderIntakeJpaEntity.builder()
+                .id(domain.getId())
+                .status(domain.getStatus())
+                .requisicao(domain.getRequisicao())
+                .menorProdutoId(domain.getMenorProdutoId())
+                .pedidoId(domain.getPedidoId())
+                .erro(domain.getErro())
+                .tentativas(domain.getTentativas())
+                .versao(domain.getVersao())
+                .dataCriacao(domain.getDataCriacao())
+                .dataAtualizacao(domain.getDataAtualizacao())
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.repository.OrderIntakeRepository;
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderIntakeRepositoryImpl implements OrderIntakeRepository {
+
+    private static final String CLAIM_SQL =
+            "UPDATE order_intake SET status = 'PROCESSING', versao = versao + 1, data_atualizacao = CURRENT_TIMESTAMP " +
+            "WHERE id = ? AND status = 'PENDING'";
+
+    private final OrderIntakeJpaRepository jpaRepository;
+    private final OrderIntakeMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public OrderIntake save(OrderIntake intake) {
+        OrderIntakeJpaEntity entity = mapper.toJpaEntity(intake);
+        OrderIntakeJpaEntity saved = jpaRepository.save(entity);
+        return mapper.toDomain(saved);
+    }
+
+    @Override
+    public Optional<OrderIntake> findById(Long id) {
+        return jpaRepository.findById(id).map(mapper::toDomain);
+    }
+
+    @Override
+    public List<OrderIntake> claimPending(int limit) {
+        List<Long> candidates = jpaRepository.findIdsByStatusInQueueOrder(
+                OrderIntakeStatus.PENDING, PageRequest.of(0, limit));
+        if (candidates.isEmpty()) return List.of();
+
+        // Cada linha é reivindicada por um UPDATE condicional; outra instância que pegou a
+        // mesma linha primeiro faz este retornar 0 linhas afetadas.
+        List<Object[]> args = candidates.stream()
+                .map(id -> new Object[]{id})
+                .toList();
+        int[] updated = jdbcTemplate.batchUpdate(CLAIM_SQL, args);
+
+        List<Long> claimed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] > 0) {
+                claimed.add(candidates.get(i));
+            }
+        }
+        if (claimed.isEmpty()) return List.of();
+
+        // Dentro do lote, a ordem pelo menor produto agrupa quem disputa a mesma linha
+        return jpaRepository.findAllById(claimed).stream()
+                .map(mapper::toDomain)
+                .sorted(Comparator.comparing(OrderIntake::getMenorProdutoId).thenComparing(OrderIntake::getId))
+                .toList();
+    }
+
+    @Override
+    public int requeueProcessingBefore(LocalDateTime threshold) {
+        return jpaRepository.updateStatusBefore(
+                OrderIntakeStatus.PROCESSING, OrderIntakeStatus.PENDING, threshold);
+    }
+
+    @Override
+    public long countByStatus(OrderIntakeStatus status) {
+        return jpaRepository.countByStatus(status);
+    }
+}
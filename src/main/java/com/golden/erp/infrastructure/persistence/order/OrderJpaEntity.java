@@ -14,6 +14,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,15 +22,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "orders", indexes = {
-        @Index(name = "idx_order_status", columnList = "status"),
-        @Index(name = "idx_order_cliente_id", columnList = "cliente_id"),
-        @Index(name = "idx_order_data_criacao", columnList = "data_criacao")
+        @Index(name = "idx_order_status_data_criacao", columnList = "status, data_criacao"),
+        @Index(name = "idx_order_cliente_data_criacao", columnList = "cliente_id, data_criacao DESC"),
+        @Index(name = "idx_order_data_criacao_id", columnList = "data_criacao, id"),
+        @Index(name = "idx_order_total", columnList = "total")
 })
 @Getter
 @Setter
@@ -39,7 +42,8 @@ import java.util.List;
 public class OrderJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_gen")
+    @SequenceGenerator(name = "orders_id_gen", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "cliente_id", nullable = false)
@@ -52,8 +56,17 @@ public class OrderJpaEntity {
     @Column(nullable = false)
     private OrderStatus status;
 
+    @Column(nullable = false, updatable = false, precision = 12, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, updatable = false, precision = 12, scale = 2)
+    private BigDecimal descontos;
+
+    @Column(nullable = false, updatable = false, precision = 12, scale = 2)
+    private BigDecimal total;
+
     @Builder.Default
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItemJpaEntity> itens = new ArrayList<>();
 
     @Column(name = "data_criacao", nullable = false, updatable = false)
@@ -1,6 +1,8 @@
 package com.golden.erp.infrastructure.persistence.order;
 
 import com.golden.erp.domain.order.valueobject.OrderStatus;
+import com.golden.erp.infrastructure.persistence.RowVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,19 +10,85 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, Long> {
 
-    @Query("""
-            SELECT o FROM OrderJpaEntity o
+    @Query(value = """
+            SELECT o.id FROM OrderJpaEntity o
+            WHERE (CAST(:status AS string) IS NULL OR o.status = :status)
+            AND (CAST(:clienteId AS long) IS NULL OR o.clienteId = :clienteId)
+            """,
+            countQuery = """
+            SELECT COUNT(o) FROM OrderJpaEntity o
+            WHERE (CAST(:status AS string) IS NULL OR o.status = :status)
+            AND (CAST(:clienteId AS long) IS NULL OR o.clienteId = :clienteId)
+            """)
+    Page<Long> findIdsWithFilters(
+            @Param("status") OrderStatus status,
+            @Param("clienteId") Long clienteId,
+            Pageable pageable);
+
+    @Query(value = """
+            SELECT new com.golden.erp.infrastructure.persistence.order.OrderSummaryRow(
+                o.id, o.clienteId, o.clienteNome, CAST(o.status AS string),
+                (SELECT COUNT(i) FROM OrderItemJpaEntity i WHERE i.order = o),
+                o.total, o.dataCriacao, o.dataAtualizacao)
+            FROM OrderJpaEntity o
+            WHERE (CAST(:status AS string) IS NULL OR o.status = :status)
+            AND (CAST(:clienteId AS long) IS NULL OR o.clienteId = :clienteId)
+            """,
+            countQuery = """
+            SELECT COUNT(o) FROM OrderJpaEntity o
             WHERE (CAST(:status AS string) IS NULL OR o.status = :status)
             AND (CAST(:clienteId AS long) IS NULL OR o.clienteId = :clienteId)
             """)
-    Page<OrderJpaEntity> findAllWithFilters(
+    Page<OrderSummaryRow> findSummariesWithFilters(
             @Param("status") OrderStatus status,
             @Param("clienteId") Long clienteId,
             Pageable pageable);
 
-    List<OrderJpaEntity> findByStatusAndDataCriacaoBefore(OrderStatus status, LocalDateTime dateTime);
+    @Query("""
+            SELECT o.id FROM OrderJpaEntity o
+            WHERE (CAST(:status AS string) IS NULL OR o.status = :status)
+            AND (CAST(:clienteId AS long) IS NULL OR o.clienteId = :clienteId)
+            ORDER BY o.dataCriacao DESC, o.id DESC
+            """)
+    List<Long> findFirstIdsByKeyset(
+            @Param("status") OrderStatus status,
+            @Param("clienteId") Long clienteId,
+            Limit limit);
+
+    @Query("""
+            SELECT o.id FROM OrderJpaEntity o
+            WHERE (CAST(:status AS string) IS NULL OR o.status = :status)
+            AND (CAST(:clienteId AS long) IS NULL OR o.clienteId = :clienteId)
+            AND (o.dataCriacao < :dataCriacao OR (o.dataCriacao = :dataCriacao AND o.id < :id))
+            ORDER BY o.dataCriacao DESC, o.id DESC
+            """)
+    List<Long> findIdsAfterByKeyset(
+            @Param("status") OrderStatus status,
+            @Param("clienteId") Long clienteId,
+            @Param("dataCriacao") LocalDateTime dataCriacao,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query("SELECT o FROM OrderJpaEntity o LEFT JOIN FETCH o.itens WHERE o.id IN :ids")
+    List<OrderJpaEntity> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT o FROM OrderJpaEntity o LEFT JOIN FETCH o.itens WHERE o.id = :id")
+    Optional<OrderJpaEntity> findWithItemsById(@Param("id") Long id);
+
+    @Query("SELECT new com.golden.erp.infrastructure.persistence.RowVersion(o.dataAtualizacao) FROM OrderJpaEntity o WHERE o.id = :id")
+    Optional<RowVersion> findVersionById(@Param("id") Long id);
+
+    @Query("""
+            SELECT o FROM OrderJpaEntity o LEFT JOIN FETCH o.itens
+            WHERE o.status = :status AND o.dataCriacao < :dateTime
+            """)
+    List<OrderJpaEntity> findByStatusAndDataCriacaoBefore(
+            @Param("status") OrderStatus status,
+            @Param("dateTime") LocalDateTime dateTime);
 }
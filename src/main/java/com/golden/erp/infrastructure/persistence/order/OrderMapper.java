@@ -23,6 +23,9 @@ public class OrderMapper {
                 .clienteNome(entity.getClienteNome())
                 .status(entity.getStatus())
                 .itens(new ArrayList<>(itens))
+                .subtotal(entity.getSubtotal())
+                .descontos(entity.getDescontos())
+                .total(entity.getTotal())
                 .dataCriacao(entity.getDataCriacao())
                 .dataAtualizacao(entity.getDataAtualizacao())
                 .build();
@@ -42,6 +45,10 @@ public class OrderMapper {
                 .build();
 
         if (domain.getItens() != null) {
+            orderEntity.setSubtotal(domain.getSubtotal());
+            orderEntity.setDescontos(domain.getDescontos());
+            orderEntity.setTotal(domain.getTotal());
+
             List<OrderItemJpaEntity> jpaItems = domain.getItens().stream()
                     .map(item -> toItemJpaEntity(item, orderEntity))
                     .toList();
@@ -59,6 +66,8 @@ public class OrderMapper {
                 .quantidade(entity.getQuantidade())
                 .precoUnitario(entity.getPrecoUnitario())
                 .desconto(entity.getDesconto())
+                .subtotal(entity.getSubtotal())
+                .total(entity.getTotal())
                 .build();
     }
 
@@ -71,6 +80,8 @@ public class OrderMapper {
                 .quantidade(domain.getQuantidade())
                 .precoUnitario(domain.getPrecoUnitario())
                 .desconto(domain.getDesconto())
+                .subtotal(domain.getSubtotal())
+                .total(domain.getTotal())
                 .build();
     }
 }
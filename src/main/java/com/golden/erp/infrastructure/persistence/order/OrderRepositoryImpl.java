@@ -3,14 +3,20 @@ package com.golden.erp.infrastructure.persistence.order;
 import com.golden.erp.domain.order.entity.Order;
 import com.golden.erp.domain.order.repository.OrderRepository;
 import com.golden.erp.domain.order.valueobject.OrderStatus;
+import com.golden.erp.infrastructure.persistence.RowVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
@@ -26,15 +32,38 @@ public class OrderRepositoryImpl implements OrderRepository {
         return mapper.toDomain(saved);
     }
 
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<OrderJpaEntity> entities = orders.stream()
+                .map(mapper::toJpaEntity)
+                .toList();
+        return jpaRepository.saveAll(entities).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Order> findById(Long id) {
-        return jpaRepository.findById(id).map(mapper::toDomain);
+        return jpaRepository.findWithItemsById(id).map(mapper::toDomain);
+    }
+
+    @Override
+    public Optional<String> findVersionById(Long id) {
+        return jpaRepository.findVersionById(id).map(RowVersion::token);
     }
 
     @Override
     public Page<Order> findAll(OrderStatus status, Long clienteId, Pageable pageable) {
-        return jpaRepository.findAllWithFilters(status, clienteId, pageable)
-                .map(mapper::toDomain);
+        Page<Long> ids = jpaRepository.findIdsWithFilters(status, clienteId, pageable);
+        return new PageImpl<>(loadWithItems(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Override
+    public List<Order> findAfter(OrderStatus status, Long clienteId, LocalDateTime dataCriacao, Long id, int limit) {
+        List<Long> ids = dataCriacao == null
+                ? jpaRepository.findFirstIdsByKeyset(status, clienteId, Limit.of(limit))
+                : jpaRepository.findIdsAfterByKeyset(status, clienteId, dataCriacao, id, Limit.of(limit));
+        return loadWithItems(ids);
     }
 
     @Override
@@ -44,4 +73,19 @@ public class OrderRepositoryImpl implements OrderRepository {
                 .map(mapper::toDomain)
                 .toList();
     }
+
+    /**
+     * Carrega os pedidos da página com os itens num único {@code JOIN FETCH} e devolve na ordem
+     * dos IDs, que é a ordem da consulta paginada.
+     */
+    private List<Order> loadWithItems(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, OrderJpaEntity> byId = jpaRepository.findAllWithItemsByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderJpaEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .map(mapper::toDomain)
+                .toList();
+    }
 }
@@ -0,0 +1,35 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.application.order.dto.OrderSummaryResponse;
+import com.golden.erp.application.order.port.OrderSummaryPort;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryAdapter implements OrderSummaryPort {
+
+    private final OrderJpaRepository jpaRepository;
+
+    @Override
+    public Page<OrderSummaryResponse> findAll(OrderStatus status, Long clienteId, Pageable pageable) {
+        return jpaRepository.findSummariesWithFilters(status, clienteId, pageable)
+                .map(this::toResponse);
+    }
+
+    private OrderSummaryResponse toResponse(OrderSummaryRow row) {
+        return OrderSummaryResponse.builder()
+                .id(row.id())
+                .clienteId(row.clienteId())
+                .clienteNome(row.clienteNome())
+                .status(row.status())
+                .quantidadeItens(row.quantidadeItens())
+                .total(row.total())
+                .dataCriacao(row.dataCriacao())
+                .dataAtualizacao(row.dataAtualizacao())
+                .build();
+    }
+}
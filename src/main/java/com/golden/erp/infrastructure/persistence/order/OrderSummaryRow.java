@@ -0,0 +1,19 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção da listagem resumida, montada pela consulta JPQL. Fica na infraestrutura para que a
+ * consulta não dependa do DTO da aplicação; o {@link OrderSummaryAdapter} faz a conversão.
+ */
+public record OrderSummaryRow(
+        Long id,
+        Long clienteId,
+        String clienteNome,
+        String status,
+        Long quantidadeItens,
+        BigDecimal total,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao) {
+}
@@ -0,0 +1,145 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.golden.erp.domain.product.entity.Product;
+import com.golden.erp.infrastructure.persistence.RowVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache local dos dados de catálogo dos produtos (sku, nome, preço, estoque mínimo, ativo e shards),
+ * limitado por tamanho e TTL. O estoque fica de fora: o saldo vale apenas no banco.
+ * <p>
+ * Cada invalidação avança uma versão. Uma carga que começou antes dela não grava o resultado,
+ * então uma leitura concorrente com a alteração não devolve ao cache os dados anteriores. Essas
+ * invalidações são locais; para a criação de pedidos, {@link #getAllCurrent} confere cada entrada
+ * com a {@code data_atualizacao} do banco, já que outra instância pode ter alterado o produto.
+ * Métricas em {@code cache.gets} (hit/miss) e {@code cache.size} com {@code cache=products}.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final Cache<Long, CatalogEntry> cache;
+    private final AtomicLong version = new AtomicLong();
+
+    public ProductCatalogCache(MeterRegistry meterRegistry,
+                               @Value("${products.cache.max-size:10000}") long maxSize,
+                               @Value("${products.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    public Optional<CatalogEntry> get(Long id, Function<Long, Optional<CatalogEntry>> loader) {
+        CatalogEntry cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long loadedAt = version.get();
+        Optional<CatalogEntry> loaded = loader.apply(id);
+        loaded.ifPresent(entry -> putIfCurrent(entry, loadedAt));
+        return loaded;
+    }
+
+    /** Devolve as entradas encontradas; as ausentes do cache são carregadas numa única chamada. */
+    public Map<Long, CatalogEntry> getAll(Collection<Long> ids,
+                                          Function<Collection<Long>, List<CatalogEntry>> loader) {
+        return loadMissing(new HashMap<>(cache.getAllPresent(ids)), ids, loader);
+    }
+
+    /**
+     * Como {@link #getAll}, mas antes compara as entradas em cache com a versão atual de cada linha,
+     * lida por {@code versions} numa consulta só de {@code id} e {@code data_atualizacao}. As que
+     * divergem, ou cujo produto não existe mais, saem do cache e são recarregadas com as ausentes.
+     */
+    public Map<Long, CatalogEntry> getAllCurrent(Collection<Long> ids,
+                                                 Function<Collection<Long>, Map<Long, String>> versions,
+                                                 Function<Collection<Long>, List<CatalogEntry>> loader) {
+        Map<Long, CatalogEntry> result = new HashMap<>(cache.getAllPresent(ids));
+        if (!result.isEmpty()) {
+            Map<Long, String> current = versions.apply(List.copyOf(result.keySet()));
+            result.values().removeIf(entry -> {
+                if (entry.version().equals(current.get(entry.id()))) return false;
+                cache.asMap().remove(entry.id(), entry);
+                return true;
+            });
+        }
+        return loadMissing(result, ids, loader);
+    }
+
+    private Map<Long, CatalogEntry> loadMissing(Map<Long, CatalogEntry> result, Collection<Long> ids,
+                                                Function<Collection<Long>, List<CatalogEntry>> loader) {
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (!result.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long loadedAt = version.get();
+            for (CatalogEntry entry : loader.apply(missing)) {
+                result.put(entry.id(), entry);
+                putIfCurrent(entry, loadedAt);
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(Long id) {
+        version.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    private void putIfCurrent(CatalogEntry entry, long loadedAt) {
+        if (version.get() != loadedAt) return;
+
+        cache.put(entry.id(), entry);
+        // Uma invalidação entre a checagem e o put ainda vence
+        if (version.get() != loadedAt) {
+            cache.asMap().remove(entry.id(), entry);
+        }
+    }
+
+    public record CatalogEntry(Long id, String sku, String nome, BigDecimal precoBruto,
+                               Integer estoqueMinimo, Boolean ativo, Integer shards, String version) {
+
+        static CatalogEntry from(ProductJpaEntity entity) {
+            return new CatalogEntry(entity.getId(), entity.getSku(), entity.getNome(), entity.getPrecoBruto(),
+                    entity.getEstoqueMinimo(), entity.getAtivo(), entity.getShards(),
+                    new RowVersion(entity.getDataAtualizacao()).token());
+        }
+
+        /** Monta um {@link Product} novo a cada chamada, já que o domínio é mutável. */
+        Product toProduct(Integer estoque) {
+            return Product.builder()
+                    .id(id)
+                    .sku(sku)
+                    .nome(nome)
+                    .precoBruto(precoBruto)
+                    .estoque(estoque)
+                    .estoqueMinimo(estoqueMinimo)
+                    .ativo(ativo)
+                    .shards(shards)
+                    .build();
+        }
+    }
+}
@@ -6,14 +6,19 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products", indexes = {
@@ -28,7 +33,8 @@ import java.math.BigDecimal;
 public class ProductJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_gen")
+    @SequenceGenerator(name = "products_id_gen", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -48,4 +54,22 @@ public class ProductJpaEntity {
 
     @Column(nullable = false)
     private Boolean ativo;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer shards = 1;
+
+    /** Saldo agregado: a coluna {@code estoque} ou, se fragmentado, a soma dos shards. */
+    @Formula("(CASE WHEN shards > 1 THEN (SELECT COALESCE(SUM(s.estoque), 0) FROM product_stock_shards s"
+            + " WHERE s.produto_id = id) ELSE estoque END)")
+    private Integer estoqueTotal;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.dataAtualizacao = LocalDateTime.now();
+    }
 }
@@ -1,12 +1,15 @@
 package com.golden.erp.infrastructure.persistence.product;
 
+import com.golden.erp.infrastructure.persistence.RowVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, Long> {
 
@@ -20,6 +23,26 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, Lo
             """)
     Page<ProductJpaEntity> findAllWithFilters(@Param("ativo") Boolean ativo, Pageable pageable);
 
-    @Query("SELECT p FROM ProductJpaEntity p WHERE p.estoque < p.estoqueMinimo")
+    /**
+     * Separado por tipo de estoque para que o PostgreSQL use os índices parciais
+     * {@code idx_product_low_stock} e {@code idx_product_sharded} em vez de ler a tabela inteira.
+     */
+    @Query("""
+            SELECT p FROM ProductJpaEntity p
+            WHERE (p.shards = 1 AND p.estoque < p.estoqueMinimo)
+            OR (p.shards > 1 AND p.estoqueTotal < p.estoqueMinimo)
+            """)
     List<ProductJpaEntity> findAllWithLowStock();
+
+    @Query("SELECT p.estoqueTotal FROM ProductJpaEntity p WHERE p.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+
+    @Query("SELECT new com.golden.erp.infrastructure.persistence.RowVersion(p.dataAtualizacao, p.estoqueTotal) FROM ProductJpaEntity p WHERE p.id = :id")
+    Optional<RowVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.id, p.dataAtualizacao FROM ProductJpaEntity p WHERE p.id IN :ids")
+    List<Object[]> findUpdatedAtByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.shards FROM ProductJpaEntity p WHERE p.id IN :ids")
+    List<Object[]> findShardsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -14,9 +14,10 @@ public class ProductMapper {
                 .sku(entity.getSku())
                 .nome(entity.getNome())
                 .precoBruto(entity.getPrecoBruto())
-                .estoque(entity.getEstoque())
+                .estoque(entity.getEstoqueTotal() != null ? entity.getEstoqueTotal() : entity.getEstoque())
                 .estoqueMinimo(entity.getEstoqueMinimo())
                 .ativo(entity.getAtivo())
+                .shards(entity.getShards())
                 .build();
     }
 
@@ -28,9 +29,10 @@ public class ProductMapper {
                 .sku(domain.getSku())
                 .nome(domain.getNome())
                 .precoBruto(domain.getPrecoBruto())
-                .estoque(domain.getEstoque())
+                .estoque(domain.isSharded() ? 0 : domain.getEstoque())
                 .estoqueMinimo(domain.getEstoqueMinimo())
                 .ativo(domain.getAtivo())
+                .shards(domain.isSharded() ? domain.getShards() : 1)
                 .build();
     }
 }
@@ -2,31 +2,87 @@ package com.golden.erp.infrastructure.persistence.product;
 
 import com.golden.erp.domain.product.entity.Product;
 import com.golden.erp.domain.product.repository.ProductRepository;
+import com.golden.erp.infrastructure.persistence.RowVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Repository
 @RequiredArgsConstructor
 public class ProductRepositoryImpl implements ProductRepository {
 
+    private static final String DECREASE_STOCK_SQL =
+            "UPDATE products SET estoque = estoque - ? WHERE id = ? AND estoque >= ?";
+    private static final String INCREASE_STOCK_SQL =
+            "UPDATE products SET estoque = estoque + ? WHERE id = ?";
+
     private final ProductJpaRepository jpaRepository;
     private final ProductMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockReservationLedger ledger;
+    private final ProductRowLocker rowLocker;
+    private final ProductStockShards stockShards;
+    private final ProductCatalogCache catalogCache;
 
     @Override
     public Product save(Product product) {
         ProductJpaEntity entity = mapper.toJpaEntity(product);
-        ProductJpaEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        // Os shards referenciam a linha de products, que precisa estar gravada antes
+        ProductJpaEntity saved = product.isSharded() ? jpaRepository.saveAndFlush(entity) : jpaRepository.save(entity);
+        stockShards.replace(saved.getId(), saved.getShards(), product.isSharded() ? product.getEstoque() : 0);
+        evictCachesAfterCompletion(List.of(saved.getId()));
+
+        Product result = mapper.toDomain(saved);
+        result.setEstoque(product.getEstoque());
+        return result;
     }
 
     @Override
     public Optional<Product> findById(Long id) {
-        return jpaRepository.findById(id).map(mapper::toDomain);
+        // O estoque vem sempre do banco; o cache só poupa a leitura do restante da linha
+        Optional<Integer> stock = jpaRepository.findStockById(id);
+        if (stock.isEmpty()) return Optional.empty();
+
+        return catalogCache.get(id, this::loadCatalog)
+                .map(entry -> entry.toProduct(stock.get()));
+    }
+
+    @Override
+    public Optional<String> findVersionById(Long id) {
+        return jpaRepository.findVersionById(id).map(RowVersion::token);
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findCatalogByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return catalogCache.getAllCurrent(ids, this::loadCatalogVersions, this::loadCatalog).values().stream()
+                .map(entry -> entry.toProduct(null))
+                .toList();
     }
 
     @Override
@@ -46,7 +102,9 @@ public class ProductRepositoryImpl implements ProductRepository {
 
     @Override
     public void deleteById(Long id) {
+        stockShards.delete(id);
         jpaRepository.deleteById(id);
+        evictCachesAfterCompletion(List.of(id));
     }
 
     @Override
@@ -60,4 +118,183 @@ public class ProductRepositoryImpl implements ProductRepository {
                 .map(mapper::toDomain)
                 .toList();
     }
+
+    @Override
+    public void lockStock(Collection<Long> productIds) {
+        rowLocker.lockAllInIdOrder(productIds);
+    }
+
+    @Override
+    public Set<Long> decreaseStock(Map<Long, Integer> quantitiesByProduct) {
+        if (quantitiesByProduct.isEmpty()) return Set.of();
+
+        List<Map.Entry<Long, Integer>> entries = sortedById(quantitiesByProduct);
+
+        Set<Long> rejected = reserveInLedger(entries);
+        if (!rejected.isEmpty()) {
+            return rejected;
+        }
+        evictFromLedgerOnRollback(quantitiesByProduct.keySet());
+
+        Map<Long, Integer> shards = stockShards.shardCounts(quantitiesByProduct.keySet());
+        List<Map.Entry<Long, Integer>> plain = new ArrayList<>();
+        List<Map.Entry<Long, Integer>> sharded = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : entries) {
+            (shards.getOrDefault(entry.getKey(), 1) > 1 ? sharded : plain).add(entry);
+        }
+
+        List<Map.Entry<Long, Integer>> failed = new ArrayList<>();
+        if (!plain.isEmpty()) {
+            rowLocker.lockInIdOrder(plain.stream().map(Map.Entry::getKey).toList());
+            List<Object[]> args = plain.stream()
+                    .map(e -> new Object[]{e.getValue(), e.getKey(), e.getValue()})
+                    .toList();
+
+            int[] updated = jdbcTemplate.batchUpdate(DECREASE_STOCK_SQL, args);
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    failed.add(plain.get(i));
+                }
+            }
+        }
+        for (Map.Entry<Long, Integer> entry : sharded) {
+            if (!stockShards.decrease(entry.getKey(), shards.get(entry.getKey()), entry.getValue())) {
+                failed.add(entry);
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : failed) {
+            Long productId = entry.getKey();
+            if (!retryIfReSharded(productId, shards.getOrDefault(productId, 1), entry.getValue())) {
+                ledger.evict(productId);
+                rejected.add(productId);
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public void increaseStock(Map<Long, Integer> quantitiesByProduct) {
+        if (quantitiesByProduct.isEmpty()) return;
+
+        List<Map.Entry<Long, Integer>> entries = sortedById(quantitiesByProduct);
+        Map<Long, Integer> shards = stockShards.shardCounts(quantitiesByProduct.keySet());
+        List<Map.Entry<Long, Integer>> plain = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : entries) {
+            int count = shards.getOrDefault(entry.getKey(), 1);
+            if (count <= 1 || !stockShards.increase(entry.getKey(), count, entry.getValue())) {
+                plain.add(entry);
+            }
+        }
+
+        if (!plain.isEmpty()) {
+            rowLocker.lockInIdOrder(plain.stream().map(Map.Entry::getKey).toList());
+            List<Object[]> args = plain.stream()
+                    .map(e -> new Object[]{e.getValue(), e.getKey()})
+                    .toList();
+            jdbcTemplate.batchUpdate(INCREASE_STOCK_SQL, args);
+        }
+        afterCommit(() -> entries.forEach(e -> ledger.release(e.getKey(), e.getValue())));
+    }
+
+    /**
+     * A contagem de shards fica em memória; se outra instância fragmentou ou juntou o estoque do
+     * produto, a baixa foi feita no lugar errado e é refeita uma vez pelo caminho atual.
+     */
+    private boolean retryIfReSharded(Long productId, int knownShards, int quantity) {
+        int current = stockShards.refresh(productId);
+        if (current == knownShards) {
+            return false;
+        }
+        if (current > 1) {
+            return stockShards.decrease(productId, current, quantity);
+        }
+        rowLocker.lockInIdOrder(List.of(productId));
+        return jdbcTemplate.update(DECREASE_STOCK_SQL, quantity, productId, quantity) == 1;
+    }
+
+    private Set<Long> reserveInLedger(List<Map.Entry<Long, Integer>> entries) {
+        Set<Long> rejected = new HashSet<>();
+        List<Map.Entry<Long, Integer>> reserved = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> entry : entries) {
+            if (ledger.tryReserve(entry.getKey(), entry.getValue())) {
+                reserved.add(entry);
+            } else {
+                rejected.add(entry.getKey());
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            reserved.forEach(e -> ledger.release(e.getKey(), e.getValue()));
+        }
+        return rejected;
+    }
+
+    private void evictFromLedgerOnRollback(Collection<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    productIds.forEach(ledger::evict);
+                }
+            }
+        });
+    }
+
+    private void evictCachesAfterCompletion(Collection<Long> productIds) {
+        productIds.forEach(this::evictCaches);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                productIds.forEach(ProductRepositoryImpl.this::evictCaches);
+            }
+        });
+    }
+
+    private void evictCaches(Long productId) {
+        ledger.evict(productId);
+        stockShards.evict(productId);
+        catalogCache.invalidate(productId);
+    }
+
+    private Optional<ProductCatalogCache.CatalogEntry> loadCatalog(Long id) {
+        return jpaRepository.findById(id).map(ProductCatalogCache.CatalogEntry::from);
+    }
+
+    private Map<Long, String> loadCatalogVersions(Collection<Long> ids) {
+        Map<Long, String> versions = new HashMap<>();
+        for (Object[] row : jpaRepository.findUpdatedAtByIds(ids)) {
+            versions.put((Long) row[0], new RowVersion((LocalDateTime) row[1]).token());
+        }
+        return versions;
+    }
+
+    private List<ProductCatalogCache.CatalogEntry> loadCatalog(Collection<Long> ids) {
+        return jpaRepository.findAllById(ids).stream()
+                .map(ProductCatalogCache.CatalogEntry::from)
+                .toList();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private List<Map.Entry<Long, Integer>> sortedById(Map<Long, Integer> quantitiesByProduct) {
+        return new ArrayList<>(new TreeMap<>(quantitiesByProduct).entrySet());
+    }
 }
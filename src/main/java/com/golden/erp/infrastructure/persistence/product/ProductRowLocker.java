@@ -0,0 +1,171 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.golden.erp.domain.exception.StockLockUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Bloqueia as linhas de {@code products} com um único {@code SELECT ... WHERE id IN (...) ORDER BY id
+ * FOR UPDATE}: as linhas são travadas na ordem crescente de ID, então pedidos que compartilham
+ * produtos esperam na mesma sequência e não entram em deadlock. O tempo de espera vira o timer
+ * {@code stock.lock.wait} com tag {@code sku}; num {@code SELECT} com vários produtos não dá para
+ * saber qual linha demorou, então a espera é registrada para cada um deles. Os valores da tag são
+ * limitados por {@code stock.lock.metrics.max-skus} ({@link com.golden.erp.infrastructure.config.MetricsConfig}).
+ */
+@Slf4j
+@Component
+public class ProductRowLocker {
+
+    private static final String LOCK_SQL = "SELECT id, sku FROM products WHERE id IN (%s) ORDER BY id FOR UPDATE";
+    private static final int MAX_KNOWN_SKUS = 10_000;
+    private static final String TIMEOUT_APPLIED_KEY = ProductRowLocker.class.getName() + ".timeoutApplied";
+
+    public enum LockMode {
+        NONE,
+        WAIT,
+        NOWAIT
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final LockMode mode;
+    private final long timeoutMs;
+    // Só para a mensagem de erro: depois de um timeout a transação não pode mais consultar
+    private final Cache<Long, String> knownSkus = Caffeine.newBuilder().maximumSize(MAX_KNOWN_SKUS).build();
+    private volatile String databaseProduct;
+
+    public ProductRowLocker(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${stock.lock.mode:none}") String mode,
+                            @Value("${stock.lock.timeout-ms:2000}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.mode = LockMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        this.timeoutMs = timeoutMs;
+    }
+
+    public boolean isEnabled() {
+        return mode != LockMode.NONE;
+    }
+
+    public void lockInIdOrder(Collection<Long> productIds) {
+        if (!isEnabled() || productIds.isEmpty()) return;
+        lock(productIds);
+    }
+
+    /**
+     * Como {@link #lockInIdOrder}, mas trava também com {@code mode=none}. Um lote de pedidos baixa o
+     * estoque pedido a pedido, na ordem de chegada; travar antes a união dos produtos em ordem de ID
+     * mantém a mesma sequência de locks dos outros pedidos.
+     */
+    public void lockAllInIdOrder(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        lock(productIds);
+    }
+
+    private void lock(Collection<Long> productIds) {
+        applyTimeoutOnce();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(productIds));
+        String sql = LOCK_SQL.formatted(String.join(", ", Collections.nCopies(ids.size(), "?")))
+                + (mode == LockMode.NOWAIT ? " NOWAIT" : "");
+
+        long start = System.nanoTime();
+        List<String> locked = new ArrayList<>(ids.size());
+        try {
+            jdbcTemplate.query(sql, rs -> {
+                String sku = rs.getString("sku");
+                knownSkus.put(rs.getLong("id"), sku);
+                locked.add(sku);
+            }, ids.toArray());
+        } catch (PessimisticLockingFailureException | QueryTimeoutException e) {
+            // PostgreSQL sinaliza 55P03 (lock); o H2 sinaliza timeout
+            List<String> skus = ids.stream()
+                    .map(id -> Objects.requireNonNullElse(knownSkus.getIfPresent(id), String.valueOf(id)))
+                    .toList();
+            record(start, skus, "timeout");
+            log.warn("Lock dos produtos {} ({}) não obtido em modo {}", ids, skus, mode);
+            throw new StockLockUnavailableException(String.join(", ", skus));
+        }
+        record(start, locked, "acquired");
+    }
+
+    private void record(long startNanos, List<String> skus, String outcome) {
+        Duration waited = Duration.ofNanos(System.nanoTime() - startNanos);
+        for (String sku : skus) {
+            Timer.builder("stock.lock.wait")
+                    .description("Espera pelo lock das linhas dos produtos, por SKU")
+                    .tag("sku", sku)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(waited);
+        }
+    }
+
+    /**
+     * {@code SET LOCAL} vale só para a transação no PostgreSQL. No H2 o {@code LOCK_TIMEOUT} é da
+     * sessão e a conexão volta ao pool, então o valor anterior é restaurado antes do commit ou rollback.
+     */
+    private void applyTimeoutOnce() {
+        if (mode != LockMode.WAIT || !TransactionSynchronizationManager.isActualTransactionActive()) return;
+        if (TransactionSynchronizationManager.hasResource(TIMEOUT_APPLIED_KEY)) return;
+
+        Integer previousH2Timeout = null;
+        switch (databaseProduct()) {
+            case "postgresql" -> jdbcTemplate.execute("SET LOCAL lock_timeout = '" + timeoutMs + "ms'");
+            case "h2" -> {
+                previousH2Timeout = jdbcTemplate.queryForObject("SELECT LOCK_TIMEOUT()", Integer.class);
+                jdbcTemplate.execute("SET LOCK_TIMEOUT " + timeoutMs);
+            }
+            default -> log.debug("Timeout de lock não suportado para {}", databaseProduct);
+        }
+
+        Integer restoreTo = previousH2Timeout;
+        TransactionSynchronizationManager.bindResource(TIMEOUT_APPLIED_KEY, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCompletion() {
+                if (restoreTo == null) return;
+                try {
+                    jdbcTemplate.execute("SET LOCK_TIMEOUT " + restoreTo);
+                } catch (DataAccessException e) {
+                    log.warn("Falha ao restaurar o LOCK_TIMEOUT da conexão", e);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TIMEOUT_APPLIED_KEY);
+            }
+        });
+    }
+
+    private String databaseProduct() {
+        if (databaseProduct == null) {
+            databaseProduct = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT));
+        }
+        return databaseProduct;
+    }
+}
@@ -0,0 +1,52 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Uma fatia do estoque de um produto fragmentado. As baixas são feitas por {@link ProductStockShards}
+ * via JDBC; a entidade existe para o mapeamento da tabela.
+ */
+@Entity
+@Table(name = "product_stock_shards")
+@IdClass(ProductStockShardJpaEntity.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockShardJpaEntity {
+
+    @Id
+    @Column(name = "produto_id")
+    private Long produtoId;
+
+    @Id
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Integer estoque;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private Long produtoId;
+        private Integer shard;
+    }
+}
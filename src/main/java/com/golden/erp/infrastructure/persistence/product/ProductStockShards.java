@@ -0,0 +1,162 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Estoque fragmentado de produtos muito disputados. O saldo de um produto com {@code shards > 1}
+ * fica dividido em {@code product_stock_shards}; cada baixa trava apenas uma das linhas, então
+ * pedidos concorrentes do mesmo SKU deixam de se enfileirar numa única linha de {@code products}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductStockShards {
+
+    private static final String CANDIDATE_SHARDS_SQL = """
+            SELECT shard FROM product_stock_shards
+            WHERE produto_id = ? AND estoque >= ?
+            ORDER BY MOD(shard + ?, ?)""";
+    private static final String LOCK_SHARD_SQL = """
+            SELECT shard FROM product_stock_shards
+            WHERE produto_id = ? AND shard = ? AND estoque >= ?
+            FOR UPDATE SKIP LOCKED""";
+    private static final String INCREASE_SHARD_SQL =
+            "UPDATE product_stock_shards SET estoque = estoque + ? WHERE produto_id = ? AND shard = ?";
+    private static final String TAKE_FROM_SHARD_SQL =
+            "UPDATE product_stock_shards SET estoque = estoque - ? WHERE produto_id = ? AND shard = ?";
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT shard, estoque FROM product_stock_shards WHERE produto_id = ? ORDER BY shard FOR UPDATE SKIP LOCKED";
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO product_stock_shards (produto_id, shard, estoque) VALUES (?, ?, ?)";
+    private static final String DELETE_SHARDS_SQL =
+            "DELETE FROM product_stock_shards WHERE produto_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductJpaRepository jpaRepository;
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    /** Quantidade de shards por produto; produtos inexistentes ficam fora do mapa. */
+    public Map<Long, Integer> shardCounts(Collection<Long> productIds) {
+        Map<Long, Integer> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            Integer cached = shardCounts.get(productId);
+            if (cached != null) {
+                result.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Object[] row : jpaRepository.findShardsByIds(missing)) {
+                Long productId = (Long) row[0];
+                Integer shards = (Integer) row[1];
+                shardCounts.put(productId, shards);
+                result.put(productId, shards);
+            }
+        }
+        return result;
+    }
+
+    /** Relê a quantidade de shards, para quando outra instância fragmentou ou juntou o estoque. */
+    public int refresh(Long productId) {
+        shardCounts.remove(productId);
+        return shardCounts(List.of(productId)).getOrDefault(productId, 1);
+    }
+
+    public void evict(Long productId) {
+        shardCounts.remove(productId);
+    }
+
+    /**
+     * Baixa {@code quantity} de um shard com saldo, a partir de um sorteado. Se nenhum shard livre
+     * cobre a quantidade, consome de vários. As duas etapas usam {@code SKIP LOCKED}, então a baixa
+     * nunca espera por outra transação: um lote que já segura um shard não entra em deadlock com
+     * outro lote que segura o vizinho. Retorna {@code false} quando o saldo dos shards livres (mais
+     * os já travados por esta transação) não basta, mesmo que o saldo total bastasse.
+     */
+    public boolean decrease(Long productId, int shards, int quantity) {
+        Optional<Integer> shard = pickShard(productId, shards, quantity);
+        if (shard.isPresent()) {
+            jdbcTemplate.update(TAKE_FROM_SHARD_SQL, quantity, productId, shard.get());
+            return true;
+        }
+        return drain(productId, quantity);
+    }
+
+    public boolean increase(Long productId, int shards, int quantity) {
+        int shard = pickShard(productId, shards, 0)
+                .orElseGet(() -> ThreadLocalRandom.current().nextInt(shards));
+        return jdbcTemplate.update(INCREASE_SHARD_SQL, quantity, productId, shard) == 1;
+    }
+
+    /** Recria os shards do produto dividindo {@code total} igualmente; com 1 shard apenas os remove. */
+    public void replace(Long productId, int shards, int total) {
+        jdbcTemplate.update(DELETE_SHARDS_SQL, productId);
+        if (shards <= 1) return;
+
+        List<Object[]> args = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int estoque = total / shards + (shard < total % shards ? 1 : 0);
+            args.add(new Object[]{productId, shard, estoque});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, args);
+        log.debug("Estoque do produto {} dividido em {} shards ({} unidades)", productId, shards, total);
+    }
+
+    public void delete(Long productId) {
+        jdbcTemplate.update(DELETE_SHARDS_SQL, productId);
+    }
+
+    /**
+     * Trava o primeiro shard livre com saldo. Os candidatos são lidos sem lock e travados um a um:
+     * um único {@code FOR UPDATE SKIP LOCKED LIMIT 1} trava no H2 todas as linhas lidas, não só a
+     * devolvida, e bloquearia os demais shards do produto.
+     */
+    private Optional<Integer> pickShard(Long productId, int shards, int minimum) {
+        int offset = ThreadLocalRandom.current().nextInt(shards);
+        List<Integer> candidates = jdbcTemplate.queryForList(
+                CANDIDATE_SHARDS_SQL, Integer.class, productId, minimum, offset, shards);
+        for (Integer shard : candidates) {
+            if (!jdbcTemplate.queryForList(LOCK_SHARD_SQL, Integer.class, productId, shard, minimum).isEmpty()) {
+                return Optional.of(shard);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean drain(Long productId, int quantity) {
+        List<int[]> balances = jdbcTemplate.query(LOCK_SHARDS_SQL,
+                (rs, rowNum) -> new int[]{rs.getInt("shard"), rs.getInt("estoque")}, productId);
+        int total = balances.stream().mapToInt(balance -> balance[1]).sum();
+        if (total < quantity) {
+            return false;
+        }
+
+        List<Object[]> args = new ArrayList<>();
+        int remaining = quantity;
+        for (int[] balance : balances) {
+            if (remaining == 0) break;
+            int taken = Math.min(balance[1], remaining);
+            if (taken > 0) {
+                args.add(new Object[]{taken, productId, balance[0]});
+                remaining -= taken;
+            }
+        }
+        jdbcTemplate.batchUpdate(TAKE_FROM_SHARD_SQL, args);
+        return true;
+    }
+}
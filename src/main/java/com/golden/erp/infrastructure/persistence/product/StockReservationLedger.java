@@ -0,0 +1,98 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contador de estoque em memória, por produto, usado como filtro de admissão antes do
+ * {@code UPDATE} condicional em {@code products}. O banco continua sendo a fonte da verdade:
+ * o ledger nunca grava nada, apenas evita que pedidos sem saldo disputem o lock da linha.
+ * Se o processo cair, basta reconstruir os contadores a partir da tabela.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationLedger {
+
+    private final ProductJpaRepository jpaRepository;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${stock.ledger.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Reserva pela memória. Uma rejeição é sempre confirmada por uma leitura simples, sem lock, do
+     * saldo no banco: o contador pode estar defasado (ex.: estoque devolvido por outra instância)
+     * e só serve para poupar o lock da linha, nunca para recusar um pedido que o banco aceitaria.
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        if (!enabled) return true;
+
+        Entry entry = entries.get(productId);
+        if (entry == null) {
+            entry = seed(productId);
+            if (entry == null) return true;
+
+            Entry existing = entries.putIfAbsent(productId, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        if (entry.reserve(quantity)) {
+            return true;
+        }
+
+        Optional<Integer> stock = jpaRepository.findStockById(productId);
+        if (stock.isEmpty()) {
+            entries.remove(productId, entry);
+            return true;
+        }
+
+        boolean available = stock.get() >= quantity;
+        entries.replace(productId, entry, new Entry(available ? stock.get() - quantity : stock.get()));
+        return available;
+    }
+
+    public void release(Long productId, int quantity) {
+        Entry entry = entries.get(productId);
+        if (entry != null) {
+            entry.available.addAndGet(quantity);
+        }
+    }
+
+    public void evict(Long productId) {
+        entries.remove(productId);
+    }
+
+    private Entry seed(Long productId) {
+        Optional<Integer> stock = jpaRepository.findStockById(productId);
+        log.debug("Ledger de estoque carregado para produto {}: {}", productId, stock.orElse(null));
+        return stock.map(Entry::new).orElse(null);
+    }
+
+    private static final class Entry {
+
+        private final AtomicInteger available;
+
+        private Entry(int stock) {
+            this.available = new AtomicInteger(stock);
+        }
+
+        private boolean reserve(int quantity) {
+            int current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -52,10 +53,16 @@ public class CustomerController {
     @Operation(summary = "Buscar cliente por ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cliente encontrado"),
+            @ApiResponse(responseCode = "304", description = "Cliente não mudou desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
     })
-    public ResponseEntity<CustomerResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(customerService.findById(id));
+    public ResponseEntity<CustomerResponse> findById(@PathVariable Long id, WebRequest request) {
+        // Com If-None-Match igual à versão atual, responde 304 sem montar o CustomerResponse
+        String version = customerService.findVersion(id);
+        if (request.checkNotModified(version)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(version).body(customerService.findById(id));
     }
 
     @GetMapping
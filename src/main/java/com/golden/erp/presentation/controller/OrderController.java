@@ -1,8 +1,17 @@
 package com.golden.erp.presentation.controller;
 
+import com.golden.erp.application.order.dto.CreateOrderBatchRequest;
 import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderBatchResponse;
+import com.golden.erp.application.order.dto.OrderCursorPage;
+import com.golden.erp.application.order.dto.OrderExportFormat;
+import com.golden.erp.application.order.dto.OrderIntakeResponse;
 import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.dto.OrderSummaryResponse;
 import com.golden.erp.application.order.dto.OrderUsdResponse;
+import com.golden.erp.application.order.service.OrderCreateBatcher;
+import com.golden.erp.application.order.service.OrderExportService;
+import com.golden.erp.application.order.service.OrderIntakeService;
 import com.golden.erp.application.order.service.OrderServiceImpl;
 import com.golden.erp.domain.order.valueobject.OrderStatus;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +19,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
@@ -17,6 +27,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,9 +36,16 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -35,28 +54,77 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
     private final OrderServiceImpl orderService;
+    private final OrderIntakeService intakeService;
+    private final OrderCreateBatcher orderCreateBatcher;
+    private final OrderExportService exportService;
 
     @PostMapping
-    @Operation(summary = "Criar pedido", description = "Cria um pedido para um cliente com lista de itens. Baixa o estoque automaticamente. Rejeita com 422 se estoque insuficiente.")
+    @Operation(summary = "Criar pedido", description = "Cria um pedido para um cliente com lista de itens. Baixa o estoque automaticamente. Rejeita com 422 se estoque insuficiente. Com o header Idempotency-Key, retentativas com a mesma chave e o mesmo corpo devolvem o pedido já criado sem baixar o estoque de novo; a mesma chave com outro corpo é rejeitada com 422.")
     @ApiResponses({
-            @ApiResponse(responseCode = "201", description = "Pedido criado com sucesso"),
+            @ApiResponse(responseCode = "201", description = "Pedido criado com sucesso (ou já criado com a mesma Idempotency-Key)"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
             @ApiResponse(responseCode = "404", description = "Cliente ou produto não encontrado"),
-            @ApiResponse(responseCode = "422", description = "Estoque insuficiente")
+            @ApiResponse(responseCode = "409", description = "Requisição concorrente com a mesma Idempotency-Key"),
+            @ApiResponse(responseCode = "422", description = "Estoque insuficiente ou Idempotency-Key reaproveitada com outro corpo")
     })
-    public ResponseEntity<OrderResponse> create(@Valid @RequestBody CreateOrderRequest request) {
-        OrderResponse response = orderService.create(request);
+    public ResponseEntity<OrderResponse> create(
+            @Parameter(description = "Chave única gerada pelo cliente para deduplicar retentativas (máx. 255 caracteres)")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequest request) {
+        OrderResponse response = orderCreateBatcher.create(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/async")
+    @Operation(summary = "Criar pedido de forma assíncrona", description = "Valida a requisição, grava a solicitação na fila de entrada e responde 202 com a URL de status no header Location. O pedido é criado por workers em segundo plano; consulte o status até DONE (com pedidoId) ou FAILED (com erro).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Solicitação aceita para processamento"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+    })
+    public ResponseEntity<OrderIntakeResponse> createAsync(@Valid @RequestBody CreateOrderRequest request) {
+        OrderIntakeResponse response = intakeService.submit(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/orders/intake/{id}")
+                .buildAndExpand(response.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    @GetMapping("/intake/{id}")
+    @Operation(summary = "Consultar solicitação assíncrona", description = "Status de uma solicitação criada por POST /api/orders/async: PENDING, PROCESSING, DONE ou FAILED.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Solicitação encontrada"),
+            @ApiResponse(responseCode = "404", description = "Solicitação não encontrada")
+    })
+    public ResponseEntity<OrderIntakeResponse> findIntake(@PathVariable Long id) {
+        return ResponseEntity.ok(intakeService.findById(id));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Criar pedidos em lote", description = "Cria até 500 pedidos em uma única requisição. Clientes e produtos são carregados de uma vez e os pedidos aceitos são gravados juntos. Cada pedido é validado isoladamente: falhas (cliente/produto inexistente, estoque insuficiente) são reportadas por índice sem impedir os demais.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado; verifique o resultado de cada pedido"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou lote acima do limite")
+    })
+    public ResponseEntity<OrderBatchResponse> createBatch(@Valid @RequestBody CreateOrderBatchRequest request) {
+        return ResponseEntity.ok(orderService.createBatch(request));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar pedido por ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Pedido encontrado"),
+            @ApiResponse(responseCode = "304", description = "Pedido não mudou desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
     })
-    public ResponseEntity<OrderResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.findById(id));
+    public ResponseEntity<OrderResponse> findById(@PathVariable Long id, WebRequest request) {
+        // Com If-None-Match igual à versão atual, responde 304 sem montar o OrderResponse
+        String version = orderService.findVersion(id);
+        if (request.checkNotModified(version)) {
+            return null;
+        }
+        // O cache só responde se estiver nessa versão, para o corpo não ficar atrás do ETag
+        return ResponseEntity.ok().eTag(version).body(orderService.findById(id, version));
     }
 
     @GetMapping
@@ -68,6 +136,45 @@ public class OrderController {
         return ResponseEntity.ok(orderService.findAll(status, clienteId, pageable));
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Exportar pedidos", description = "Exporta todos os pedidos que atendem aos filtros, com itens, em streaming. NDJSON traz um pedido por linha; CSV traz uma linha por item, repetindo os dados do pedido. A resposta é escrita enquanto o banco é lido, sem paginação e sem acumular o resultado em memória.")
+    public void export(
+            @Parameter(description = "Formato: NDJSON ou CSV") @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+            @Parameter(description = "Filtrar por status: CREATED, PAID, CANCELLED, LATE") @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Filtrar por ID do cliente") @RequestParam(required = false) Long clienteId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("pedidos." + format.getExtension())
+                .build()
+                .toString());
+        exportService.export(status, clienteId, format, response.getOutputStream());
+    }
+
+    @GetMapping(params = {"view=summary", "!cursor"})
+    @Operation(summary = "Listar pedidos (resumo)", description = "Modo resumido de GET /api/orders, ativado por view=summary. Devolve apenas id, cliente, status, quantidade de itens, total e datas, calculados direto na consulta e sem carregar os itens. Aceita os mesmos filtros, paginação e ordenação da listagem completa. Não se combina com cursor: com o parâmetro cursor, vale a paginação por cursor.")
+    public ResponseEntity<Page<OrderSummaryResponse>> findAllSummaries(
+            @Parameter(description = "Filtrar por status: CREATED, PAID, CANCELLED, LATE") @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Filtrar por ID do cliente") @RequestParam(required = false) Long clienteId,
+            @ParameterObject @PageableDefault(sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(orderService.findAllSummaries(status, clienteId, pageable));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Listar pedidos por cursor", description = "Modo de paginação por cursor de GET /api/orders, ativado pelo parâmetro cursor (vazio na primeira página). Ordena por dataCriacao e id decrescentes, não conta o total e custa o mesmo em qualquer profundidade. Para a próxima página, envie o nextCursor recebido.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de pedidos"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    public ResponseEntity<OrderCursorPage> findAllByCursor(
+            @Parameter(description = "Cursor devolvido em nextCursor; vazio para a primeira página") @RequestParam String cursor,
+            @Parameter(description = "Quantidade de pedidos por página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Filtrar por status: CREATED, PAID, CANCELLED, LATE") @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Filtrar por ID do cliente") @RequestParam(required = false) Long clienteId) {
+        return ResponseEntity.ok(orderService.findAllByCursor(status, clienteId, cursor, size));
+    }
+
     @PatchMapping("/{id}/pay")
     @Operation(summary = "Pagar pedido", description = "Altera o status do pedido para PAID. Aceita pedidos com status CREATED ou LATE.")
     @ApiResponses({
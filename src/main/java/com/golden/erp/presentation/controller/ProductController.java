@@ -27,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/products")
@@ -52,10 +53,16 @@ public class ProductController {
     @Operation(summary = "Buscar produto por ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Produto encontrado"),
+            @ApiResponse(responseCode = "304", description = "Produto não mudou desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
-    public ResponseEntity<ProductResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findById(id));
+    public ResponseEntity<ProductResponse> findById(@PathVariable Long id, WebRequest request) {
+        // Com If-None-Match igual à versão atual, responde 304 sem montar o ProductResponse
+        String version = productService.findVersion(id);
+        if (request.checkNotModified(version)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(version).body(productService.findById(id));
     }
 
     @GetMapping
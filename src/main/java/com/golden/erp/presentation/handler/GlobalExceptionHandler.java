@@ -3,10 +3,16 @@ package com.golden.erp.presentation.handler;
 import com.golden.erp.domain.exception.DomainException;
 import com.golden.erp.domain.exception.DuplicateFieldException;
 import com.golden.erp.domain.exception.EntityNotFoundException;
+import com.golden.erp.domain.exception.IdempotencyKeyReuseException;
 import com.golden.erp.domain.exception.InsufficientStockException;
 import com.golden.erp.domain.exception.InvalidOrderStateException;
+import com.golden.erp.domain.exception.StockBusyException;
+import com.golden.erp.domain.exception.StockLockUnavailableException;
 import com.golden.erp.presentation.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -14,6 +20,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +28,9 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /** SQLState padrão de chave única duplicada (PostgreSQL e H2). */
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(EntityNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -39,6 +49,33 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    /**
+     * Violação de integridade que o repositório não traduziu. Só chave única duplicada vira 409;
+     * as demais (nulo, chave estrangeira, check) indicam erro do sistema e seguem como 500.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex) {
+        if (!isUniqueViolation(ex)) {
+            return handleGeneric(ex);
+        }
+        log.warn("Violação de integridade: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.builder()
+                        .status(HttpStatus.CONFLICT.value())
+                        .message("Registro conflita com dados já existentes")
+                        .build());
+    }
+
+    @ExceptionHandler({StockLockUnavailableException.class, StockBusyException.class})
+    public ResponseEntity<ErrorResponse> handleStockLockUnavailable(DomainException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.builder()
+                        .status(HttpStatus.CONFLICT.value())
+                        .message(ex.getMessage())
+                        .build());
+    }
+
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException ex) {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
@@ -48,6 +85,15 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ErrorResponse.builder()
+                        .status(HttpStatus.UNPROCESSABLE_ENTITY.value())
+                        .message(ex.getMessage())
+                        .build());
+    }
+
     @ExceptionHandler(InvalidOrderStateException.class)
     public ResponseEntity<ErrorResponse> handleInvalidOrderState(InvalidOrderStateException ex) {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
@@ -83,6 +129,18 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    private static boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION_SQL_STATE.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
         log.error("Erro inesperado: ", ex);
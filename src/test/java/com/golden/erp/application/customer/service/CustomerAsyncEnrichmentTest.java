@@ -0,0 +1,129 @@
+package com.golden.erp.application.customer.service;
+
+import com.golden.erp.application.customer.dto.AddressRequest;
+import com.golden.erp.application.customer.dto.CreateCustomerRequest;
+import com.golden.erp.application.customer.dto.CustomerResponse;
+import com.golden.erp.application.customer.dto.UpdateCustomerRequest;
+import com.golden.erp.application.customer.port.AddressLookupPort;
+import com.golden.erp.application.scheduler.CustomerEnrichmentWorker;
+import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.infrastructure.config.CustomerEnrichmentConfig;
+import com.golden.erp.infrastructure.persistence.customer.CustomerJpaEntity;
+import com.golden.erp.infrastructure.persistence.customer.CustomerJpaRepository;
+import com.golden.erp.infrastructure.persistence.customer.CustomerMapper;
+import com.golden.erp.infrastructure.persistence.customer.CustomerRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Enriquecimento assíncrono de endereço: o cliente é gravado sem consultar o CEP e o worker
+ * preenche o endereço depois, chamando o ViaCEP sem transação aberta. O agendamento fica espaçado
+ * para que só as chamadas explícitas a {@code poll()} consultem o CEP.
+ */
+@DataJpaTest(properties = {"customers.enrichment.async=true", "customers.enrichment.poll-interval-ms=3600000"})
+@ActiveProfiles("test")
+@Import({CustomerServiceImpl.class, CustomerEnrichmentService.class, CustomerEnrichmentWorker.class,
+        CustomerEnrichmentConfig.class, CustomerRepositoryImpl.class, CustomerMapper.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerAsyncEnrichmentTest {
+
+    private static final Address SE = Address.builder()
+            .logradouro("Praça da Sé").bairro("Sé").cidade("São Paulo").uf("SP").cep("01001000")
+            .build();
+
+    @MockitoBean
+    private AddressLookupPort addressLookupPort;
+
+    @Autowired
+    private CustomerServiceImpl customerService;
+
+    @Autowired
+    private CustomerEnrichmentWorker worker;
+
+    @Autowired
+    private CustomerJpaRepository jpaRepository;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o cliente sem consultar o CEP e completar o endereço em segundo plano")
+    void shouldEnrichAfterCommit() throws Exception {
+        CustomerResponse created = customerService.create(request("01001000"));
+
+        assertThat(created.isEnderecoPendente()).isTrue();
+        verifyNoInteractions(addressLookupPort);
+
+        AtomicBoolean lookupInTransaction = new AtomicBoolean(true);
+        when(addressLookupPort.lookup("01001000")).thenAnswer(invocation -> {
+            lookupInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return SE;
+        });
+
+        CustomerJpaEntity saved = pollUntilEnriched(created.getId());
+        assertThat(lookupInTransaction).isFalse();
+        assertThat(saved.getEnriquecimentoPendente()).isFalse();
+        assertThat(saved.getLogradouro()).isEqualTo("Praça da Sé");
+        assertThat(saved.getCidade()).isEqualTo("São Paulo");
+        assertThat(saved.getNumero()).isEqualTo("100");
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever o endereço alterado durante a consulta ao CEP")
+    void shouldNotOverwriteAddressChangedDuringLookup() throws Exception {
+        CustomerResponse created = customerService.create(request("01001000"));
+        when(addressLookupPort.lookup("01001000")).thenAnswer(invocation -> {
+            customerService.update(created.getId(), UpdateCustomerRequest.builder()
+                    .nome("Cliente").email("cliente@email.com").cpf("00000000001")
+                    .endereco(AddressRequest.builder()
+                            .logradouro("Avenida Paulista").bairro("Bela Vista").cidade("São Paulo").uf("SP")
+                            .numero("1000").cep("01310100")
+                            .build())
+                    .build());
+            return SE;
+        });
+
+        CustomerJpaEntity saved = pollUntilEnriched(created.getId());
+        assertThat(saved.getEnriquecimentoPendente()).isFalse();
+        assertThat(saved.getLogradouro()).isEqualTo("Avenida Paulista");
+        assertThat(saved.getBairro()).isEqualTo("Bela Vista");
+    }
+
+    /** O {@code poll()} só entrega os clientes ao executor; espera o worker gravar o resultado. */
+    private CustomerJpaEntity pollUntilEnriched(Long id) throws InterruptedException {
+        worker.poll();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        CustomerJpaEntity saved = jpaRepository.findById(id).orElseThrow();
+        while (Boolean.TRUE.equals(saved.getEnriquecimentoPendente()) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+            saved = jpaRepository.findById(id).orElseThrow();
+        }
+        return saved;
+    }
+
+    private CreateCustomerRequest request(String cep) {
+        return CreateCustomerRequest.builder()
+                .nome("Cliente").email("cliente@email.com").cpf("00000000001")
+                .endereco(AddressRequest.builder().numero("100").cep(cep).build())
+                .build();
+    }
+}
@@ -15,7 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -29,7 +29,6 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -44,13 +43,13 @@ class CustomerServiceImplTest {
     @Mock
     private AddressLookupPort addressLookupPort;
 
-    @InjectMocks
     private CustomerServiceImpl customerService;
 
     private Customer sampleCustomer;
 
     @BeforeEach
     void setUp() {
+        customerService = new CustomerServiceImpl(customerRepository, addressLookupPort, false);
         sampleCustomer = Customer.builder()
                 .id(1L)
                 .nome("João Silva")
@@ -87,9 +86,6 @@ class CustomerServiceImplTest {
                             .cep("01001000")
                             .build())
                     .build();
-
-            when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-            when(customerRepository.existsByCpf(anyString())).thenReturn(false);
             when(customerRepository.save(any(Customer.class))).thenReturn(sampleCustomer);
 
             CustomerResponse response = customerService.create(request);
@@ -120,9 +116,6 @@ class CustomerServiceImplTest {
                     .uf("SP")
                     .cep("01001000")
                     .build();
-
-            when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-            when(customerRepository.existsByCpf(anyString())).thenReturn(false);
             when(addressLookupPort.lookup("01001000")).thenReturn(viaCepAddress);
             when(customerRepository.save(any(Customer.class))).thenReturn(sampleCustomer);
 
@@ -141,7 +134,8 @@ class CustomerServiceImplTest {
                     .cpf("12345678901")
                     .build();
 
-            when(customerRepository.existsByEmail("joao@email.com")).thenReturn(true);
+            when(customerRepository.save(any(Customer.class)))
+                    .thenThrow(new DuplicateFieldException("email", "joao@email.com"));
 
             assertThatThrownBy(() -> customerService.create(request))
                     .isInstanceOf(DuplicateFieldException.class)
@@ -156,9 +150,8 @@ class CustomerServiceImplTest {
                     .email("joao@email.com")
                     .cpf("12345678901")
                     .build();
-
-            when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-            when(customerRepository.existsByCpf("12345678901")).thenReturn(true);
+            when(customerRepository.save(any(Customer.class)))
+                    .thenThrow(new DuplicateFieldException("cpf", "12345678901"));
 
             assertThatThrownBy(() -> customerService.create(request))
                     .isInstanceOf(DuplicateFieldException.class)
@@ -190,6 +183,24 @@ class CustomerServiceImplTest {
                     .isInstanceOf(EntityNotFoundException.class);
         }
 
+        @Test
+        @DisplayName("Deve retornar a versão do cliente sem carregar a entidade")
+        void shouldFindVersion() {
+            when(customerRepository.findVersionById(1L)).thenReturn(Optional.of("k3x9a1"));
+
+            assertThat(customerService.findVersion(1L)).isEqualTo("k3x9a1");
+            verify(customerRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao buscar a versão de cliente inexistente")
+        void shouldThrowWhenVersionNotFound() {
+            when(customerRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> customerService.findVersion(99L))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+
         @Test
         @DisplayName("Deve retornar lista paginada de clientes")
         void shouldFindAllPaginated() {
@@ -225,8 +236,6 @@ class CustomerServiceImplTest {
                     .build();
 
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-            when(customerRepository.existsByEmailAndIdNot("joao@email.com", 1L)).thenReturn(false);
-            when(customerRepository.existsByCpfAndIdNot("12345678901", 1L)).thenReturn(false);
             when(customerRepository.save(any(Customer.class))).thenReturn(updatedCustomer);
 
             CustomerResponse response = customerService.update(1L, request);
@@ -250,6 +259,60 @@ class CustomerServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Enriquecimento assíncrono")
+    class AsyncEnrichment {
+
+        private CustomerServiceImpl asyncService;
+
+        @BeforeEach
+        void setUp() {
+            asyncService = new CustomerServiceImpl(customerRepository, addressLookupPort, true);
+        }
+
+        @Test
+        @DisplayName("Deve gravar o cliente como pendente sem consultar o CEP")
+        void shouldSavePendingWithoutLookup() {
+            CreateCustomerRequest request = CreateCustomerRequest.builder()
+                    .nome("João Silva")
+                    .email("joao@email.com")
+                    .cpf("12345678901")
+                    .endereco(AddressRequest.builder().numero("100").cep("01001000").build())
+                    .build();
+            when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            CustomerResponse response = asyncService.create(request);
+
+            ArgumentCaptor<Customer> saved = ArgumentCaptor.forClass(Customer.class);
+            verify(customerRepository).save(saved.capture());
+            assertThat(saved.getValue().isEnriquecimentoPendente()).isTrue();
+            assertThat(saved.getValue().getEndereco().getNumero()).isEqualTo("100");
+            assertThat(response.isEnderecoPendente()).isTrue();
+            verify(addressLookupPort, never()).lookup(any());
+        }
+
+        @Test
+        @DisplayName("Não deve marcar como pendente um endereço já completo")
+        void shouldNotMarkCompleteAddress() {
+            UpdateCustomerRequest request = UpdateCustomerRequest.builder()
+                    .nome("João Silva")
+                    .email("joao@email.com")
+                    .cpf("12345678901")
+                    .endereco(AddressRequest.builder()
+                            .logradouro("Rua A").bairro("Centro").cidade("São Paulo").uf("SP").cep("01001000")
+                            .build())
+                    .build();
+            sampleCustomer.setEnriquecimentoPendente(true);
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            CustomerResponse response = asyncService.update(1L, request);
+
+            assertThat(response.isEnderecoPendente()).isFalse();
+            verify(addressLookupPort, never()).lookup(any());
+        }
+    }
+
     @Nested
     @DisplayName("Deletar Cliente")
     class DeleteCustomer {
@@ -0,0 +1,124 @@
+package com.golden.erp.application.customer.service;
+
+import com.golden.erp.application.customer.dto.CreateCustomerRequest;
+import com.golden.erp.application.customer.dto.CustomerResponse;
+import com.golden.erp.application.customer.dto.UpdateCustomerRequest;
+import com.golden.erp.application.customer.port.AddressLookupPort;
+import com.golden.erp.domain.exception.DuplicateFieldException;
+import com.golden.erp.infrastructure.persistence.customer.CustomerJpaRepository;
+import com.golden.erp.infrastructure.persistence.customer.CustomerMapper;
+import com.golden.erp.infrastructure.persistence.customer.CustomerRepositoryImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unicidade de e-mail e CPF garantida pelos índices únicos do banco: o insert é o único statement
+ * da criação, e a violação chega ao chamador como {@link DuplicateFieldException}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({CustomerServiceImpl.class, CustomerRepositoryImpl.class, CustomerMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerUniquenessTest {
+
+    @MockitoBean
+    private AddressLookupPort addressLookupPort;
+
+    @Autowired
+    private CustomerServiceImpl customerService;
+
+    @Autowired
+    private CustomerJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve criar cliente com um único statement")
+    void shouldCreateWithSingleStatement() {
+        customerService.create(request("primeiro@email.com", "00000000001"));
+        Statistics statistics = statistics();
+
+        customerService.create(request("segundo@email.com", "00000000002"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar e-mail repetido pelo índice único")
+    void shouldRejectDuplicateEmail() {
+        customerService.create(request("joao@email.com", "00000000001"));
+
+        assertThatThrownBy(() -> customerService.create(request("joao@email.com", "00000000002")))
+                .isInstanceOf(DuplicateFieldException.class)
+                .hasMessageContaining("email");
+        assertThat(jpaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CPF repetido pelo índice único")
+    void shouldRejectDuplicateCpf() {
+        customerService.create(request("joao@email.com", "00000000001"));
+
+        assertThatThrownBy(() -> customerService.create(request("maria@email.com", "00000000001")))
+                .isInstanceOf(DuplicateFieldException.class)
+                .hasMessageContaining("cpf");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar atualização para o e-mail de outro cliente")
+    void shouldRejectUpdateToAnotherCustomersEmail() {
+        customerService.create(request("joao@email.com", "00000000001"));
+        CustomerResponse maria = customerService.create(request("maria@email.com", "00000000002"));
+
+        UpdateCustomerRequest update = UpdateCustomerRequest.builder()
+                .nome("Maria").email("joao@email.com").cpf("00000000002")
+                .build();
+
+        assertThatThrownBy(() -> customerService.update(maria.getId(), update))
+                .isInstanceOf(DuplicateFieldException.class)
+                .hasMessageContaining("email");
+        assertThat(jpaRepository.findById(maria.getId()).orElseThrow().getEmail()).isEqualTo("maria@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve permitir atualizar mantendo o próprio e-mail e CPF")
+    void shouldAllowUpdateKeepingOwnEmailAndCpf() {
+        CustomerResponse joao = customerService.create(request("joao@email.com", "00000000001"));
+
+        UpdateCustomerRequest update = UpdateCustomerRequest.builder()
+                .nome("João Atualizado").email("joao@email.com").cpf("00000000001")
+                .build();
+
+        assertThat(customerService.update(joao.getId(), update).getNome()).isEqualTo("João Atualizado");
+    }
+
+    private CreateCustomerRequest request(String email, String cpf) {
+        return CreateCustomerRequest.builder().nome("Cliente").email(email).cpf(cpf).build();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,205 @@
+package com.golden.erp.application.order.service;
+
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderItemRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.domain.exception.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreateBatcherTest {
+
+    @Mock
+    private OrderServiceImpl orderService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderCreateBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    private OrderCreateBatcher startBatcher(boolean enabled, long maxWaitMs) {
+        return startBatcher(enabled, maxWaitMs, 10_000);
+    }
+
+    private OrderCreateBatcher startBatcher(boolean enabled, long maxWaitMs, long resultTimeoutMs) {
+        batcher = new OrderCreateBatcher(orderService, meterRegistry, enabled, 50, maxWaitMs, 1000, resultTimeoutMs);
+        batcher.start();
+        return batcher;
+    }
+
+    private CreateOrderRequest request(long clienteId) {
+        return CreateOrderRequest.builder()
+                .clienteId(clienteId)
+                .itens(List.of(OrderItemRequest.builder().produtoId(1L).quantidade(1).build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar criações concorrentes em poucas transações")
+    void shouldGroupConcurrentCreates() throws Exception {
+        startBatcher(true, 50);
+        when(orderService.createAll(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderRequest> pedidos = invocation.getArgument(0);
+            return pedidos.stream()
+                    .map(p -> OrderCreationResult.success(OrderResponse.builder().clienteId(p.getClienteId()).build()))
+                    .toList();
+        });
+
+        int callers = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                long clienteId = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return batcher.create(request(clienteId), null);
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < callers; i++) {
+                assertThat(futures.get(i).get(10, TimeUnit.SECONDS).getClienteId()).isEqualTo(i);
+            }
+        }
+
+        double commits = meterRegistry.counter("orders.batching.commits").count();
+        assertThat(meterRegistry.counter("orders.batching.orders").count()).isEqualTo(callers);
+        assertThat(commits).isLessThan(callers);
+        verify(orderService, never()).create(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve entregar a cada chamador a própria exceção de domínio")
+    void shouldPropagateCallerException() {
+        startBatcher(true, 1);
+        InsufficientStockException error = new InsufficientStockException("Camiseta", 0, 1);
+        when(orderService.createAll(anyList())).thenReturn(List.of(OrderCreationResult.failure(error)));
+
+        assertThatThrownBy(() -> batcher.create(request(1L), null)).isSameAs(error);
+    }
+
+    @Test
+    @DisplayName("Deve refazer cada pedido sozinho quando a transação do lote falha")
+    void shouldRetryEachOrderAloneOnTransactionError() throws Exception {
+        startBatcher(true, 200);
+        CreateOrderRequest accepted = request(1L);
+        CreateOrderRequest rejected = request(2L);
+        OrderResponse created = OrderResponse.builder().clienteId(1L).build();
+        InsufficientStockException error = new InsufficientStockException("Camiseta", 0, 1);
+        when(orderService.createAll(anyList())).thenThrow(new IllegalStateException("conexão perdida"));
+        when(orderService.create(accepted, null)).thenReturn(created);
+        when(orderService.create(rejected, null)).thenThrow(error);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<OrderResponse> first = executor.submit(() -> batcher.create(accepted, null));
+            Future<OrderResponse> second = executor.submit(() -> batcher.create(rejected, null));
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(created);
+            assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS)).hasCause(error);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve falhar os chamadores e seguir consumindo quando o lote lança um Error")
+    void shouldFailCallersOnError() {
+        startBatcher(true, 1);
+        CreateOrderRequest request = request(1L);
+        OrderResponse created = OrderResponse.builder().clienteId(1L).build();
+        when(orderService.createAll(anyList()))
+                .thenThrow(new AssertionError("falha fatal"))
+                .thenReturn(List.of(OrderCreationResult.success(created)));
+
+        assertThatThrownBy(() -> batcher.create(request, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+        assertThat(batcher.create(request, null)).isSameAs(created);
+    }
+
+    @Test
+    @DisplayName("Deve seguir pelo caminho direto quando o pedido não entrou num lote a tempo")
+    void shouldFallBackToDirectPathWhenNotBatchedInTime() throws Exception {
+        startBatcher(true, 1, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        CreateOrderRequest first = request(1L);
+        CreateOrderRequest second = request(2L);
+        OrderResponse direct = OrderResponse.builder().clienteId(2L).build();
+        when(orderService.createAll(anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(OrderCreationResult.success(OrderResponse.builder().clienteId(1L).build()));
+        });
+        when(orderService.create(second, null)).thenReturn(direct);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<OrderResponse> blocked = executor.submit(() -> batcher.create(first, null));
+            verify(orderService, timeout(5_000)).createAll(anyList());
+
+            assertThat(batcher.create(second, null)).isSameAs(direct);
+            assertThatThrownBy(() -> blocked.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve usar o caminho direto depois de parar")
+    void shouldUseDirectPathAfterStop() throws Exception {
+        startBatcher(true, 5).stop();
+        CreateOrderRequest request = request(1L);
+
+        batcher.create(request, null);
+
+        verify(orderService).create(request, null);
+        verify(orderService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve usar o caminho direto quando desabilitado")
+    void shouldUseDirectPathWhenDisabled() {
+        startBatcher(false, 5);
+        CreateOrderRequest request = request(1L);
+
+        batcher.create(request, null);
+
+        verify(orderService).create(request, null);
+        verify(orderService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve usar o caminho direto para requisições com Idempotency-Key")
+    void shouldUseDirectPathWithIdempotencyKey() {
+        startBatcher(true, 5);
+        CreateOrderRequest request = request(1L);
+
+        batcher.create(request, "chave-1");
+
+        verify(orderService).create(request, "chave-1");
+        verify(orderService, never()).createAll(anyList());
+    }
+}
@@ -0,0 +1,202 @@
+package com.golden.erp.application.order.service;
+
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderItemRequest;
+import com.golden.erp.application.order.port.ExchangeRatePort;
+import com.golden.erp.application.order.port.OrderIdempotencyPort;
+import com.golden.erp.domain.exception.InsufficientStockException;
+import com.golden.erp.infrastructure.persistence.customer.CustomerJpaEntity;
+import com.golden.erp.infrastructure.persistence.customer.CustomerJpaRepository;
+import com.golden.erp.infrastructure.persistence.customer.CustomerMapper;
+import com.golden.erp.infrastructure.persistence.customer.CustomerRepositoryImpl;
+import com.golden.erp.infrastructure.persistence.order.OrderCacheAdapter;
+import com.golden.erp.infrastructure.persistence.order.OrderJpaRepository;
+import com.golden.erp.infrastructure.persistence.order.OrderMapper;
+import com.golden.erp.infrastructure.persistence.order.OrderRepositoryImpl;
+import com.golden.erp.infrastructure.persistence.order.OrderSummaryAdapter;
+import com.golden.erp.infrastructure.persistence.product.ProductCatalogCache;
+import com.golden.erp.infrastructure.persistence.product.ProductJpaEntity;
+import com.golden.erp.infrastructure.persistence.product.ProductJpaRepository;
+import com.golden.erp.infrastructure.persistence.product.ProductMapper;
+import com.golden.erp.infrastructure.persistence.product.ProductRepositoryImpl;
+import com.golden.erp.infrastructure.persistence.product.ProductRowLocker;
+import com.golden.erp.infrastructure.persistence.product.ProductStockShards;
+import com.golden.erp.infrastructure.persistence.product.StockReservationLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o caminho direto (uma transação por pedido) com o micro-batching: loga pedidos/s e
+ * commits/s de cada modo e verifica que nenhum dos dois vende além do estoque.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({OrderServiceImpl.class,
+        OrderRepositoryImpl.class, OrderMapper.class, OrderSummaryAdapter.class, OrderCacheAdapter.class,
+        CustomerRepositoryImpl.class, CustomerMapper.class,
+        ProductRepositoryImpl.class, ProductMapper.class, StockReservationLedger.class,
+        ProductRowLocker.class, ProductStockShards.class, ProductCatalogCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderCreateBatchingBenchmarkTest {
+
+    private static final int CALLERS = 32;
+    private static final int ORDERS_PER_CALLER = 25;
+
+    @MockitoBean
+    private ExchangeRatePort exchangeRatePort;
+
+    @MockitoBean
+    private OrderIdempotencyPort idempotencyPort;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private CustomerJpaRepository customerJpaRepository;
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private OrderCreateBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (batcher != null) {
+            batcher.stop();
+        }
+        orderJpaRepository.deleteAll();
+        productJpaRepository.deleteAll();
+        customerJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Micro-batching deve gravar os mesmos pedidos com muito menos commits")
+    void shouldCommitLessWithBatching() throws Exception {
+        int orders = CALLERS * ORDERS_PER_CALLER;
+        Fixture direct = fixture("BENCH-DIRETO", orders);
+        RunResult directRun = run("direto", direct, request -> orderService.create(request, null));
+
+        Fixture batched = fixture("BENCH-LOTE", orders);
+        batcher = new OrderCreateBatcher(orderService, new SimpleMeterRegistry(), true, 50, 5, 5_000, 30_000);
+        batcher.start();
+        RunResult batchedRun = run("micro-batching", batched, request -> batcher.create(request, null));
+
+        assertThat(directRun.created()).isEqualTo(orders);
+        assertThat(batchedRun.created()).isEqualTo(orders);
+        assertThat(stockOf(direct.productId())).isZero();
+        assertThat(stockOf(batched.productId())).isZero();
+        assertThat(batchedRun.commits()).isLessThan(directRun.commits());
+    }
+
+    @Test
+    @DisplayName("Micro-batching deve rejeitar individualmente os pedidos sem estoque")
+    void shouldRejectIndividuallyWhenStockRunsOut() throws Exception {
+        Fixture fixture = fixture("BENCH-ESCASSO", 100);
+        batcher = new OrderCreateBatcher(orderService, new SimpleMeterRegistry(), true, 50, 5, 5_000, 30_000);
+        batcher.start();
+
+        RunResult result = run("micro-batching (escasso)", fixture, request -> batcher.create(request, null));
+
+        assertThat(result.created()).isEqualTo(100);
+        assertThat(result.rejected()).isEqualTo(CALLERS * ORDERS_PER_CALLER - 100);
+        assertThat(stockOf(fixture.productId())).isZero();
+    }
+
+    private RunResult run(String label, Fixture fixture, Function<CreateOrderRequest, ?> create) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .clienteId(fixture.customerId())
+                .itens(List.of(OrderItemRequest.builder().produtoId(fixture.productId()).quantidade(1).build()))
+                .build();
+
+        long begin;
+        try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+            for (int t = 0; t < CALLERS; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ORDERS_PER_CALLER; i++) {
+                        try {
+                            create.apply(request);
+                            created.incrementAndGet();
+                        } catch (InsufficientStockException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            begin = System.nanoTime();
+            start.countDown();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+
+        long commits = statistics.getSuccessfulTransactionCount();
+        int attempts = CALLERS * ORDERS_PER_CALLER;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("Benchmark ({}): {} pedidos em {} ms -> {} pedidos/s, {} commits ({} commits/s, {} pedidos/commit)",
+                label, attempts, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(attempts / seconds), commits, Math.round(commits / seconds),
+                String.format("%.1f", attempts / (double) Math.max(commits, 1)));
+        return new RunResult(created.get(), rejected.get(), commits);
+    }
+
+    private Fixture fixture(String sku, int stock) {
+        Long productId = productJpaRepository.save(ProductJpaEntity.builder()
+                .sku(sku).nome("Produto " + sku)
+                .precoBruto(new BigDecimal("10.00")).estoque(stock).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        Long customerId = customerJpaRepository.save(CustomerJpaEntity.builder()
+                .nome("Cliente " + sku).email(sku.toLowerCase() + "@email.com").cpf(cpfFor(sku))
+                .build()).getId();
+        return new Fixture(productId, customerId);
+    }
+
+    private String cpfFor(String sku) {
+        return String.format("%011d", Math.abs(sku.hashCode()) % 100_000_000_000L);
+    }
+
+    private int stockOf(Long productId) {
+        return productJpaRepository.findById(productId).orElseThrow().getEstoque();
+    }
+
+    private record Fixture(Long productId, Long customerId) {
+    }
+
+    private record RunResult(int created, int rejected, long commits) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.golden.erp.application.order.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.golden.erp.application.order.dto.OrderExportFormat;
+import com.golden.erp.application.order.port.OrderExportPort;
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderExportPort exportPort;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportService(exportPort, objectMapper);
+        Order withItems = Order.builder()
+                .id(1L).clienteId(10L).clienteNome("Silva, João").status(OrderStatus.PAID)
+                .itens(new ArrayList<>(List.of(
+                        OrderItem.builder().id(11L).produtoId(5L).produtoNome("Camiseta \"GG\"")
+                                .quantidade(2).precoUnitario(new BigDecimal("49.90"))
+                                .desconto(new BigDecimal("5.00")).build(),
+                        OrderItem.builder().id(12L).produtoId(6L).produtoNome("Boné")
+                                .quantidade(1).precoUnitario(new BigDecimal("30.00")).build())))
+                .dataCriacao(LocalDateTime.of(2025, 3, 10, 12, 0))
+                .build();
+        withItems.calculateTotals();
+        Order withoutItems = Order.builder()
+                .id(2L).clienteId(20L).clienteNome("Maria").status(OrderStatus.CREATED)
+                .dataCriacao(LocalDateTime.of(2025, 3, 11, 8, 30))
+                .build();
+        withoutItems.calculateTotals();
+
+        doAnswer(invocation -> {
+            Consumer<Order> action = invocation.getArgument(2);
+            action.accept(withItems);
+            action.accept(withoutItems);
+            return null;
+        }).when(exportPort).forEach(eq(OrderStatus.PAID), eq(null), any());
+    }
+
+    @Test
+    @DisplayName("Deve escrever um pedido com itens por linha em NDJSON")
+    void shouldExportNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(OrderStatus.PAID, null, OrderExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("total").decimalValue()).isEqualByComparingTo("119.80");
+        assertThat(first.get("itens")).hasSize(2);
+        assertThat(objectMapper.readTree(lines[1]).get("itens")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve escrever uma linha por item em CSV, com escape de vírgulas e aspas")
+    void shouldExportCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.export(OrderStatus.PAID, null, OrderExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).containsExactly(
+                OrderExportService.CSV_HEADER,
+                "1,10,\"Silva, João\",PAID,129.80,10.00,119.80,2025-03-10T12:00,,11,5,\"Camiseta \"\"GG\"\"\",2,49.90,5.00,99.80,89.80",
+                "1,10,\"Silva, João\",PAID,129.80,10.00,119.80,2025-03-10T12:00,,12,6,Boné,1,30.00,,30.00,30.00",
+                "2,20,Maria,CREATED,0.00,0.00,0.00,2025-03-11T08:30,,,,,,,,,");
+    }
+
+    @Test
+    @DisplayName("Deve interromper a exportação quando a escrita falha")
+    void shouldStopWhenOutputFails() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("conexão fechada pelo cliente");
+            }
+        };
+
+        assertThatThrownBy(() -> exportService.export(OrderStatus.PAID, null, OrderExportFormat.CSV, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("conexão fechada pelo cliente");
+    }
+}
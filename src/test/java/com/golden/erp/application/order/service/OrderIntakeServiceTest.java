@@ -0,0 +1,117 @@
+package com.golden.erp.application.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderIntakeResponse;
+import com.golden.erp.application.order.dto.OrderItemRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.domain.exception.EntityNotFoundException;
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.repository.OrderIntakeRepository;
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderIntakeRepository intakeRepository;
+
+    @Mock
+    private OrderServiceImpl orderService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderIntakeService intakeService;
+
+    private CreateOrderRequest request;
+
+    @BeforeEach
+    void setUp() {
+        intakeService = new OrderIntakeService(intakeRepository, orderService, objectMapper);
+        request = CreateOrderRequest.builder()
+                .clienteId(1L)
+                .itens(List.of(
+                        OrderItemRequest.builder().produtoId(7L).quantidade(1).build(),
+                        OrderItemRequest.builder().produtoId(3L).quantidade(2).build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve gravar a solicitação como PENDING com o menor ID de produto")
+    void shouldSubmitAsPending() {
+        when(intakeRepository.save(any(OrderIntake.class))).thenAnswer(invocation -> {
+            OrderIntake intake = invocation.getArgument(0);
+            intake.setId(10L);
+            return intake;
+        });
+
+        OrderIntakeResponse response = intakeService.submit(request);
+
+        ArgumentCaptor<OrderIntake> captor = ArgumentCaptor.forClass(OrderIntake.class);
+        verify(intakeRepository).save(captor.capture());
+        assertThat(captor.getValue().getMenorProdutoId()).isEqualTo(3L);
+        assertThat(captor.getValue().getRequisicao()).contains("\"clienteId\":1");
+        assertThat(response.getId()).isEqualTo(10L);
+        assertThat(response.getStatus()).isEqualTo("PENDING");
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Deve criar o pedido e marcar a solicitação como DONE")
+    void shouldProcessAndComplete() throws Exception {
+        OrderIntake intake = OrderIntake.builder()
+                .id(10L)
+                .status(OrderIntakeStatus.PROCESSING)
+                .requisicao(objectMapper.writeValueAsString(request))
+                .menorProdutoId(3L)
+                .build();
+        when(orderService.create(any(CreateOrderRequest.class)))
+                .thenReturn(OrderResponse.builder().id(99L).build());
+
+        intakeService.process(intake);
+
+        ArgumentCaptor<CreateOrderRequest> captor = ArgumentCaptor.forClass(CreateOrderRequest.class);
+        verify(orderService).create(captor.capture());
+        assertThat(captor.getValue().getItens()).hasSize(2);
+        assertThat(intake.getStatus()).isEqualTo(OrderIntakeStatus.DONE);
+        assertThat(intake.getPedidoId()).isEqualTo(99L);
+        verify(intakeRepository).save(intake);
+    }
+
+    @Test
+    @DisplayName("Deve devolver à fila até atingir o limite de tentativas")
+    void shouldRetryUntilMaxAttempts() {
+        OrderIntake intake = OrderIntake.builder().id(10L).status(OrderIntakeStatus.PROCESSING).build();
+
+        intakeService.retryOrFail(intake, "erro", 2);
+        assertThat(intake.getStatus()).isEqualTo(OrderIntakeStatus.PENDING);
+
+        intakeService.retryOrFail(intake, "erro", 2);
+        assertThat(intake.getStatus()).isEqualTo(OrderIntakeStatus.FAILED);
+        verify(intakeRepository, times(2)).save(intake);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a solicitação não existe")
+    void shouldThrowWhenNotFound() {
+        when(intakeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> intakeService.findById(99L))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -1,15 +1,25 @@
 package com.golden.erp.application.order.service;
 
+import com.golden.erp.application.order.dto.CreateOrderBatchRequest;
 import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderBatchResponse;
+import com.golden.erp.application.order.dto.OrderBatchResponse.OrderBatchItemResponse;
+import com.golden.erp.application.order.dto.OrderCursor;
+import com.golden.erp.application.order.dto.OrderCursorPage;
 import com.golden.erp.application.order.dto.OrderItemRequest;
 import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.dto.OrderSummaryResponse;
 import com.golden.erp.application.order.dto.OrderUsdResponse;
 import com.golden.erp.application.order.port.ExchangeRatePort;
+import com.golden.erp.application.order.port.OrderCachePort;
+import com.golden.erp.application.order.port.OrderIdempotencyPort;
+import com.golden.erp.application.order.port.OrderSummaryPort;
 import com.golden.erp.domain.customer.entity.Customer;
 import com.golden.erp.domain.customer.repository.CustomerRepository;
 import com.golden.erp.domain.exception.DomainException;
 import com.golden.erp.domain.exception.EntityNotFoundException;
 import com.golden.erp.domain.exception.InsufficientStockException;
+import com.golden.erp.domain.exception.StockBusyException;
 import com.golden.erp.domain.exception.InvalidOrderStateException;
 import com.golden.erp.domain.order.entity.Order;
 import com.golden.erp.domain.order.entity.OrderItem;
@@ -22,6 +32,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -34,15 +46,22 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -60,6 +79,15 @@ class OrderServiceImplTest {
     @Mock
     private ExchangeRatePort exchangeRatePort;
 
+    @Mock
+    private OrderIdempotencyPort idempotencyPort;
+
+    @Mock
+    private OrderSummaryPort summaryPort;
+
+    @Mock
+    private OrderCachePort orderCache;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -69,6 +97,11 @@ class OrderServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(orderCache.get(any(), any())).thenAnswer(invocation -> {
+            Function<Long, OrderResponse> loader = invocation.getArgument(1);
+            return loader.apply(invocation.getArgument(0));
+        });
+
         sampleCustomer = Customer.builder()
                 .id(1L)
                 .nome("João Silva")
@@ -123,8 +156,8 @@ class OrderServiceImplTest {
                     .build();
 
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-            when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
-            when(productRepository.save(any(Product.class))).thenReturn(sampleProduct);
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2))).thenReturn(Set.of());
             when(orderRepository.save(any(Order.class))).thenReturn(sampleOrder);
 
             OrderResponse response = orderService.create(request);
@@ -132,10 +165,39 @@ class OrderServiceImplTest {
             assertThat(response.getId()).isEqualTo(1L);
             assertThat(response.getClienteNome()).isEqualTo("João Silva");
             assertThat(response.getStatus()).isEqualTo("CREATED");
-            verify(productRepository).save(any(Product.class));
+            verify(productRepository).decreaseStock(Map.of(1L, 2));
             verify(orderRepository).save(any(Order.class));
         }
 
+        @Test
+        @DisplayName("Deve calcular os totais na criação e gravá-los com o pedido")
+        void shouldCalculateTotalsOnCreate() {
+            CreateOrderRequest request = CreateOrderRequest.builder()
+                    .clienteId(1L)
+                    .itens(List.of(OrderItemRequest.builder()
+                            .produtoId(1L)
+                            .quantidade(2)
+                            .desconto(new BigDecimal("5.00"))
+                            .build()))
+                    .build();
+
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2))).thenReturn(Set.of());
+            ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+            when(orderRepository.save(saved.capture())).thenReturn(sampleOrder);
+
+            orderService.create(request);
+
+            Order order = saved.getValue();
+            // Os totais ficam fixos: alterar o item depois da criação não os recalcula
+            order.getItens().get(0).setQuantidade(10);
+            assertThat(order.getSubtotal()).isEqualByComparingTo("99.80");
+            assertThat(order.getDescontos()).isEqualByComparingTo("10.00");
+            assertThat(order.getTotal()).isEqualByComparingTo("89.80");
+            assertThat(order.getItens().get(0).getTotal()).isEqualByComparingTo("89.80");
+        }
+
         @Test
         @DisplayName("Deve rejeitar pedido quando cliente não existe")
         void shouldThrowWhenCustomerNotFound() {
@@ -165,7 +227,7 @@ class OrderServiceImplTest {
                     .build();
 
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-            when(productRepository.findById(99L)).thenReturn(Optional.empty());
+            when(productRepository.findCatalogByIds(Set.of(99L))).thenReturn(List.of());
 
             assertThatThrownBy(() -> orderService.create(request))
                     .isInstanceOf(EntityNotFoundException.class);
@@ -193,10 +255,47 @@ class OrderServiceImplTest {
                     .build();
 
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 5))).thenReturn(Set.of(1L));
             when(productRepository.findById(1L)).thenReturn(Optional.of(lowStockProduct));
 
             assertThatThrownBy(() -> orderService.create(request))
-                    .isInstanceOf(InsufficientStockException.class);
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Camiseta")
+                    .hasMessageContaining("Disponível: 1");
+            verify(orderRepository, never()).save(any(Order.class));
+        }
+
+        @Test
+        @DisplayName("Deve pedir nova tentativa quando há saldo mas ele está preso em shards travados (409)")
+        void shouldThrowStockBusyWhenStockIsHeldByOtherOrders() {
+            Product heldProduct = Product.builder()
+                    .id(1L)
+                    .sku("SKU-001")
+                    .nome("Camiseta")
+                    .precoBruto(new BigDecimal("49.90"))
+                    .estoque(9)
+                    .estoqueMinimo(0)
+                    .ativo(true)
+                    .build();
+
+            CreateOrderRequest request = CreateOrderRequest.builder()
+                    .clienteId(1L)
+                    .itens(List.of(OrderItemRequest.builder()
+                            .produtoId(1L)
+                            .quantidade(5)
+                            .build()))
+                    .build();
+
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 5))).thenReturn(Set.of(1L));
+            when(productRepository.findById(1L)).thenReturn(Optional.of(heldProduct));
+
+            assertThatThrownBy(() -> orderService.create(request))
+                    .isInstanceOf(StockBusyException.class)
+                    .hasMessageContaining("Camiseta");
+            verify(orderRepository, never()).save(any(Order.class));
         }
 
         @Test
@@ -211,14 +310,270 @@ class OrderServiceImplTest {
                     .build();
 
             when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
-            when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
-            when(productRepository.save(any(Product.class))).thenReturn(sampleProduct);
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 3))).thenReturn(Set.of());
             when(orderRepository.save(any(Order.class))).thenReturn(sampleOrder);
 
             orderService.create(request);
 
-            assertThat(sampleProduct.getEstoque()).isEqualTo(97);
-            verify(productRepository).save(sampleProduct);
+            verify(productRepository).decreaseStock(Map.of(1L, 3));
+        }
+
+        @Test
+        @DisplayName("Deve carregar produtos e baixar estoque uma única vez para itens repetidos")
+        void shouldLoadAndDecreaseStockOnceForRepeatedItems() {
+            CreateOrderRequest request = CreateOrderRequest.builder()
+                    .clienteId(1L)
+                    .itens(List.of(
+                            OrderItemRequest.builder().produtoId(1L).quantidade(3).build(),
+                            OrderItemRequest.builder().produtoId(1L).quantidade(4).build()))
+                    .build();
+
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 7))).thenReturn(Set.of());
+            when(orderRepository.save(any(Order.class))).thenReturn(sampleOrder);
+
+            orderService.create(request);
+
+            verify(productRepository, times(1)).findCatalogByIds(Set.of(1L));
+            verify(productRepository, times(1)).decreaseStock(Map.of(1L, 7));
+            verify(productRepository, never()).findById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Criar Pedido com Idempotency-Key")
+    class CreateOrderIdempotent {
+
+        private final CreateOrderRequest request = CreateOrderRequest.builder()
+                .clienteId(1L)
+                .itens(List.of(OrderItemRequest.builder()
+                        .produtoId(1L)
+                        .quantidade(2)
+                        .build()))
+                .build();
+
+        @Test
+        @DisplayName("Deve devolver a resposta gravada sem recriar o pedido nem baixar estoque")
+        void shouldReplayStoredResponse() {
+            OrderResponse stored = OrderResponse.from(sampleOrder);
+            when(idempotencyPort.find("chave-1", request)).thenReturn(Optional.of(stored));
+
+            OrderResponse response = orderService.create(request, "chave-1");
+
+            assertThat(response).isSameAs(stored);
+            verify(productRepository, never()).decreaseStock(any());
+            verify(orderRepository, never()).save(any());
+            verify(idempotencyPort, never()).save(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Deve criar o pedido e gravar a resposta na primeira chamada")
+        void shouldCreateAndStoreOnFirstCall() {
+            when(idempotencyPort.find("chave-1", request)).thenReturn(Optional.empty());
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2))).thenReturn(Set.of());
+            when(orderRepository.save(any(Order.class))).thenReturn(sampleOrder);
+
+            OrderResponse response = orderService.create(request, "chave-1");
+
+            verify(idempotencyPort).save("chave-1", request, response);
+        }
+
+        @Test
+        @DisplayName("Não deve gravar a chave quando o pedido é rejeitado")
+        void shouldNotStoreWhenCreateFails() {
+            when(idempotencyPort.find("chave-1", request)).thenReturn(Optional.empty());
+            when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> orderService.create(request, "chave-1"))
+                    .isInstanceOf(EntityNotFoundException.class);
+            verify(idempotencyPort, never()).save(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Não deve consultar o armazenamento de chaves sem o header")
+        void shouldIgnoreStoreWithoutKey() {
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2))).thenReturn(Set.of());
+            when(orderRepository.save(any(Order.class))).thenReturn(sampleOrder);
+
+            orderService.create(request, null);
+
+            verifyNoInteractions(idempotencyPort);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar chave com mais de 255 caracteres")
+        void shouldRejectTooLongKey() {
+            assertThatThrownBy(() -> orderService.create(request, "x".repeat(256)))
+                    .isInstanceOf(DomainException.class);
+            verifyNoInteractions(idempotencyPort);
+        }
+    }
+
+    @Nested
+    @DisplayName("Criar Pedidos em Lote")
+    class CreateOrderBatch {
+
+        private CreateOrderRequest orderFor(Long clienteId, Long produtoId, int quantidade) {
+            return CreateOrderRequest.builder()
+                    .clienteId(clienteId)
+                    .itens(List.of(OrderItemRequest.builder()
+                            .produtoId(produtoId)
+                            .quantidade(quantidade)
+                            .build()))
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Deve carregar clientes e produtos uma única vez e gravar os pedidos juntos")
+        void shouldLoadOnceAndSaveAll() {
+            CreateOrderBatchRequest request = CreateOrderBatchRequest.builder()
+                    .pedidos(List.of(orderFor(1L, 1L, 2), orderFor(1L, 1L, 3)))
+                    .build();
+
+            when(customerRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(any())).thenReturn(Set.of());
+            when(orderRepository.saveAll(any())).thenReturn(List.of(sampleOrder, sampleOrder));
+
+            OrderBatchResponse response = orderService.createBatch(request);
+
+            assertThat(response.getTotal()).isEqualTo(2);
+            assertThat(response.getSucessos()).isEqualTo(2);
+            assertThat(response.getFalhas()).isZero();
+            verify(customerRepository, times(1)).findAllByIds(Set.of(1L));
+            verify(productRepository, times(1)).findCatalogByIds(Set.of(1L));
+            verify(productRepository, times(1)).decreaseStock(Map.of(1L, 5));
+            verify(orderRepository, times(1)).saveAll(any());
+            verify(orderRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Deve reportar falhas por índice sem impedir os demais pedidos")
+        void shouldReportFailuresByIndex() {
+            CreateOrderBatchRequest request = CreateOrderBatchRequest.builder()
+                    .pedidos(List.of(orderFor(99L, 1L, 1), orderFor(1L, 1L, 2), orderFor(1L, 1L, 500)))
+                    .build();
+
+            when(customerRepository.findAllByIds(Set.of(1L, 99L))).thenReturn(List.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L))).thenReturn(List.of(sampleProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 502))).thenReturn(Set.of(1L));
+            when(productRepository.decreaseStock(Map.of(1L, 2))).thenReturn(Set.of());
+            when(productRepository.decreaseStock(Map.of(1L, 500))).thenReturn(Set.of(1L));
+            when(orderRepository.saveAll(any())).thenReturn(List.of(sampleOrder));
+
+            OrderBatchResponse response = orderService.createBatch(request);
+
+            assertThat(response.getSucessos()).isEqualTo(1);
+            assertThat(response.getFalhas()).isEqualTo(2);
+            assertThat(response.getResultados()).extracting(OrderBatchItemResponse::getIndice)
+                    .containsExactly(0, 1, 2);
+            assertThat(response.getResultados()).extracting(OrderBatchItemResponse::isSucesso)
+                    .containsExactly(false, true, false);
+            assertThat(response.getResultados().get(0).getErro()).contains("Cliente");
+            assertThat(response.getResultados().get(2).getErro()).contains("Camiseta");
+        }
+
+        @Test
+        @DisplayName("Deve travar a união dos produtos em ordem de id antes de baixar o estoque do lote")
+        void shouldLockUnionOfProductsBeforeDecreasing() {
+            Product otherProduct = Product.builder()
+                    .id(2L)
+                    .sku("SKU-002")
+                    .nome("Calça")
+                    .precoBruto(new BigDecimal("99.90"))
+                    .ativo(true)
+                    .build();
+            CreateOrderBatchRequest request = CreateOrderBatchRequest.builder()
+                    .pedidos(List.of(orderFor(1L, 2L, 1), orderFor(1L, 1L, 2), orderFor(1L, 2L, 3)))
+                    .build();
+
+            when(customerRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L, 2L))).thenReturn(List.of(sampleProduct, otherProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2, 2L, 4))).thenReturn(Set.of());
+            when(orderRepository.saveAll(any())).thenReturn(List.of(sampleOrder, sampleOrder, sampleOrder));
+
+            OrderBatchResponse response = orderService.createBatch(request);
+
+            assertThat(response.getSucessos()).isEqualTo(3);
+            InOrder inOrder = inOrder(productRepository);
+            inOrder.verify(productRepository).lockStock(Set.of(1L, 2L));
+            inOrder.verify(productRepository).decreaseStock(Map.of(1L, 2, 2L, 4));
+            verify(productRepository, times(1)).decreaseStock(any());
+        }
+
+        @Test
+        @DisplayName("Deve desfazer a baixa do lote e decidir pedido a pedido quando falta estoque para todos")
+        void shouldFallBackToPerOrderDecreaseWhenBatchDoesNotFit() {
+            Product otherProduct = Product.builder()
+                    .id(2L)
+                    .sku("SKU-002")
+                    .nome("Calça")
+                    .precoBruto(new BigDecimal("99.90"))
+                    .estoque(0)
+                    .ativo(true)
+                    .build();
+            CreateOrderBatchRequest request = CreateOrderBatchRequest.builder()
+                    .pedidos(List.of(orderFor(1L, 2L, 3), orderFor(1L, 1L, 2), orderFor(1L, 2L, 1)))
+                    .build();
+
+            when(customerRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L, 2L))).thenReturn(List.of(sampleProduct, otherProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2, 2L, 4))).thenReturn(Set.of(2L));
+            when(productRepository.decreaseStock(Map.of(2L, 3))).thenReturn(Set.of());
+            when(productRepository.decreaseStock(Map.of(1L, 2))).thenReturn(Set.of());
+            when(productRepository.decreaseStock(Map.of(2L, 1))).thenReturn(Set.of(2L));
+            when(productRepository.findById(2L)).thenReturn(Optional.of(otherProduct));
+            when(orderRepository.saveAll(any())).thenReturn(List.of(sampleOrder, sampleOrder));
+
+            OrderBatchResponse response = orderService.createBatch(request);
+
+            assertThat(response.getResultados()).extracting(OrderBatchItemResponse::isSucesso)
+                    .containsExactly(true, true, false);
+            assertThat(response.getResultados().get(2).getErro()).contains("Calça");
+            InOrder inOrder = inOrder(productRepository);
+            inOrder.verify(productRepository).lockStock(Set.of(1L, 2L));
+            inOrder.verify(productRepository).decreaseStock(Map.of(1L, 2, 2L, 4));
+            inOrder.verify(productRepository).increaseStock(Map.of(1L, 2));
+            inOrder.verify(productRepository).decreaseStock(Map.of(2L, 3));
+        }
+
+        @Test
+        @DisplayName("Deve devolver o estoque já baixado quando outro produto do mesmo pedido é rejeitado")
+        void shouldCompensatePartiallyAppliedDecrease() {
+            Product otherProduct = Product.builder()
+                    .id(2L)
+                    .sku("SKU-002")
+                    .nome("Calça")
+                    .precoBruto(new BigDecimal("99.90"))
+                    .estoque(0)
+                    .estoqueMinimo(1)
+                    .ativo(true)
+                    .build();
+            CreateOrderRequest pedido = CreateOrderRequest.builder()
+                    .clienteId(1L)
+                    .itens(List.of(
+                            OrderItemRequest.builder().produtoId(1L).quantidade(2).build(),
+                            OrderItemRequest.builder().produtoId(2L).quantidade(1).build()))
+                    .build();
+            CreateOrderBatchRequest request = CreateOrderBatchRequest.builder()
+                    .pedidos(List.of(pedido))
+                    .build();
+
+            when(customerRepository.findAllByIds(Set.of(1L))).thenReturn(List.of(sampleCustomer));
+            when(productRepository.findCatalogByIds(Set.of(1L, 2L))).thenReturn(List.of(sampleProduct, otherProduct));
+            when(productRepository.decreaseStock(Map.of(1L, 2, 2L, 1))).thenReturn(Set.of(2L));
+            when(orderRepository.saveAll(List.of())).thenReturn(List.of());
+
+            OrderBatchResponse response = orderService.createBatch(request);
+
+            assertThat(response.getFalhas()).isEqualTo(1);
+            verify(productRepository).increaseStock(Map.of(1L, 2));
         }
     }
 
@@ -246,6 +601,33 @@ class OrderServiceImplTest {
                     .isInstanceOf(EntityNotFoundException.class);
         }
 
+        @Test
+        @DisplayName("Deve repassar ao cache a versão lida do banco ao buscar o pedido para o ETag")
+        void shouldFindByIdAtVersion() {
+            OrderResponse cached = OrderResponse.builder().id(1L).status("CREATED").build();
+            when(orderCache.get(eq(1L), eq("k3x9a1"), any())).thenReturn(cached);
+
+            assertThat(orderService.findById(1L, "k3x9a1")).isSameAs(cached);
+        }
+
+        @Test
+        @DisplayName("Deve retornar a versão do pedido sem carregar a entidade")
+        void shouldFindVersion() {
+            when(orderRepository.findVersionById(1L)).thenReturn(Optional.of("k3x9a1"));
+
+            assertThat(orderService.findVersion(1L)).isEqualTo("k3x9a1");
+            verify(orderRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao buscar a versão de pedido inexistente")
+        void shouldThrowWhenVersionNotFound() {
+            when(orderRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> orderService.findVersion(99L))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+
         @Test
         @DisplayName("Deve retornar pedidos paginados por status")
         void shouldFindAllByStatus() {
@@ -257,6 +639,68 @@ class OrderServiceImplTest {
 
             assertThat(result.getContent()).hasSize(1);
         }
+
+        @Test
+        @DisplayName("Deve retornar o resumo paginado sem carregar pedidos completos")
+        void shouldFindAllSummaries() {
+            Pageable pageable = PageRequest.of(0, 10);
+            OrderSummaryResponse summary = OrderSummaryResponse.builder()
+                    .id(1L).clienteId(1L).clienteNome("João Silva").status("CREATED")
+                    .quantidadeItens(1L).total(new BigDecimal("94.80"))
+                    .build();
+            when(summaryPort.findAll(OrderStatus.CREATED, 1L, pageable)).thenReturn(new PageImpl<>(List.of(summary)));
+
+            Page<OrderSummaryResponse> result = orderService.findAllSummaries(OrderStatus.CREATED, 1L, pageable);
+
+            assertThat(result.getContent()).containsExactly(summary);
+            verify(orderRepository, never()).findAll(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Listar Pedidos por Cursor")
+    class FindOrdersByCursor {
+
+        @Test
+        @DisplayName("Deve devolver a página e o cursor do último pedido quando há próxima")
+        void shouldReturnNextCursorWhenMoreOrdersExist() {
+            Order newer = Order.builder().id(2L).clienteId(1L).clienteNome("João Silva")
+                    .status(OrderStatus.CREATED).itens(new ArrayList<>())
+                    .dataCriacao(LocalDateTime.of(2025, 3, 10, 12, 0)).build();
+            Order older = Order.builder().id(1L).clienteId(1L).clienteNome("João Silva")
+                    .status(OrderStatus.CREATED).itens(new ArrayList<>())
+                    .dataCriacao(LocalDateTime.of(2025, 3, 9, 12, 0)).build();
+            when(orderRepository.findAfter(null, 1L, null, null, 2)).thenReturn(List.of(newer, older));
+
+            OrderCursorPage result = orderService.findAllByCursor(null, 1L, "", 1);
+
+            assertThat(result.getContent()).extracting(OrderResponse::getId).containsExactly(2L);
+            assertThat(result.isHasNext()).isTrue();
+            assertThat(OrderCursor.decode(result.getNextCursor()))
+                    .isEqualTo(new OrderCursor(newer.getDataCriacao(), 2L));
+        }
+
+        @Test
+        @DisplayName("Deve continuar a partir da posição do cursor")
+        void shouldContinueFromCursor() {
+            OrderCursor cursor = new OrderCursor(LocalDateTime.of(2025, 3, 10, 12, 0, 0, 123_000), 2L);
+            when(orderRepository.findAfter(OrderStatus.PAID, null, cursor.dataCriacao(), 2L, 21))
+                    .thenReturn(List.of(sampleOrder));
+
+            OrderCursorPage result = orderService.findAllByCursor(OrderStatus.PAID, null, cursor.encode(), 20);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isHasNext()).isFalse();
+            assertThat(result.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar cursor inválido")
+        void shouldRejectInvalidCursor() {
+            assertThatThrownBy(() -> orderService.findAllByCursor(null, null, "nao-e-um-cursor", 20))
+                    .isInstanceOf(DomainException.class);
+            verify(orderRepository, never()).findAfter(any(), any(), any(), any(), anyInt());
+        }
     }
 
     @Nested
@@ -273,6 +717,7 @@ class OrderServiceImplTest {
 
             assertThat(sampleOrder.getStatus()).isEqualTo(OrderStatus.PAID);
             verify(orderRepository).save(any(Order.class));
+            verify(orderCache).evict(1L);
         }
 
         @Test
@@ -283,6 +728,7 @@ class OrderServiceImplTest {
 
             assertThatThrownBy(() -> orderService.pay(1L))
                     .isInstanceOf(InvalidOrderStateException.class);
+            verify(orderCache, never()).evict(any());
         }
     }
 
@@ -294,14 +740,13 @@ class OrderServiceImplTest {
         @DisplayName("Deve cancelar pedido CREATED e devolver estoque")
         void shouldCancelAndRestoreStock() {
             when(orderRepository.findById(1L)).thenReturn(Optional.of(sampleOrder));
-            when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
-            when(productRepository.save(any(Product.class))).thenReturn(sampleProduct);
             when(orderRepository.save(any(Order.class))).thenReturn(sampleOrder);
 
             orderService.cancel(1L);
 
             assertThat(sampleOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
-            verify(productRepository).save(any(Product.class));
+            verify(productRepository).increaseStock(Map.of(1L, 2));
+            verify(orderCache).evict(1L);
         }
 
         @Test
@@ -147,6 +147,24 @@ class ProductServiceImplTest {
                     .isInstanceOf(EntityNotFoundException.class);
         }
 
+        @Test
+        @DisplayName("Deve retornar a versão do produto sem carregar a entidade")
+        void shouldFindVersion() {
+            when(productRepository.findVersionById(1L)).thenReturn(Optional.of("k3x9a1-100"));
+
+            assertThat(productService.findVersion(1L)).isEqualTo("k3x9a1-100");
+            verify(productRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Deve lançar exceção ao buscar a versão de produto inexistente")
+        void shouldThrowWhenVersionNotFound() {
+            when(productRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> productService.findVersion(99L))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+
         @Test
         @DisplayName("Deve retornar produtos paginados filtrados por ativo")
         void shouldFindAllFilteredByActive() {
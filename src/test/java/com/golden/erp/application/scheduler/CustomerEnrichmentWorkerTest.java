@@ -0,0 +1,142 @@
+package com.golden.erp.application.scheduler;
+
+import com.golden.erp.application.customer.port.AddressLookupPort;
+import com.golden.erp.application.customer.service.CustomerEnrichmentService;
+import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.AddressLookupUnavailableException;
+import com.golden.erp.domain.exception.DomainException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerEnrichmentWorkerTest {
+
+    @Mock
+    private CustomerEnrichmentService enrichmentService;
+
+    @Mock
+    private AddressLookupPort addressLookupPort;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private CustomerEnrichmentWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new CustomerEnrichmentWorker(enrichmentService, addressLookupPort, executor, meterRegistry, 4, 50, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private void pollAndWait() throws InterruptedException {
+        worker.poll();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("customers.enrichment").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve completar o endereço dos clientes pendentes")
+    void shouldCompletePendingCustomers() throws Exception {
+        Address found = Address.builder().logradouro("Praça da Sé").cep("01001000").build();
+        when(enrichmentService.findPending(50)).thenReturn(List.of(1L, 2L));
+        when(enrichmentService.pendingCep(1L)).thenReturn(Optional.of("01001000"));
+        when(enrichmentService.pendingCep(2L)).thenReturn(Optional.of("01001000"));
+        when(addressLookupPort.lookup("01001000")).thenReturn(found);
+        when(enrichmentService.complete(any(), eq("01001000"), eq(found))).thenReturn(true);
+
+        pollAndWait();
+
+        verify(enrichmentService).complete(1L, "01001000", found);
+        verify(enrichmentService).complete(2L, "01001000", found);
+        assertThat(count("enriched")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar cliente que deixou de estar pendente")
+    void shouldSkipCustomerNoLongerPending() throws Exception {
+        when(enrichmentService.findPending(50)).thenReturn(List.of(1L));
+        when(enrichmentService.pendingCep(1L)).thenReturn(Optional.empty());
+
+        pollAndWait();
+
+        verifyNoInteractions(addressLookupPort);
+        verify(enrichmentService, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve manter o endereço informado quando o CEP não existe")
+    void shouldAbandonWhenCepNotFound() throws Exception {
+        when(enrichmentService.findPending(50)).thenReturn(List.of(1L));
+        when(enrichmentService.pendingCep(1L)).thenReturn(Optional.of("99999999"));
+        when(addressLookupPort.lookup("99999999")).thenThrow(new DomainException("CEP não encontrado: 99999999"));
+
+        pollAndWait();
+
+        verify(enrichmentService).abandon(1L, "99999999");
+        assertThat(count("not_found")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter pendente e pausar as consultas quando o ViaCEP está indisponível")
+    void shouldPauseWhenLookupUnavailable() throws Exception {
+        when(enrichmentService.findPending(50)).thenReturn(List.of(1L));
+        when(enrichmentService.pendingCep(1L)).thenReturn(Optional.of("01001000"));
+        when(addressLookupPort.lookup("01001000"))
+                .thenThrow(new AddressLookupUnavailableException("Erro ao consultar CEP após 3 tentativas"));
+
+        pollAndWait();
+        worker.poll();
+
+        verify(enrichmentService, times(1)).findPending(anyInt());
+        verify(enrichmentService, never()).abandon(any(), any());
+        verify(enrichmentService, never()).complete(any(), any(), any());
+        assertThat(count("unavailable")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve prender a thread do agendador nem repetir clientes ainda em andamento")
+    void shouldNotBlockSchedulerThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(enrichmentService.findPending(50)).thenReturn(List.of(1L, 2L), List.of(1L, 2L, 3L));
+        when(enrichmentService.pendingCep(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        worker.poll();
+        worker.poll();
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        verify(enrichmentService, times(1)).pendingCep(1L);
+        verify(enrichmentService, times(1)).pendingCep(2L);
+        verify(enrichmentService, times(1)).pendingCep(3L);
+    }
+}
@@ -0,0 +1,31 @@
+package com.golden.erp.application.scheduler;
+
+import com.golden.erp.application.order.port.OrderIdempotencyPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyCleanupSchedulerTest {
+
+    @Mock
+    private OrderIdempotencyPort idempotencyPort;
+
+    @InjectMocks
+    private IdempotencyKeyCleanupScheduler scheduler;
+
+    @Test
+    @DisplayName("Deve remover chaves de idempotência expiradas")
+    void shouldPurgeExpiredKeys() {
+        when(idempotencyPort.purgeExpired()).thenReturn(2);
+
+        scheduler.purgeExpiredKeys();
+
+        verify(idempotencyPort).purgeExpired();
+    }
+}
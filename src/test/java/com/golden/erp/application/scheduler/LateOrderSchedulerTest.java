@@ -1,5 +1,6 @@
 package com.golden.erp.application.scheduler;
 
+import com.golden.erp.application.order.port.OrderCachePort;
 import com.golden.erp.domain.order.entity.Order;
 import com.golden.erp.domain.order.entity.OrderItem;
 import com.golden.erp.domain.order.repository.OrderRepository;
@@ -28,6 +29,9 @@ class LateOrderSchedulerTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderCachePort orderCache;
+
     @InjectMocks
     private LateOrderScheduler scheduler;
 
@@ -54,6 +58,7 @@ class LateOrderSchedulerTest {
 
         assertThat(lateOrder.getStatus()).isEqualTo(OrderStatus.LATE);
         verify(orderRepository).save(lateOrder);
+        verify(orderCache).evict(1L);
     }
 
     @Test
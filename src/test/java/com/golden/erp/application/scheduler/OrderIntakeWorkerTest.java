@@ -0,0 +1,173 @@
+package com.golden.erp.application.scheduler;
+
+import com.golden.erp.application.order.service.OrderIntakeService;
+import com.golden.erp.domain.exception.InsufficientStockException;
+import com.golden.erp.domain.exception.StockLockUnavailableException;
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeWorkerTest {
+
+    @Mock
+    private OrderIntakeService intakeService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private OrderIntakeWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new OrderIntakeWorker(intakeService, executor, meterRegistry, 4, 100, 3, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private OrderIntake intake(long id, long menorProdutoId) {
+        return OrderIntake.builder()
+                .id(id)
+                .status(OrderIntakeStatus.PROCESSING)
+                .menorProdutoId(menorProdutoId)
+                .dataCriacao(LocalDateTime.now())
+                .build();
+    }
+
+    private void pollAndWait() throws InterruptedException {
+        worker.poll();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve processar em ordem as solicitações que começam pelo mesmo produto")
+    void shouldProcessSameProductGroupSequentially() throws Exception {
+        List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+        when(intakeService.claimPending(100)).thenReturn(List.of(
+                intake(1L, 5L), intake(2L, 5L), intake(3L, 5L), intake(4L, 8L)));
+        when(intakeService.process(any())).thenAnswer(invocation -> {
+            OrderIntake intake = invocation.getArgument(0);
+            processed.add(intake.getId());
+            return null;
+        });
+
+        pollAndWait();
+
+        assertThat(processed).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(processed.stream().filter(id -> id <= 3L).toList()).containsExactly(1L, 2L, 3L);
+        assertThat(meterRegistry.get("orders.intake.processing").tag("outcome", "done").timer().count())
+                .isEqualTo(4);
+        assertThat(meterRegistry.get("orders.intake.latency").tag("outcome", "done").timer().count())
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve marcar como FAILED quando o pedido é rejeitado pelo domínio")
+    void shouldMarkFailedOnDomainError() throws Exception {
+        OrderIntake intake = intake(1L, 5L);
+        when(intakeService.claimPending(100)).thenReturn(List.of(intake));
+        when(intakeService.process(intake)).thenThrow(new InsufficientStockException("Camiseta", 0, 1));
+
+        pollAndWait();
+
+        verify(intakeService).markFailed(eq(intake), any());
+        verify(intakeService, never()).retryOrFail(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve devolver à fila quando o lock do estoque não é obtido")
+    void shouldRetryWhenStockLockIsUnavailable() throws Exception {
+        OrderIntake intake = intake(1L, 5L);
+        when(intakeService.claimPending(100)).thenReturn(List.of(intake));
+        when(intakeService.process(intake)).thenThrow(new StockLockUnavailableException("SKU-001"));
+
+        pollAndWait();
+
+        verify(intakeService).retryOrFail(eq(intake), any(), eq(3));
+        verify(intakeService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver à fila quando ocorre erro inesperado")
+    void shouldRetryOnUnexpectedError() throws Exception {
+        OrderIntake intake = intake(1L, 5L);
+        when(intakeService.claimPending(100)).thenReturn(List.of(intake));
+        when(intakeService.process(intake)).thenThrow(new IllegalStateException("conexão perdida"));
+
+        pollAndWait();
+
+        verify(intakeService).retryOrFail(eq(intake), any(), eq(3));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o resultado quando outro worker reivindicou a solicitação")
+    void shouldDiscardWhenIntakeWasReclaimed() throws Exception {
+        OrderIntake intake = intake(1L, 5L);
+        when(intakeService.claimPending(100)).thenReturn(List.of(intake));
+        when(intakeService.process(intake)).thenThrow(new OptimisticLockingFailureException("versão"));
+
+        pollAndWait();
+
+        verify(intakeService, never()).retryOrFail(any(), any(), anyInt());
+        verify(intakeService, never()).markFailed(any(), any());
+        assertThat(meterRegistry.get("orders.intake.processing").tag("outcome", "superseded").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve prender a thread do agendador nem reivindicar além do limite em andamento")
+    void shouldNotBlockSchedulerThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(intakeService.claimPending(anyInt())).thenReturn(List.of(intake(1L, 5L), intake(2L, 8L)), List.of());
+        when(intakeService.process(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        });
+
+        long begin = System.nanoTime();
+        worker.poll();
+        worker.poll();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(1_000);
+        verify(intakeService).claimPending(100);
+        verify(intakeService).claimPending(98);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Não deve fazer nada quando a fila está vazia")
+    void shouldDoNothingWhenQueueIsEmpty() throws Exception {
+        when(intakeService.claimPending(100)).thenReturn(List.of());
+
+        pollAndWait();
+
+        verify(intakeService, never()).process(any());
+    }
+}
@@ -0,0 +1,267 @@
+package com.golden.erp.infrastructure.client;
+
+import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.AddressLookupUnavailableException;
+import com.golden.erp.infrastructure.client.exchange.ExchangeRateAdapter;
+import com.golden.erp.infrastructure.client.exchange.ExchangeRateClient;
+import com.golden.erp.infrastructure.client.resilience.ExternalCallResilience;
+import com.golden.erp.infrastructure.client.viacep.ViaCepAddressLookupAdapter;
+import com.golden.erp.infrastructure.client.viacep.ViaCepClient;
+import com.golden.erp.infrastructure.persistence.cep.CepCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Latência dos adapters contra um servidor HTTP local que injeta falhas: erros intermitentes,
+ * lentidão e indisponibilidade. O servidor conta as requisições recebidas, o que também mede a
+ * coalescência de consultas simultâneas. Os clientes Feign são montados sobre o stub com os mesmos
+ * contratos das interfaces da aplicação.
+ */
+@Slf4j
+class ExternalCallLatencyTest {
+
+    private static final String VIACEP_OK = """
+            {"cep": "01001-000", "logradouro": "Praça da Sé", "bairro": "Sé", "localidade": "São Paulo", "uf": "SP"}""";
+    private static final String RATES_OK = """
+            {"result": "success", "rates": {"USD": 0.2}}""";
+
+    private static final int CALLERS = 32;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExternalCallResilience resilience = new ExternalCallResilience(executor, new SimpleMeterRegistry());
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile long delayMs;
+    private HttpServer server;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ws", exchange -> respond(exchange, VIACEP_OK));
+        server.createContext("/latest", exchange -> respond(exchange, RATES_OK));
+        server.start();
+
+        // Aquece Feign e Jackson fora das medições
+        client(ViaCepClient.class, "/ws").findByCep("01001000");
+        client(ExchangeRateClient.class, "").getLatestRates("BRL");
+        requests.set(0);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        resilience.destroy();
+        executor.close();
+    }
+
+    /** Falha com 500 enquanto houver falhas a injetar ({@code -1}: sempre) e espera {@code delayMs}. */
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean fail = failuresLeft.get() < 0 || failuresLeft.getAndUpdate(n -> Math.max(n - 1, 0)) > 0;
+        byte[] bytes = (fail ? "{}" : body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(fail ? 500 : 200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private <T> T client(Class<T> type, String path) {
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .decoder(new SpringDecoder(() -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter())))
+                .options(new Request.Options(1, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true))
+                .retryer(Retryer.NEVER_RETRY)
+                .target(type, "http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private ViaCepAddressLookupAdapter viaCep(long timeoutMs, int failureThreshold, long openSeconds) {
+        return new ViaCepAddressLookupAdapter(client(ViaCepClient.class, "/ws"), mock(CepCache.class), resilience,
+                3, 50, timeoutMs, failureThreshold, openSeconds);
+    }
+
+    @Test
+    @DisplayName("Deve se recuperar de falhas intermitentes com retentativas agendadas")
+    void shouldRecoverFromIntermittentFailures() {
+        failuresLeft.set(2);
+        ViaCepAddressLookupAdapter adapter = viaCep(2_000, 5, 30);
+
+        long start = System.nanoTime();
+        Address address = adapter.lookup("01001000");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("ViaCEP com 2 falhas: {} requisições, {} ms", requests.get(), elapsedMs);
+        assertThat(address.getLogradouro()).isEqualTo("Praça da Sé");
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(150).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o controle dentro do limite quando o ViaCEP está lento")
+    void shouldRespectTimeoutWhenSlow() {
+        delayMs = 3_000;
+        ViaCepAddressLookupAdapter adapter = viaCep(300, 5, 30);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(timeFailures(adapter, 1)[0]);
+
+        log.info("ViaCEP lento (3 s por resposta): chamada devolvida em {} ms", elapsedMs);
+        assertThat(elapsedMs).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Deve falhar em milissegundos sem chamar o ViaCEP com o circuito aberto")
+    void shouldFailFastWhenCircuitIsOpen() {
+        failuresLeft.set(-1);
+        ViaCepAddressLookupAdapter adapter = viaCep(2_000, 2, 30);
+
+        long[] closed = timeFailures(adapter, 2);
+        int requestsWhenOpened = requests.get();
+        long[] open = timeFailures(adapter, 50);
+
+        log.info("ViaCEP fora: mediana de {} ms com o circuito fechado e {} µs com o circuito aberto",
+                TimeUnit.NANOSECONDS.toMillis(median(closed)), TimeUnit.NANOSECONDS.toMicros(median(open)));
+        assertThat(requestsWhenOpened).isEqualTo(6);
+        assertThat(requests.get()).isEqualTo(requestsWhenOpened);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(median(open))).isLessThan(5);
+    }
+
+    @Test
+    @DisplayName("Deve fechar o circuito quando o ViaCEP volta")
+    void shouldCloseCircuitWhenServiceRecovers() throws InterruptedException {
+        failuresLeft.set(-1);
+        ViaCepAddressLookupAdapter adapter = viaCep(2_000, 1, 0);
+        timeFailures(adapter, 1);
+
+        failuresLeft.set(0);
+        Thread.sleep(10);
+
+        assertThat(adapter.lookup("01001000").getCidade()).isEqualTo("São Paulo");
+    }
+
+    @Test
+    @DisplayName("Deve responder com a última taxa conhecida sem esperar pela API fora do ar")
+    void shouldServeStaleRateWhenApiIsDown() {
+        ExchangeRateAdapter adapter = new ExchangeRateAdapter(client(ExchangeRateClient.class, ""), resilience,
+                0, 2, 50, 1_000, 1, 30);
+        assertThat(adapter.getBrlToUsdRate()).isEqualByComparingTo(new BigDecimal("0.2"));
+
+        failuresLeft.set(-1);
+        adapter.getBrlToUsdRate();
+        int requestsWhenOpened = requests.get();
+
+        long start = System.nanoTime();
+        BigDecimal rate = adapter.getBrlToUsdRate();
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        log.info("Câmbio fora com o circuito aberto: taxa anterior em {} µs", elapsedMicros);
+        assertThat(rate).isEqualByComparingTo(new BigDecimal("0.2"));
+        assertThat(requests.get()).isEqualTo(requestsWhenOpened);
+        assertThat(elapsedMicros).isLessThan(5_000);
+    }
+
+    @Test
+    @DisplayName("Consultas simultâneas ao mesmo CEP devem chegar uma única vez ao ViaCEP")
+    void shouldCoalesceConcurrentCepLookups() throws Exception {
+        delayMs = 300;
+        ViaCepAddressLookupAdapter adapter = viaCep(2_000, 5, 30);
+
+        List<Address> addresses = concurrently(() -> adapter.lookup("01001-000"));
+
+        log.info("{} consultas simultâneas ao mesmo CEP: {} requisição(ões) ao ViaCEP", CALLERS, requests.get());
+        assertThat(addresses).hasSize(CALLERS).allSatisfy(address ->
+                assertThat(address.getLogradouro()).isEqualTo("Praça da Sé"));
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Pedidos simultâneos da taxa vencida devem chegar uma única vez à API de câmbio")
+    void shouldCoalesceConcurrentRateLookups() throws Exception {
+        delayMs = 300;
+        ExchangeRateAdapter adapter = new ExchangeRateAdapter(client(ExchangeRateClient.class, ""), resilience,
+                0, 2, 50, 2_000, 3, 30);
+
+        List<BigDecimal> rates = concurrently(adapter::getBrlToUsdRate);
+
+        log.info("{} pedidos simultâneos da taxa: {} requisição(ões) à API", CALLERS, requests.get());
+        assertThat(rates).hasSize(CALLERS).allSatisfy(rate -> assertThat(rate).isEqualByComparingTo("0.2"));
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    private <T> List<T> concurrently(Callable<T> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private long[] timeFailures(ViaCepAddressLookupAdapter adapter, int calls) {
+        long[] timings = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            try {
+                adapter.lookup("01001000");
+            } catch (AddressLookupUnavailableException e) {
+                timings[i] = System.nanoTime() - start;
+                continue;
+            }
+            throw new AssertionError("Consulta deveria falhar com o ViaCEP indisponível");
+        }
+        return timings;
+    }
+
+    private long median(long[] timings) {
+        long[] sorted = timings.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -1,14 +1,19 @@
 package com.golden.erp.infrastructure.client.exchange;
 
+import com.golden.erp.infrastructure.client.resilience.ExternalCallResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -19,9 +24,22 @@ class ExchangeRateAdapterTest {
     @Mock
     private ExchangeRateClient exchangeRateClient;
 
-    @InjectMocks
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExternalCallResilience resilience = new ExternalCallResilience(executor, new SimpleMeterRegistry());
+
     private ExchangeRateAdapter adapter;
 
+    @BeforeEach
+    void setUp() {
+        adapter = new ExchangeRateAdapter(exchangeRateClient, resilience, 3600, 2, 1, 1000, 3, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resilience.destroy();
+        executor.close();
+    }
+
     @Test
     @DisplayName("Deve retornar taxa quando API retorna dados válidos")
     void shouldReturnRateWhenApiReturnsValid() {
@@ -87,4 +105,21 @@ class ExchangeRateAdapterTest {
 
         assertThat(rate).isNull();
     }
+
+    @Test
+    @DisplayName("Deve usar a taxa expirada sem chamar a API enquanto o circuito estiver aberto")
+    void shouldUseStaleRateWhileCircuitIsOpen() {
+        adapter = new ExchangeRateAdapter(exchangeRateClient, resilience, 0, 1, 1, 1000, 1, 60);
+        when(exchangeRateClient.getLatestRates("BRL"))
+                .thenReturn(new ExchangeRateResponse("success", Map.of("USD", new BigDecimal("0.200000"))))
+                .thenThrow(new RuntimeException("Timeout"));
+
+        adapter.getBrlToUsdRate();
+        BigDecimal afterFailure = adapter.getBrlToUsdRate();
+        BigDecimal whileOpen = adapter.getBrlToUsdRate();
+
+        assertThat(afterFailure).isEqualByComparingTo(new BigDecimal("0.200000"));
+        assertThat(whileOpen).isEqualByComparingTo(new BigDecimal("0.200000"));
+        verify(exchangeRateClient, times(2)).getLatestRates("BRL");
+    }
 }
@@ -0,0 +1,72 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), now::get);
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve abrir após as falhas consecutivas e recusar chamadas")
+    void shouldOpenAfterConsecutiveFailures() {
+        fail(3);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sucesso deve zerar a contagem de falhas")
+    void shouldResetFailuresOnSuccess() {
+        fail(2);
+        breaker.tryAcquire();
+        breaker.onSuccess();
+        fail(2);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Deve liberar uma única chamada de teste após o tempo aberto")
+    void shouldAllowSingleTrialWhenHalfOpen() {
+        fail(3);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Falha na chamada de teste deve reabrir o circuito")
+    void shouldReopenWhenTrialFails() {
+        fail(3);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        breaker.tryAcquire();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
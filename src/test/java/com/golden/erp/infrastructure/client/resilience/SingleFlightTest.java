@@ -0,0 +1,129 @@
+package com.golden.erp.infrastructure.client.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(10));
+
+    @Test
+    @DisplayName("Chamadas simultâneas com a mesma chave devem compartilhar uma única execução")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.run("01001000", () -> {
+                executions.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "Praça da Sé";
+            }));
+            leaderStarted.await();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                followers.add(executor.submit(() -> singleFlight.run("01001000", () -> {
+                    executions.incrementAndGet();
+                    return "outra chamada";
+                })));
+            }
+            // Os seguidores já estão esperando o líder, que ainda não terminou
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            assertThat(leader.get()).isEqualTo("Praça da Sé");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get()).isEqualTo("Praça da Sé");
+            }
+        }
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a chave depois que a chamada termina")
+    void shouldReleaseKeyAfterCompletion() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.run("01001000", () -> "v" + executions.incrementAndGet());
+        String second = singleFlight.run("01001000", () -> "v" + executions.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Deve repassar a exceção e liberar a chave quando a chamada falha")
+    void shouldPropagateFailureAndReleaseKey() {
+        assertThatThrownBy(() -> singleFlight.run("01001000", () -> {
+            throw new IllegalStateException("ViaCEP fora");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("ViaCEP fora");
+
+        assertThat(singleFlight.run("01001000", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Deve repassar um Error a quem espera em vez de deixá-lo preso")
+    void shouldPropagateErrorToFollowers() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.run("01001000", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new OutOfMemoryError("sem memória");
+            }));
+            leaderStarted.await();
+            Future<String> follower = executor.submit(() -> singleFlight.run("01001000", () -> "outra chamada"));
+            TimeUnit.MILLISECONDS.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve fazer a própria chamada quando a chamada em andamento passa do limite de espera")
+    void shouldCallDirectlyWhenWaitExpires() throws Exception {
+        SingleFlight<String, String> bounded = new SingleFlight<>(Duration.ofMillis(100));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> bounded.run("01001000", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "líder";
+            }));
+            leaderStarted.await();
+
+            assertThat(bounded.run("01001000", () -> "própria")).isEqualTo("própria");
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("líder");
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
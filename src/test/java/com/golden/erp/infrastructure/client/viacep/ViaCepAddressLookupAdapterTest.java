@@ -1,16 +1,33 @@
 package com.golden.erp.infrastructure.client.viacep;
 
 import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.AddressLookupUnavailableException;
 import com.golden.erp.domain.exception.DomainException;
+import com.golden.erp.infrastructure.client.resilience.ExternalCallResilience;
+import com.golden.erp.infrastructure.persistence.cep.CepCache;
+import com.golden.erp.infrastructure.persistence.cep.CepCache.CachedCep;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,9 +36,25 @@ class ViaCepAddressLookupAdapterTest {
     @Mock
     private ViaCepClient viaCepClient;
 
-    @InjectMocks
+    @Mock
+    private CepCache cepCache;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExternalCallResilience resilience = new ExternalCallResilience(executor, new SimpleMeterRegistry());
+
     private ViaCepAddressLookupAdapter adapter;
 
+    @BeforeEach
+    void setUp() {
+        adapter = new ViaCepAddressLookupAdapter(viaCepClient, cepCache, resilience, 3, 1, 1000, 5, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resilience.destroy();
+        executor.close();
+    }
+
     @Test
     @DisplayName("Deve retornar endereço quando CEP é válido")
     void shouldReturnAddressForValidCep() {
@@ -72,7 +105,7 @@ class ViaCepAddressLookupAdapterTest {
         when(viaCepClient.findByCep("01001000")).thenThrow(new RuntimeException("Timeout"));
 
         assertThatThrownBy(() -> adapter.lookup("01001000"))
-                .isInstanceOf(DomainException.class)
+                .isInstanceOf(AddressLookupUnavailableException.class)
                 .hasMessageContaining("tentativas");
     }
 
@@ -86,4 +119,69 @@ class ViaCepAddressLookupAdapterTest {
 
         assertThat(result.getCep()).isEqualTo("01001000");
     }
+
+    @Test
+    @DisplayName("Deve responder do cache sem consultar o ViaCEP")
+    void shouldReturnCachedAddress() {
+        when(cepCache.get("01001000")).thenReturn(Optional.of(new CachedCep(
+                "01001000", true, "Praça da Sé", "Sé", "São Paulo", "SP", LocalDateTime.now().plusDays(1))));
+
+        Address result = adapter.lookup("01001-000");
+
+        assertThat(result.getLogradouro()).isEqualTo("Praça da Sé");
+        assertThat(result.getCep()).isEqualTo("01001000");
+        verifyNoInteractions(viaCepClient);
+    }
+
+    @Test
+    @DisplayName("Deve responder CEP não encontrado do cache sem consultar o ViaCEP")
+    void shouldThrowForCachedNotFound() {
+        when(cepCache.get("99999999")).thenReturn(Optional.of(new CachedCep(
+                "99999999", false, null, null, null, null, LocalDateTime.now().plusHours(1))));
+
+        assertThatThrownBy(() -> adapter.lookup("99999999"))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("CEP não encontrado");
+        verifyNoInteractions(viaCepClient);
+    }
+
+    @Test
+    @DisplayName("Deve guardar no cache o endereço encontrado e o CEP inexistente")
+    void shouldCacheFoundAndNotFound() {
+        when(viaCepClient.findByCep("01001000")).thenReturn(
+                new ViaCepResponse("01001-000", "Praça da Sé", null, "Sé", "São Paulo", "SP", null));
+        when(viaCepClient.findByCep("99999999")).thenReturn(
+                new ViaCepResponse(null, null, null, null, null, null, true));
+
+        Address found = adapter.lookup("01001000");
+        assertThatThrownBy(() -> adapter.lookup("99999999")).isInstanceOf(DomainException.class);
+
+        verify(cepCache).putFound("01001000", found);
+        verify(cepCache).putNotFound("99999999");
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache as falhas de rede")
+    void shouldNotCacheNetworkFailures() {
+        when(viaCepClient.findByCep("01001000")).thenThrow(new RuntimeException("Timeout"));
+
+        assertThatThrownBy(() -> adapter.lookup("01001000"))
+                .isInstanceOf(AddressLookupUnavailableException.class);
+        verify(cepCache, never()).putFound(anyString(), any());
+        verify(cepCache, never()).putNotFound(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve recusar na hora as consultas com o circuito aberto")
+    void shouldFailFastWhenCircuitIsOpen() {
+        adapter = new ViaCepAddressLookupAdapter(viaCepClient, cepCache, resilience, 1, 1, 1000, 2, 30);
+        when(viaCepClient.findByCep("01001000")).thenThrow(new RuntimeException("Timeout"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> adapter.lookup("01001000"))
+                    .isInstanceOf(AddressLookupUnavailableException.class);
+        }
+
+        verify(viaCepClient, times(2)).findByCep("01001000");
+    }
 }
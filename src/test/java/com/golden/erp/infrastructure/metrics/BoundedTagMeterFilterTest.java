@@ -0,0 +1,50 @@
+package com.golden.erp.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTagMeterFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.config().meterFilter(new BoundedTagMeterFilter("stock.lock.wait", "sku", 2));
+    }
+
+    private void recordWait(String sku) {
+        meterRegistry.timer("stock.lock.wait", "sku", sku, "outcome", "acquired").record(Duration.ofMillis(5));
+    }
+
+    @Test
+    @DisplayName("Deve manter os primeiros SKUs e agrupar os demais em other")
+    void shouldCollapseSkusBeyondLimit() {
+        recordWait("SKU-1");
+        recordWait("SKU-2");
+        recordWait("SKU-3");
+        recordWait("SKU-4");
+        recordWait("SKU-1");
+
+        assertThat(meterRegistry.get("stock.lock.wait").tag("sku", "SKU-1").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("stock.lock.wait").tag("sku", "SKU-2").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("stock.lock.wait").tag("sku", BoundedTagMeterFilter.OTHER).timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("stock.lock.wait").timers()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar outros meters")
+    void shouldIgnoreOtherMeters() {
+        for (int i = 0; i < 5; i++) {
+            meterRegistry.counter("orders.created", "sku", "SKU-" + i).increment();
+        }
+
+        assertThat(meterRegistry.find("orders.created").counters()).hasSize(5);
+    }
+}
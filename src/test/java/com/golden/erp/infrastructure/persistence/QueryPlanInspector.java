@@ -0,0 +1,144 @@
+package com.golden.erp.infrastructure.persistence;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Envolve o {@link DataSource} para gravar os statements preparados e os valores ligados a eles.
+ * Depois roda {@code EXPLAIN} em cada um com os valores embutidos no SQL, como o plano que o
+ * banco monta para a execução real, e aponta os que leem uma tabela inteira.
+ */
+public class QueryPlanInspector {
+
+    private static final String TABLE_SCAN = "tableScan";
+    private static final String DIRECT_LOOKUP = "direct lookup";
+
+    private final List<RecordedStatement> recorded = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+    private DataSource target;
+
+    public DataSource wrap(DataSource dataSource) {
+        this.target = dataSource;
+        return proxy(DataSource.class, dataSource, (method, result, args) ->
+                result instanceof Connection connection ? wrapConnection(connection) : result);
+    }
+
+    /** Executa {@code call} e devolve os planos, com os valores ligados, que fazem table scan. */
+    public List<String> tableScansOf(Runnable call) {
+        recorded.clear();
+        recording = true;
+        try {
+            call.run();
+        } finally {
+            recording = false;
+        }
+        if (recorded.isEmpty()) {
+            throw new IllegalStateException("Nenhum statement foi executado");
+        }
+
+        List<String> scans = new ArrayList<>();
+        for (RecordedStatement statement : List.copyOf(recorded)) {
+            String plan = explain(statement.inlined());
+            if (plan.contains(TABLE_SCAN) && !plan.contains(DIRECT_LOOKUP)) {
+                scans.add(plan.replaceAll("\\s+", " "));
+            }
+        }
+        return scans;
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = target.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("EXPLAIN " + sql)) {
+            result.next();
+            return result.getString(1);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha no EXPLAIN de: " + sql, e);
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, result, args) -> {
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return wrapStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (method, result, args) -> {
+            String name = method.getName();
+            if (name.equals("setNull")) {
+                parameters.put((Integer) args[0], null);
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, args[1]);
+            } else if (recording && name.startsWith("execute") && isExplainable(sql)) {
+                recorded.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+            }
+            return result;
+        });
+    }
+
+    private boolean isExplainable(String sql) {
+        String command = sql.stripLeading().toLowerCase();
+        return command.startsWith("select") || command.startsWith("update") || command.startsWith("delete");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T delegate, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return afterCall.apply(method, method.invoke(delegate, args), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(QueryPlanInspector.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object result, Object[] args) throws Exception;
+    }
+
+    private record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+
+        String inlined() {
+            StringBuilder sqlWithValues = new StringBuilder();
+            int index = 0;
+            for (char c : sql.toCharArray()) {
+                if (c == '?') {
+                    sqlWithValues.append(literal(parameters.get(++index)));
+                } else {
+                    sqlWithValues.append(c);
+                }
+            }
+            return sqlWithValues.toString();
+        }
+
+        private static String literal(Object value) {
+            if (value == null) return "NULL";
+            if (value instanceof Number || value instanceof Boolean) return value.toString();
+            if (value instanceof LocalDateTime dateTime) return "TIMESTAMP '" + dateTime.toString().replace('T', ' ') + "'";
+            if (value instanceof java.sql.Timestamp timestamp) return "TIMESTAMP '" + timestamp + "'";
+            if (value instanceof Temporal temporal) return "'" + temporal + "'";
+            return "'" + value.toString().replace("'", "''") + "'";
+        }
+    }
+}
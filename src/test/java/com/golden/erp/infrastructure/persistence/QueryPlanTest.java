@@ -0,0 +1,216 @@
+package com.golden.erp.infrastructure.persistence;
+
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import com.golden.erp.infrastructure.persistence.customer.CustomerJpaRepository;
+import com.golden.erp.infrastructure.persistence.idempotency.IdempotencyKeyJpaRepository;
+import com.golden.erp.infrastructure.persistence.order.OrderIntakeJpaRepository;
+import com.golden.erp.infrastructure.persistence.order.OrderJpaRepository;
+import com.golden.erp.infrastructure.persistence.product.ProductJpaRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regressão de planos: roda {@code EXPLAIN} nas consultas dos repositórios sobre uma massa grande
+ * e falha se alguma ler a tabela inteira. O schema vem do changelog do Liquibase, não do Hibernate,
+ * então são os índices das migrações que estão sob teste. Ficam de fora a busca de clientes por trecho do nome ou
+ * e-mail ({@code LIKE '%...%'}), o alerta de estoque baixo e os clientes com enriquecimento de
+ * endereço pendente, que no PostgreSQL usam índices parciais que o H2 não tem.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+
+    private static final int CUSTOMERS = 5_000;
+    private static final int PRODUCTS = 5_000;
+    private static final int ORDERS = 50_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int SHARDED_PRODUCTS = 500;
+    private static final int SHARDS = 8;
+    private static final int INTAKES = 20_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final QueryPlanInspector INSPECTOR = new QueryPlanInspector();
+
+    @TestConfiguration
+    static class InspectorConfig {
+
+        @Bean
+        static BeanPostProcessor queryPlanInspectorDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? INSPECTOR.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private CustomerJpaRepository customerJpaRepository;
+
+    @Autowired
+    private OrderIntakeJpaRepository intakeJpaRepository;
+
+    @Autowired
+    private IdempotencyKeyJpaRepository idempotencyKeyJpaRepository;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO customers (id, nome, email, cpf, enriquecimento_pendente)
+                SELECT X, 'Cliente ' || X, 'cliente' || X || '@email.com', LPAD(X, 11, '0'), FALSE
+                FROM SYSTEM_RANGE(1, ?)""", CUSTOMERS);
+        jdbcTemplate.update("""
+                INSERT INTO products (id, sku, nome, preco_bruto, estoque, estoque_minimo, ativo, shards)
+                SELECT X, 'SKU-' || X, 'Produto ' || X, 10.00, MOD(X, 50), 10, MOD(X, 10) > 0, 1
+                FROM SYSTEM_RANGE(1, ?)""", PRODUCTS);
+        jdbcTemplate.update("UPDATE products SET shards = ?, estoque = 0 WHERE id <= ?", SHARDS, SHARDED_PRODUCTS);
+        jdbcTemplate.update("""
+                INSERT INTO product_stock_shards (produto_id, shard, estoque)
+                SELECT X / ? + 1, MOD(X, ?), 5
+                FROM SYSTEM_RANGE(0, ?)""", SHARDS, SHARDS, SHARDED_PRODUCTS * SHARDS - 1);
+        jdbcTemplate.update("""
+                INSERT INTO orders (id, cliente_id, cliente_nome, status, subtotal, descontos, total, data_criacao)
+                SELECT X, MOD(X, ?) + 1, 'Cliente', CASEWHEN(MOD(X, 20) = 0, 'CREATED', CASEWHEN(MOD(X, 2) = 0, 'PAID', 'CANCELLED')),
+                       MOD(X, 500), 0, MOD(X, 500), DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)""", CUSTOMERS, ORDERS);
+        jdbcTemplate.update("""
+                INSERT INTO order_items (id, order_id, produto_id, produto_nome, quantidade, preco_unitario, subtotal, total)
+                SELECT X, (X + ?) / ?, MOD(X, ?) + 1, 'Produto', 1, 10.00, 10.00, 10.00
+                FROM SYSTEM_RANGE(1, ?)""", ITEMS_PER_ORDER - 1, ITEMS_PER_ORDER, PRODUCTS, ORDERS * ITEMS_PER_ORDER);
+        jdbcTemplate.update("""
+                INSERT INTO order_intake (id, menor_produto_id, status, requisicao, tentativas, versao, data_criacao, data_atualizacao)
+                SELECT X, MOD(X, ?) + 1, CASEWHEN(MOD(X, 100) = 0, 'PENDING', 'DONE'), '{}', 0, 0, DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00'), DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)""", PRODUCTS, INTAKES);
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (chave, pedido_id, resposta, data_criacao)
+                SELECT 'chave-' || X, X, '{}', DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)""", INTAKES);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM order_items");
+        jdbcTemplate.execute("DELETE FROM orders");
+        jdbcTemplate.execute("DELETE FROM order_intake");
+        jdbcTemplate.execute("DELETE FROM idempotency_keys");
+        jdbcTemplate.execute("DELETE FROM product_stock_shards");
+        jdbcTemplate.execute("DELETE FROM products");
+        jdbcTemplate.execute("DELETE FROM customers");
+    }
+
+    @Test
+    @DisplayName("Consultas de pedidos não devem ler a tabela inteira")
+    void orderQueriesShouldUseIndexes() {
+        Pageable byDate = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "dataCriacao"));
+        LocalDateTime middle = START.plusMinutes(ORDERS / 2);
+        List<String> scans = new ArrayList<>();
+
+        scans.addAll(scansOf(() -> orderJpaRepository.findIdsWithFilters(OrderStatus.PAID, null, byDate)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findIdsWithFilters(null, 42L, byDate)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findIdsWithFilters(OrderStatus.CREATED, 42L, byDate)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findIdsWithFilters(null, null,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "total")))));
+        scans.addAll(scansOf(() -> orderJpaRepository.findSummariesWithFilters(OrderStatus.PAID, null, byDate)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findSummariesWithFilters(null, 42L, byDate)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findFirstIdsByKeyset(null, null, Limit.of(20))));
+        scans.addAll(scansOf(() -> orderJpaRepository.findFirstIdsByKeyset(OrderStatus.PAID, null, Limit.of(20))));
+        scans.addAll(scansOf(() -> orderJpaRepository.findIdsAfterByKeyset(null, null, middle, 25_000L, Limit.of(20))));
+        scans.addAll(scansOf(() -> orderJpaRepository.findIdsAfterByKeyset(null, 42L, middle, 25_000L, Limit.of(20))));
+        scans.addAll(scansOf(() -> orderJpaRepository.findAllWithItemsByIdIn(List.of(1L, 2L, 3L))));
+        scans.addAll(scansOf(() -> orderJpaRepository.findWithItemsById(1L)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findVersionById(1L)));
+        scans.addAll(scansOf(() -> orderJpaRepository.findByStatusAndDataCriacaoBefore(
+                OrderStatus.CREATED, START.plusHours(2))));
+
+        assertThat(scans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Consultas de produtos e clientes não devem ler a tabela inteira")
+    void productAndCustomerQueriesShouldUseIndexes() {
+        List<String> scans = new ArrayList<>();
+
+        scans.addAll(scansOf(() -> productJpaRepository.findAllById(List.of(1L, 2L, 3L))));
+        scans.addAll(scansOf(() -> productJpaRepository.existsBySku("SKU-42")));
+        scans.addAll(scansOf(() -> productJpaRepository.existsBySkuAndIdNot("SKU-42", 42L)));
+        scans.addAll(scansOf(() -> productJpaRepository.findStockById(42L)));
+        scans.addAll(scansOf(() -> productJpaRepository.findVersionById(42L)));
+        scans.addAll(scansOf(() -> productJpaRepository.findShardsByIds(List.of(1L, 2L, 3L))));
+        scans.addAll(scansOf(() -> customerJpaRepository.findById(42L)));
+        scans.addAll(scansOf(() -> customerJpaRepository.findVersionById(42L)));
+
+        assertThat(scans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Fila de entrada e chaves de idempotência não devem ler a tabela inteira")
+    void intakeAndIdempotencyQueriesShouldUseIndexes() {
+        List<String> scans = new ArrayList<>();
+
+        scans.addAll(scansOf(() -> intakeJpaRepository.findIdsByStatusInQueueOrder(
+                OrderIntakeStatus.PENDING, PageRequest.of(0, 50))));
+        scans.addAll(scansOf(() -> intakeJpaRepository.countByStatus(OrderIntakeStatus.PENDING)));
+        scans.addAll(scansOf(() -> inRolledBackTransaction(() -> intakeJpaRepository.updateStatusBefore(
+                OrderIntakeStatus.PROCESSING, OrderIntakeStatus.PENDING, START))));
+        scans.addAll(scansOf(() -> inRolledBackTransaction(() ->
+                idempotencyKeyJpaRepository.deleteByDataCriacaoBefore(START.plusMinutes(10)))));
+
+        assertThat(scans).isEmpty();
+    }
+
+    private List<String> scansOf(Runnable call) {
+        return INSPECTOR.tableScansOf(call);
+    }
+
+    private void inRolledBackTransaction(Runnable call) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        });
+    }
+}
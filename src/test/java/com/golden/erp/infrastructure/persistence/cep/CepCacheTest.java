@@ -0,0 +1,141 @@
+package com.golden.erp.infrastructure.persistence.cep;
+
+import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.infrastructure.persistence.cep.CepCache.CachedCep;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CepCacheTest {
+
+    private static final Address SE = Address.builder()
+            .logradouro("Praça da Sé").bairro("Sé").cidade("São Paulo").uf("SP").cep("01001000")
+            .build();
+
+    @Autowired
+    private CepCacheJpaRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    private CepCache cache(long notFoundTtlHours) {
+        return new CepCache(jpaRepository, transactionManager, meterRegistry, 100, 30, notFoundTtlHours);
+    }
+
+    @Test
+    @DisplayName("Deve responder da memória sem ir à tabela")
+    void shouldServeFromMemory() {
+        CepCache cache = cache(24);
+        cache.putFound("01001000", SE);
+
+        Optional<CachedCep> cached = cache.get("01001000");
+
+        assertThat(cached).map(CachedCep::toAddress).get().extracting(Address::getLogradouro).isEqualTo("Praça da Sé");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "cep").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cep.cache.database").tag("result", "hit").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve recuperar da tabela o CEP gravado por outra instância")
+    void shouldServeFromTableAfterRestart() {
+        cache(24).putFound("01001000", SE);
+        CepCache restarted = cache(24);
+
+        Optional<CachedCep> cached = restarted.get("01001000");
+
+        assertThat(cached).isPresent();
+        assertThat(cached.get().encontrado()).isTrue();
+        assertThat(cached.get().cidade()).isEqualTo("São Paulo");
+        assertThat(meterRegistry.get("cep.cache.database").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve guardar CEP inexistente com TTL próprio")
+    void shouldCacheNotFoundWithShorterTtl() {
+        cache(24).putNotFound("99999999");
+        cache(0).putNotFound("88888888");
+
+        assertThat(cache(24).get("99999999")).map(CachedCep::encontrado).contains(false);
+        assertThat(cache(0).get("88888888")).isEmpty();
+        assertThat(jpaRepository.findById("99999999").orElseThrow().getDataExpiracao())
+                .isBefore(LocalDateTime.now().plusHours(25));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar e sobrescrever a linha vencida")
+    void shouldOverwriteExpiredRow() {
+        jpaRepository.save(CepCacheJpaEntity.builder()
+                .cep("01001000").encontrado(false).dataExpiracao(LocalDateTime.now().minusMinutes(1))
+                .build());
+        CepCache cache = cache(24);
+
+        assertThat(cache.get("01001000")).isEmpty();
+
+        cache.putFound("01001000", SE);
+
+        assertThat(jpaRepository.count()).isEqualTo(1);
+        assertThat(jpaRepository.findById("01001000").orElseThrow().getEncontrado()).isTrue();
+        assertThat(meterRegistry.get("cep.cache.database").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar a tabela só depois da transação do chamador, fora dela")
+    void shouldWriteTableAfterCallerTransaction() throws InterruptedException {
+        CepCache cache = cache(24);
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        caller.executeWithoutResult(status -> {
+            cache.putFound("01001000", SE);
+            assertThat(jpaRepository.existsById("01001000")).isFalse();
+        });
+
+        assertThat(awaitStored("01001000")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o CEP mesmo quando a transação do chamador é desfeita")
+    void shouldWriteTableAfterCallerRollback() throws InterruptedException {
+        CepCache cache = cache(24);
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+
+        caller.executeWithoutResult(status -> {
+            cache.putNotFound("99999999");
+            status.setRollbackOnly();
+        });
+
+        assertThat(awaitStored("99999999")).isTrue();
+    }
+
+    private boolean awaitStored(String cep) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (jpaRepository.existsById(cep)) return true;
+            Thread.sleep(20);
+        }
+        return false;
+    }
+}
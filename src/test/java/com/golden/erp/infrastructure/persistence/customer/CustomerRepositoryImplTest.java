@@ -2,6 +2,8 @@ package com.golden.erp.infrastructure.persistence.customer;
 
 import com.golden.erp.domain.customer.entity.Customer;
 import com.golden.erp.domain.customer.valueobject.Address;
+import com.golden.erp.domain.exception.DuplicateFieldException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,15 +11,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -53,13 +59,13 @@ class CustomerRepositoryImplTest {
     @DisplayName("Deve salvar cliente")
     void shouldSave() {
         when(mapper.toJpaEntity(sampleCustomer)).thenReturn(sampleEntity);
-        when(jpaRepository.save(sampleEntity)).thenReturn(sampleEntity);
+        when(jpaRepository.saveAndFlush(sampleEntity)).thenReturn(sampleEntity);
         when(mapper.toDomain(sampleEntity)).thenReturn(sampleCustomer);
 
         Customer result = repository.save(sampleCustomer);
 
         assertThat(result.getId()).isEqualTo(1L);
-        verify(jpaRepository).save(sampleEntity);
+        verify(jpaRepository).saveAndFlush(sampleEntity);
     }
 
     @Test
@@ -74,6 +80,24 @@ class CustomerRepositoryImplTest {
         assertThat(result.get().getNome()).isEqualTo("João");
     }
 
+    @Test
+    @DisplayName("Deve buscar vários clientes por ID em uma única consulta")
+    void shouldFindAllByIds() {
+        when(jpaRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(sampleEntity));
+        when(mapper.toDomain(sampleEntity)).thenReturn(sampleCustomer);
+
+        List<Customer> result = repository.findAllByIds(Set.of(1L, 2L));
+
+        assertThat(result).containsExactly(sampleCustomer);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco para lista vazia de IDs")
+    void shouldNotQueryForEmptyIds() {
+        assertThat(repository.findAllByIds(Set.of())).isEmpty();
+        verifyNoInteractions(jpaRepository);
+    }
+
     @Test
     @DisplayName("Deve retornar vazio quando não encontrado")
     void shouldReturnEmptyWhenNotFound() {
@@ -85,11 +109,11 @@ class CustomerRepositoryImplTest {
     }
 
     @Test
-    @DisplayName("Deve buscar todos com filtros")
-    void shouldFindAllWithFilters() {
+    @DisplayName("Deve buscar por trecho do nome em minúsculas")
+    void shouldSearchByNome() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<CustomerJpaEntity> page = new PageImpl<>(List.of(sampleEntity));
-        when(jpaRepository.findAllWithFilters("João", null, pageable)).thenReturn(page);
+        when(jpaRepository.searchByNome("%joão%", pageable)).thenReturn(page);
         when(mapper.toDomain(sampleEntity)).thenReturn(sampleCustomer);
 
         Page<Customer> result = repository.findAll("João", null, pageable);
@@ -98,31 +122,65 @@ class CustomerRepositoryImplTest {
     }
 
     @Test
-    @DisplayName("Deve verificar existência por email")
-    void shouldCheckExistsByEmail() {
-        when(jpaRepository.existsByEmail("joao@email.com")).thenReturn(true);
-        assertThat(repository.existsByEmail("joao@email.com")).isTrue();
+    @DisplayName("Deve escolher a consulta conforme os filtros informados")
+    void shouldPickQueryByFilters() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<CustomerJpaEntity> empty = Page.empty(pageable);
+        when(jpaRepository.searchByEmail("%@email%", pageable)).thenReturn(empty);
+        when(jpaRepository.searchByNomeAndEmail("%jo%", "%@email%", pageable)).thenReturn(empty);
+        when(jpaRepository.findAll(pageable)).thenReturn(empty);
+
+        repository.findAll(null, "@EMAIL", pageable);
+        repository.findAll("Jo", "@email", pageable);
+        repository.findAll(" ", null, pageable);
+
+        verify(jpaRepository).searchByEmail("%@email%", pageable);
+        verify(jpaRepository).searchByNomeAndEmail("%jo%", "%@email%", pageable);
+        verify(jpaRepository).findAll(pageable);
     }
 
     @Test
-    @DisplayName("Deve verificar existência por CPF")
-    void shouldCheckExistsByCpf() {
-        when(jpaRepository.existsByCpf("12345678901")).thenReturn(true);
-        assertThat(repository.existsByCpf("12345678901")).isTrue();
+    @DisplayName("Deve escapar curingas do termo buscado")
+    void shouldEscapeWildcards() {
+        assertThat(CustomerRepositoryImpl.containsPattern("50%_a\\b")).isEqualTo("%50\\%\\_a\\\\b%");
+        assertThat(CustomerRepositoryImpl.containsPattern(null)).isNull();
     }
 
     @Test
-    @DisplayName("Deve verificar existência por email excluindo ID")
-    void shouldCheckExistsByEmailAndIdNot() {
-        when(jpaRepository.existsByEmailAndIdNot("joao@email.com", 1L)).thenReturn(false);
-        assertThat(repository.existsByEmailAndIdNot("joao@email.com", 1L)).isFalse();
+    @DisplayName("Deve traduzir violação do índice de email em DuplicateFieldException")
+    void shouldTranslateEmailViolation() {
+        when(mapper.toJpaEntity(sampleCustomer)).thenReturn(sampleEntity);
+        when(jpaRepository.saveAndFlush(sampleEntity)).thenThrow(violation("PUBLIC.IDX_CUSTOMER_EMAIL ON PUBLIC.CUSTOMERS(EMAIL)"));
+
+        assertThatThrownBy(() -> repository.save(sampleCustomer))
+                .isInstanceOf(DuplicateFieldException.class)
+                .hasMessageContaining("email: joao@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve traduzir violação do índice de CPF em DuplicateFieldException")
+    void shouldTranslateCpfViolation() {
+        when(mapper.toJpaEntity(sampleCustomer)).thenReturn(sampleEntity);
+        when(jpaRepository.saveAndFlush(sampleEntity)).thenThrow(violation("customers_cpf_key"));
+
+        assertThatThrownBy(() -> repository.save(sampleCustomer))
+                .isInstanceOf(DuplicateFieldException.class)
+                .hasMessageContaining("cpf: 12345678901");
     }
 
     @Test
-    @DisplayName("Deve verificar existência por CPF excluindo ID")
-    void shouldCheckExistsByCpfAndIdNot() {
-        when(jpaRepository.existsByCpfAndIdNot("12345678901", 1L)).thenReturn(false);
-        assertThat(repository.existsByCpfAndIdNot("12345678901", 1L)).isFalse();
+    @DisplayName("Deve repassar violação de outro constraint sem traduzir")
+    void shouldRethrowOtherViolations() {
+        when(mapper.toJpaEntity(sampleCustomer)).thenReturn(sampleEntity);
+        when(jpaRepository.saveAndFlush(sampleEntity)).thenThrow(violation("customers_pkey"));
+
+        assertThatThrownBy(() -> repository.save(sampleCustomer))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraint));
     }
 
     @Test
@@ -0,0 +1,80 @@
+package com.golden.erp.infrastructure.persistence.customer;
+
+import com.golden.erp.domain.customer.entity.Customer;
+import com.golden.erp.domain.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Semântica da busca por trecho no H2 do perfil de teste. No PostgreSQL as mesmas consultas usam
+ * os índices de trigramas; o {@code CustomerTrigramSearchBenchmarkTest} mede esse caminho.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CustomerRepositoryImpl.class, CustomerMapper.class})
+class CustomerSearchQueryTest {
+
+    private final Pageable byNome = PageRequest.of(0, 10, Sort.by("nome"));
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerJpaRepository jpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository.saveAll(List.of(
+                customer("João Silva", "joao.silva@email.com", "00000000001"),
+                customer("Maria Joana", "maria_joana@empresa.com", "00000000002"),
+                customer("Desconto 50%", "promo@loja.com", "00000000003"),
+                customer("Pedro", "pedro@email.com", "00000000004")));
+    }
+
+    @Test
+    @DisplayName("Deve buscar trecho do nome sem diferenciar maiúsculas")
+    void shouldMatchNomeIgnoringCase() {
+        assertThat(nomes("JO", null)).containsExactly("João Silva", "Maria Joana");
+    }
+
+    @Test
+    @DisplayName("Deve combinar os filtros de nome e e-mail")
+    void shouldCombineFilters() {
+        assertThat(nomes("jo", "@email.com")).containsExactly("João Silva");
+        assertThat(nomes(null, "@EMAIL")).containsExactly("João Silva", "Pedro");
+    }
+
+    @Test
+    @DisplayName("Deve tratar % e _ do termo como texto")
+    void shouldTreatWildcardsAsText() {
+        assertThat(nomes("50%", null)).containsExactly("Desconto 50%");
+        assertThat(nomes(null, "a_j")).containsExactly("Maria Joana");
+        assertThat(nomes("%", null)).containsExactly("Desconto 50%");
+    }
+
+    @Test
+    @DisplayName("Deve listar todos sem filtros")
+    void shouldListAllWithoutFilters() {
+        assertThat(nomes(null, " ")).hasSize(4);
+    }
+
+    private List<String> nomes(String nome, String email) {
+        return customerRepository.findAll(nome, email, byNome).map(Customer::getNome).getContent();
+    }
+
+    private CustomerJpaEntity customer(String nome, String email, String cpf) {
+        return CustomerJpaEntity.builder().nome(nome).email(email).cpf(cpf).build();
+    }
+}
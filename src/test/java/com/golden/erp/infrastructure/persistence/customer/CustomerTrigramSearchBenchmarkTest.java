@@ -0,0 +1,130 @@
+package com.golden.erp.infrastructure.persistence.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a busca de clientes por trecho do nome em 5 milhões de linhas no PostgreSQL, antes e depois
+ * do índice GIN de trigramas da migração {@code 013}. Roda só com {@code BENCHMARK_POSTGRES_URL}
+ * (e {@code BENCHMARK_POSTGRES_USER}/{@code BENCHMARK_POSTGRES_PASSWORD}) apontando para um banco
+ * descartável; usa um schema próprio, removido no fim.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_POSTGRES_URL", matches = ".+")
+class CustomerTrigramSearchBenchmarkTest {
+
+    private static final int CUSTOMERS = 5_000_000;
+    private static final int RUNS = 5;
+    private static final String SCHEMA = "bench_customer_trgm";
+
+    // O mesmo predicado que o CustomerJpaRepository.searchByNome gera
+    private static final String SEARCH_SQL = """
+            SELECT id, nome, email FROM customers
+            WHERE lower(nome) LIKE ? ESCAPE '\\'
+            ORDER BY nome LIMIT 20""";
+    private static final String COUNT_SQL = "SELECT count(*) FROM customers WHERE lower(nome) LIKE ? ESCAPE '\\'";
+
+    @Test
+    @DisplayName("Busca por trecho do nome deve usar o índice de trigramas em 5M clientes")
+    void shouldUseTrigramIndex() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getenv("BENCHMARK_POSTGRES_URL"),
+                System.getenv("BENCHMARK_POSTGRES_USER"), System.getenv("BENCHMARK_POSTGRES_PASSWORD"));
+             Statement statement = connection.createStatement()) {
+            try {
+                seed(statement);
+                String pattern = "%" + term(statement) + "%";
+
+                long withoutIndex = medianNanos(connection, pattern);
+                String seqPlan = plan(statement, pattern);
+
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                statement.execute("CREATE INDEX idx_customer_nome_trgm ON customers USING gin (lower(nome) gin_trgm_ops)");
+                statement.execute("ANALYZE customers");
+                long withIndex = medianNanos(connection, pattern);
+                String indexPlan = plan(statement, pattern);
+
+                log.info("Busca '{}' em {} clientes: {} ms sem índice, {} ms com trigramas ({}x)",
+                        pattern, CUSTOMERS, TimeUnit.NANOSECONDS.toMillis(withoutIndex),
+                        TimeUnit.NANOSECONDS.toMillis(withIndex),
+                        String.format("%.1f", withoutIndex / (double) Math.max(withIndex, 1)));
+                log.info("Plano sem índice:\n{}\nPlano com índice:\n{}", seqPlan, indexPlan);
+
+                assertThat(indexPlan).contains("idx_customer_nome_trgm");
+                assertThat(withIndex).isLessThan(withoutIndex);
+            } finally {
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    private void seed(Statement statement) throws SQLException {
+        statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        statement.execute("CREATE SCHEMA " + SCHEMA);
+        statement.execute("SET search_path TO " + SCHEMA);
+        statement.execute("""
+                CREATE TABLE customers (
+                    id BIGINT PRIMARY KEY,
+                    nome VARCHAR(255) NOT NULL,
+                    email VARCHAR(255) NOT NULL)""");
+        statement.execute("""
+                INSERT INTO customers (id, nome, email)
+                SELECT i, 'Cliente ' || substr(md5(i::text), 1, 10), 'cliente' || i || '@email.com'
+                FROM generate_series(1, %d) AS i""".formatted(CUSTOMERS));
+        statement.execute("CREATE INDEX idx_customer_nome ON customers (nome)");
+        statement.execute("ANALYZE customers");
+    }
+
+    /** Trecho de um nome existente, com poucas ocorrências na tabela. */
+    private String term(Statement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery("SELECT substr(md5('4242424'), 3, 6)")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private long medianNanos(Connection connection, String pattern) throws SQLException {
+        long[] timings = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            query(connection, SEARCH_SQL, pattern);
+            query(connection, COUNT_SQL, pattern);
+            timings[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[RUNS / 2];
+    }
+
+    private void query(Connection connection, String sql, String pattern) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, pattern);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    result.getObject(1);
+                }
+            }
+        }
+    }
+
+    private String plan(Statement statement, String pattern) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet result = statement.executeQuery("EXPLAIN ANALYZE " + COUNT_SQL.replace("?", "'" + pattern + "'"))) {
+            while (result.next()) {
+                plan.append(result.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.golden.erp.infrastructure.persistence.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.golden.erp.application.order.dto.CreateOrderRequest;
+import com.golden.erp.application.order.dto.OrderItemRequest;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.domain.exception.DuplicateFieldException;
+import com.golden.erp.domain.exception.IdempotencyKeyReuseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyAdapterTest {
+
+    @Mock
+    private IdempotencyKeyJpaRepository jpaRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderIdempotencyAdapter adapter;
+
+    private OrderResponse sampleResponse;
+
+    private final CreateOrderRequest request = requestFor(2);
+
+    @BeforeEach
+    void setUp() {
+        adapter = new OrderIdempotencyAdapter(jpaRepository, objectMapper, 24, 100);
+        sampleResponse = OrderResponse.builder()
+                .id(1L).clienteId(1L).clienteNome("João").status("CREATED")
+                .itens(List.of())
+                .total(new BigDecimal("94.80"))
+                .dataCriacao(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve responder da memória após gravar, sem consultar o banco")
+    void shouldServeFromMemoryAfterSave() {
+        adapter.save("chave-1", request, sampleResponse);
+
+        Optional<OrderResponse> result = adapter.find("chave-1", request);
+
+        assertThat(result).containsSame(sampleResponse);
+        verify(jpaRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar no banco quando não está em memória e guardar para as próximas")
+    void shouldLoadFromDatabaseAndCache() throws Exception {
+        when(jpaRepository.findById("chave-1")).thenReturn(Optional.of(IdempotencyKeyJpaEntity.builder()
+                .chave("chave-1").pedidoId(1L)
+                .resposta(objectMapper.writeValueAsString(sampleResponse))
+                .dataCriacao(LocalDateTime.now().minusHours(1))
+                .build()));
+
+        Optional<OrderResponse> first = adapter.find("chave-1", request);
+        Optional<OrderResponse> second = adapter.find("chave-1", request);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getId()).isEqualTo(1L);
+        assertThat(first.get().getTotal()).isEqualByComparingTo("94.80");
+        assertThat(second).isPresent();
+        verify(jpaRepository, times(1)).findById("chave-1");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a mesma chave com outro corpo de requisição")
+    void shouldRejectKeyReusedWithDifferentBody() {
+        adapter.save("chave-1", request, sampleResponse);
+
+        assertThatThrownBy(() -> adapter.find("chave-1", requestFor(3)))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThat(adapter.find("chave-1", requestFor(2))).containsSame(sampleResponse);
+    }
+
+    @Test
+    @DisplayName("Deve comparar o hash gravado no banco com o corpo da retentativa")
+    void shouldCompareStoredHash() throws Exception {
+        adapter.save("chave-1", request, sampleResponse);
+        ArgumentCaptor<IdempotencyKeyJpaEntity> saved = ArgumentCaptor.captor();
+        verify(jpaRepository).saveAndFlush(saved.capture());
+        saved.getValue().setDataCriacao(LocalDateTime.now());
+        when(jpaRepository.findById("chave-1")).thenReturn(Optional.of(saved.getValue()));
+
+        OrderIdempotencyAdapter otherInstance = new OrderIdempotencyAdapter(jpaRepository, objectMapper, 24, 100);
+
+        assertThat(saved.getValue().getHashRequisicao()).hasSize(64);
+        assertThatThrownBy(() -> otherInstance.find("chave-1", requestFor(3)))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThat(otherInstance.find("chave-1", requestFor(2))).isPresent();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar chave gravada há mais tempo que o TTL")
+    void shouldIgnoreExpiredKey() {
+        when(jpaRepository.findById("chave-1")).thenReturn(Optional.of(IdempotencyKeyJpaEntity.builder()
+                .chave("chave-1").pedidoId(1L).resposta("{}")
+                .dataCriacao(LocalDateTime.now().minusHours(25))
+                .build()));
+
+        assertThat(adapter.find("chave-1", request)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve traduzir chave duplicada no banco para conflito")
+    void shouldTranslateDuplicateKey() {
+        when(jpaRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("pk"));
+
+        assertThatThrownBy(() -> adapter.save("chave-1", request, sampleResponse))
+                .isInstanceOf(DuplicateFieldException.class);
+        assertThat(adapter.find("chave-1", request)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar chave gravada antes do hash existir")
+    void shouldAcceptLegacyKeyWithoutHash() throws Exception {
+        when(jpaRepository.findById("chave-1")).thenReturn(Optional.of(IdempotencyKeyJpaEntity.builder()
+                .chave("chave-1").pedidoId(1L)
+                .resposta(objectMapper.writeValueAsString(sampleResponse))
+                .dataCriacao(LocalDateTime.now().minusHours(1))
+                .build()));
+
+        assertThat(adapter.find("chave-1", requestFor(3))).isPresent();
+    }
+
+    @Test
+    @DisplayName("Deve remover chaves expiradas")
+    void shouldPurgeExpired() {
+        when(jpaRepository.deleteByDataCriacaoBefore(any(LocalDateTime.class))).thenReturn(3);
+
+        assertThat(adapter.purgeExpired()).isEqualTo(3);
+    }
+
+    private static CreateOrderRequest requestFor(int quantidade) {
+        return CreateOrderRequest.builder()
+                .clienteId(1L)
+                .itens(List.of(OrderItemRequest.builder().produtoId(1L).quantidade(quantidade).build()))
+                .build();
+    }
+}
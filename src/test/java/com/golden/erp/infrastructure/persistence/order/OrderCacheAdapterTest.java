@@ -0,0 +1,123 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.domain.exception.EntityNotFoundException;
+import com.golden.erp.infrastructure.persistence.RowVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCacheAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private OrderCacheAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new OrderCacheAdapter(meterRegistry, 100, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private final Function<Long, OrderResponse> loader = id -> {
+        loads.incrementAndGet();
+        return OrderResponse.builder().id(id).status("CREATED").total(new BigDecimal("94.80")).build();
+    };
+
+    @Test
+    @DisplayName("Deve carregar uma vez e responder as próximas leituras da memória")
+    void shouldLoadOnceAndServeFromCache() {
+        OrderResponse first = cache.get(1L, loader);
+        OrderResponse second = cache.get(1L, loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "orders").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "orders").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve carregar de novo depois de remover o pedido")
+    void shouldReloadAfterEvict() {
+        cache.get(1L, loader);
+
+        cache.evict(1L);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o pedido em cache que está atrás da versão do banco")
+    void shouldReloadWhenCachedVersionIsStale() {
+        AtomicInteger updates = new AtomicInteger();
+        Function<Long, OrderResponse> versioned = id -> {
+            loads.incrementAndGet();
+            return OrderResponse.builder().id(id).status("CREATED")
+                    .dataAtualizacao(LocalDateTime.of(2025, 3, 10, 12, 0).plusMinutes(updates.get()))
+                    .build();
+        };
+        OrderResponse first = cache.get(1L, versioned);
+        String firstVersion = OrderCacheAdapter.versionOf(first);
+
+        assertThat(cache.get(1L, firstVersion, versioned)).isSameAs(first);
+
+        updates.incrementAndGet();
+        String current = new RowVersion(LocalDateTime.of(2025, 3, 10, 12, 1)).token();
+        OrderResponse reloaded = cache.get(1L, current, versioned);
+
+        assertThat(OrderCacheAdapter.versionOf(reloaded)).isEqualTo(current).isNotEqualTo(firstVersion);
+        assertThat(cache.get(1L, versioned)).isSameAs(reloaded);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar pedido não encontrado")
+    void shouldNotCacheLoaderFailure() {
+        Function<Long, OrderResponse> failing = id -> {
+            loads.incrementAndGet();
+            throw new EntityNotFoundException("Pedido", id);
+        };
+
+        assertThatThrownBy(() -> cache.get(99L, failing)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(99L, failing)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve remover de novo ao fim da transação o valor carregado antes do commit")
+    void shouldEvictAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.get(1L, loader);
+
+        cache.evict(1L);
+        cache.get(1L, loader);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(3);
+    }
+}
@@ -0,0 +1,95 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.repository.OrderRepository;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "orders.export.fetch-size=7")
+@ActiveProfiles("test")
+@Import({OrderRepositoryImpl.class, OrderMapper.class, OrderExportAdapter.class})
+class OrderExportAdapterTest {
+
+    private static final int ORDERS = 60;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderExportAdapter exportAdapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            OrderStatus status = i % 3 == 0 ? OrderStatus.PAID : OrderStatus.CREATED;
+            orderRepository.save(order(i % 2 == 0 ? 1L : 2L, status, i % 10 == 0 ? 0 : 3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada pedido uma vez, em ordem de ID e com todos os itens")
+    void shouldStreamEveryOrderWithItems() {
+        List<Order> exported = new ArrayList<>();
+
+        exportAdapter.forEach(null, null, exported::add);
+
+        assertThat(exported).hasSize(ORDERS);
+        assertThat(exported).extracting(Order::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(exported).filteredOn(order -> order.getItens().isEmpty()).hasSize(ORDERS / 10);
+        assertThat(exported).filteredOn(order -> !order.getItens().isEmpty())
+                .allSatisfy(order -> {
+                    assertThat(order.getItens()).hasSize(3);
+                    assertThat(order.getTotal()).isEqualByComparingTo("58.20");
+                    assertThat(order.getItens().get(1).getTotal()).isEqualByComparingTo("18.40");
+                });
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os filtros de status e cliente")
+    void shouldApplyFilters() {
+        List<Order> exported = new ArrayList<>();
+
+        exportAdapter.forEach(OrderStatus.PAID, 1L, exported::add);
+
+        assertThat(exported).isNotEmpty()
+                .allMatch(order -> order.getStatus() == OrderStatus.PAID && order.getClienteId() == 1L);
+        assertThat(exported).hasSize(10);
+    }
+
+    private Order order(Long clienteId, OrderStatus status, int quantidadeItens) {
+        List<OrderItem> itens = IntStream.rangeClosed(1, quantidadeItens)
+                .mapToObj(i -> OrderItem.builder()
+                        .produtoId((long) i).produtoNome("Produto " + i)
+                        .quantidade(i).precoUnitario(new BigDecimal("9.95"))
+                        .desconto(i == 2 ? new BigDecimal("0.75") : null)
+                        .build())
+                .toList();
+        Order order = Order.builder()
+                .clienteId(clienteId).clienteNome("Cliente " + clienteId)
+                .status(status)
+                .itens(new ArrayList<>(itens))
+                .build();
+        order.calculateTotals();
+        return order;
+    }
+}
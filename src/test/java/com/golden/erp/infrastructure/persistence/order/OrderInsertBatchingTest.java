@@ -0,0 +1,72 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.repository.OrderRepository;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({OrderRepositoryImpl.class, OrderMapper.class})
+class OrderInsertBatchingTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Deve gravar um pedido com 20 itens em dois statements (inserts em lote)")
+    void shouldBatchInsertsForOrderWithTwentyItems() {
+        // Aquece os pools das sequences; a partir daqui as chaves saem da memória
+        orderRepository.save(orderWithItems(1));
+        orderRepository.save(orderWithItems(1));
+        entityManager.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Order saved = orderRepository.save(orderWithItems(20));
+        entityManager.flush();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getItens()).allMatch(item -> item.getId() != null);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(21);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Order orderWithItems(int quantidadeItens) {
+        List<OrderItem> itens = IntStream.rangeClosed(1, quantidadeItens)
+                .mapToObj(i -> OrderItem.builder()
+                        .produtoId((long) i).produtoNome("Produto " + i)
+                        .quantidade(1).precoUnitario(new BigDecimal("10.00"))
+                        .build())
+                .toList();
+        return Order.builder()
+                .clienteId(1L).clienteNome("João")
+                .status(OrderStatus.CREATED)
+                .itens(new ArrayList<>(itens))
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.repository.OrderIntakeRepository;
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Uma solicitação lenta devolvida à fila por {@code requeueStale} e reivindicada de novo não pode
+ * ser concluída pelos dois workers.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderIntakeRepositoryImpl.class, OrderIntakeMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderIntakeReclaimTest {
+
+    @Autowired
+    private OrderIntakeRepository intakeRepository;
+
+    @Autowired
+    private OrderIntakeJpaRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar o resultado do worker que perdeu a solicitação para outro")
+    void shouldRejectCompletionFromSupersededClaim() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = intakeRepository.save(OrderIntake.builder().requisicao("{}").menorProdutoId(1L).build()).getId();
+
+        OrderIntake slow = tx.execute(status -> intakeRepository.claimPending(10)).getFirst();
+        int requeued = tx.execute(status -> intakeRepository.requeueProcessingBefore(LocalDateTime.now().plusMinutes(1)));
+        OrderIntake current = tx.execute(status -> intakeRepository.claimPending(10)).getFirst();
+
+        slow.complete(100L);
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> intakeRepository.save(slow)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        current.complete(200L);
+        tx.executeWithoutResult(status -> intakeRepository.save(current));
+
+        OrderIntake stored = intakeRepository.findById(id).orElseThrow();
+        assertThat(requeued).isEqualTo(1);
+        assertThat(stored.getStatus()).isEqualTo(OrderIntakeStatus.DONE);
+        assertThat(stored.getPedidoId()).isEqualTo(200L);
+    }
+
+    @Test
+    @DisplayName("Deve concluir normalmente a solicitação reivindicada uma única vez")
+    void shouldCompleteSingleClaim() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = intakeRepository.save(OrderIntake.builder().requisicao("{}").menorProdutoId(1L).build()).getId();
+
+        List<OrderIntake> claimed = tx.execute(status -> intakeRepository.claimPending(10));
+        claimed.getFirst().complete(100L);
+        tx.executeWithoutResult(status -> intakeRepository.save(claimed.getFirst()));
+
+        assertThat(intakeRepository.findById(id).orElseThrow().getStatus()).isEqualTo(OrderIntakeStatus.DONE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.OrderIntake;
+import com.golden.erp.domain.order.valueobject.OrderIntakeStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeRepositoryImplTest {
+
+    @Mock
+    private OrderIntakeJpaRepository jpaRepository;
+
+    @Spy
+    private OrderIntakeMapper mapper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private OrderIntakeRepositoryImpl repository;
+
+    private OrderIntakeJpaEntity entity(long id, long menorProdutoId) {
+        return OrderIntakeJpaEntity.builder()
+                .id(id).status(OrderIntakeStatus.PROCESSING)
+                .requisicao("{}").menorProdutoId(menorProdutoId)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve reivindicar apenas as solicitações que ainda estavam PENDING")
+    void shouldClaimOnlyRowsStillPending() {
+        when(jpaRepository.findIdsByStatusInQueueOrder(OrderIntakeStatus.PENDING, PageRequest.of(0, 10)))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0, 1});
+        when(jpaRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(entity(3L, 2L), entity(1L, 9L)));
+
+        List<OrderIntake> claimed = repository.claimPending(10);
+
+        assertThat(claimed).extracting(OrderIntake::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Não deve executar UPDATE quando a fila está vazia")
+    void shouldNotClaimWhenQueueIsEmpty() {
+        when(jpaRepository.findIdsByStatusInQueueOrder(OrderIntakeStatus.PENDING, PageRequest.of(0, 10)))
+                .thenReturn(List.of());
+
+        assertThat(repository.claimPending(10)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
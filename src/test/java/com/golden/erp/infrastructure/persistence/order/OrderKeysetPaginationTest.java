@@ -0,0 +1,88 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.repository.OrderRepository;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderRepositoryImpl.class, OrderMapper.class})
+class OrderKeysetPaginationTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve percorrer todos os pedidos por cursor, sem repetir nem pular, mesmo com datas iguais")
+    void shouldWalkAllOrdersWithoutGapsOrDuplicates() {
+        List<Order> saved = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            saved.add(orderRepository.save(order(i % 2 == 0 ? 1L : 2L, OrderStatus.CREATED)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Order> walked = walk(null, null, 10);
+
+        List<Long> expected = saved.stream()
+                .sorted(Comparator.comparing(Order::getDataCriacao).thenComparing(Order::getId).reversed())
+                .map(Order::getId)
+                .toList();
+        assertThat(walked).extracting(Order::getId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os filtros de cliente e status em todas as páginas")
+    void shouldApplyFiltersOnEveryPage() {
+        for (int i = 0; i < 12; i++) {
+            orderRepository.save(order(i % 3 == 0 ? 1L : 2L, i % 2 == 0 ? OrderStatus.PAID : OrderStatus.CREATED));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Order> walked = walk(OrderStatus.PAID, 2L, 2);
+
+        assertThat(walked).hasSize(4);
+        assertThat(walked).allMatch(o -> o.getClienteId().equals(2L) && o.getStatus() == OrderStatus.PAID);
+    }
+
+    private List<Order> walk(OrderStatus status, Long clienteId, int size) {
+        List<Order> walked = new ArrayList<>();
+        LocalDateTime dataCriacao = null;
+        Long id = null;
+        while (true) {
+            List<Order> page = orderRepository.findAfter(status, clienteId, dataCriacao, id, size);
+            walked.addAll(page);
+            if (page.size() < size) {
+                return walked;
+            }
+            dataCriacao = page.getLast().getDataCriacao();
+            id = page.getLast().getId();
+        }
+    }
+
+    private Order order(Long clienteId, OrderStatus status) {
+        return Order.builder()
+                .clienteId(clienteId).clienteNome("Cliente " + clienteId)
+                .status(status)
+                .itens(new ArrayList<>())
+                .build();
+    }
+}
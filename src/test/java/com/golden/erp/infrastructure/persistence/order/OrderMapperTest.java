@@ -76,6 +76,64 @@ class OrderMapperTest {
         assertThat(result.getItens().get(0).getOrder()).isEqualTo(result);
     }
 
+    @Test
+    @DisplayName("Deve usar os totais gravados sem recalcular a partir dos itens")
+    void shouldMapStoredTotalsToDomain() {
+        OrderJpaEntity orderEntity = OrderJpaEntity.builder()
+                .id(1L).clienteId(10L).clienteNome("Cliente")
+                .status(OrderStatus.PAID)
+                .subtotal(new BigDecimal("75.00"))
+                .descontos(new BigDecimal("7.50"))
+                .total(new BigDecimal("67.50"))
+                .itens(new ArrayList<>())
+                .build();
+        orderEntity.getItens().add(OrderItemJpaEntity.builder()
+                .id(1L).order(orderEntity)
+                .produtoId(5L).produtoNome("Produto")
+                .quantidade(3).precoUnitario(new BigDecimal("25.00"))
+                .desconto(new BigDecimal("2.50"))
+                .subtotal(new BigDecimal("75.00"))
+                .total(new BigDecimal("67.50"))
+                .build());
+
+        Order result = mapper.toDomain(orderEntity);
+
+        assertThat(result.getSubtotal()).isEqualByComparingTo("75.00");
+        assertThat(result.getDescontos()).isEqualByComparingTo("7.50");
+        assertThat(result.getTotal()).isEqualByComparingTo("67.50");
+        assertThat(result.getItens().get(0).getTotal()).isEqualByComparingTo("67.50");
+        assertThat(result.getItens().get(0).getDescontoTotal()).isEqualByComparingTo("7.50");
+    }
+
+    @Test
+    @DisplayName("Deve gravar os totais do pedido e de cada item")
+    void shouldMapTotalsToJpaEntity() {
+        Order order = Order.builder()
+                .clienteId(10L).clienteNome("Cliente")
+                .itens(new ArrayList<>(List.of(
+                        OrderItem.builder()
+                                .produtoId(5L).produtoNome("Produto")
+                                .quantidade(3).precoUnitario(new BigDecimal("25.00"))
+                                .desconto(new BigDecimal("2.50"))
+                                .build(),
+                        OrderItem.builder()
+                                .produtoId(6L).produtoNome("Outro")
+                                .quantidade(2).precoUnitario(new BigDecimal("10.00"))
+                                .build())))
+                .build();
+        order.calculateTotals();
+
+        OrderJpaEntity result = mapper.toJpaEntity(order);
+
+        assertThat(result.getSubtotal()).isEqualByComparingTo("95.00");
+        assertThat(result.getDescontos()).isEqualByComparingTo("7.50");
+        assertThat(result.getTotal()).isEqualByComparingTo("87.50");
+        assertThat(result.getItens()).extracting(OrderItemJpaEntity::getSubtotal)
+                .containsExactly(new BigDecimal("75.00"), new BigDecimal("20.00"));
+        assertThat(result.getItens()).extracting(OrderItemJpaEntity::getTotal)
+                .containsExactly(new BigDecimal("67.50"), new BigDecimal("20.00"));
+    }
+
     @Test
     @DisplayName("Deve retornar null quando domain eh null")
     void shouldReturnNullWhenDomainNull() {
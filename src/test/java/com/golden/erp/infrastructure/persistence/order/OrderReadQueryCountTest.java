@@ -0,0 +1,108 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.repository.OrderRepository;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regressão de N+1: listar pedidos não pode disparar uma consulta de itens por pedido.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({OrderRepositoryImpl.class, OrderMapper.class})
+class OrderReadQueryCountTest {
+
+    private static final int ORDERS = 100;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            orderRepository.save(orderWithItems(3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve listar 100 pedidos com itens em no máximo 3 statements")
+    void shouldListPageWithAtMostThreeStatements() {
+        Page<Order> page = orderRepository.findAll(null, null,
+                PageRequest.of(0, ORDERS, Sort.by(Sort.Direction.DESC, "dataCriacao")));
+
+        assertThat(page.getContent()).hasSize(ORDERS);
+        assertThat(page.getContent()).allMatch(order -> order.getItens().size() == 3);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve listar 100 pedidos por cursor em 2 statements")
+    void shouldListKeysetPageWithTwoStatements() {
+        List<Order> orders = orderRepository.findAfter(null, null, null, null, ORDERS);
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).allMatch(order -> order.getItens().size() == 3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve buscar pedidos atrasados com itens numa única consulta")
+    void shouldFindLateOrdersInOneStatement() {
+        List<Order> orders = orderRepository.findByStatusAndDataCriacaoBefore(
+                OrderStatus.CREATED, LocalDateTime.now().plusMinutes(1));
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).allMatch(order -> order.getItens().size() == 3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Order orderWithItems(int quantidadeItens) {
+        List<OrderItem> itens = IntStream.rangeClosed(1, quantidadeItens)
+                .mapToObj(i -> OrderItem.builder()
+                        .produtoId((long) i).produtoNome("Produto " + i)
+                        .quantidade(1).precoUnitario(new BigDecimal("10.00"))
+                        .build())
+                .toList();
+        return Order.builder()
+                .clienteId(1L).clienteNome("João")
+                .status(OrderStatus.CREATED)
+                .itens(new ArrayList<>(itens))
+                .build();
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -77,10 +78,24 @@ class OrderRepositoryImplTest {
         assertThat(result.getId()).isEqualTo(1L);
     }
 
+    @Test
+    @DisplayName("Deve salvar pedidos em lote com uma única chamada ao repositório")
+    void shouldSaveAll() {
+        when(mapper.toJpaEntity(sampleOrder)).thenReturn(sampleEntity);
+        when(jpaRepository.saveAll(List.of(sampleEntity, sampleEntity))).thenReturn(List.of(sampleEntity, sampleEntity));
+        when(mapper.toDomain(sampleEntity)).thenReturn(sampleOrder);
+
+        List<Order> result = repository.saveAll(List.of(sampleOrder, sampleOrder));
+
+        assertThat(result).hasSize(2);
+        verify(jpaRepository, times(1)).saveAll(any());
+        verify(jpaRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Deve buscar por ID")
     void shouldFindById() {
-        when(jpaRepository.findById(1L)).thenReturn(Optional.of(sampleEntity));
+        when(jpaRepository.findWithItemsById(1L)).thenReturn(Optional.of(sampleEntity));
         when(mapper.toDomain(sampleEntity)).thenReturn(sampleOrder);
 
         Optional<Order> result = repository.findById(1L);
@@ -89,16 +104,61 @@ class OrderRepositoryImplTest {
     }
 
     @Test
-    @DisplayName("Deve buscar todos com filtros")
+    @DisplayName("Deve buscar a página de IDs e depois os pedidos com itens, mantendo a ordem")
     void shouldFindAllWithFilters() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<OrderJpaEntity> page = new PageImpl<>(List.of(sampleEntity));
-        when(jpaRepository.findAllWithFilters(OrderStatus.CREATED, null, pageable)).thenReturn(page);
+        OrderJpaEntity other = OrderJpaEntity.builder().id(2L).clienteId(1L).clienteNome("João")
+                .status(OrderStatus.CREATED).build();
+        Order otherOrder = Order.builder().id(2L).build();
+        when(jpaRepository.findIdsWithFilters(OrderStatus.CREATED, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 12));
+        when(jpaRepository.findAllWithItemsByIdIn(List.of(2L, 1L))).thenReturn(List.of(sampleEntity, other));
         when(mapper.toDomain(sampleEntity)).thenReturn(sampleOrder);
+        when(mapper.toDomain(other)).thenReturn(otherOrder);
 
         Page<Order> result = repository.findAll(OrderStatus.CREATED, null, pageable);
 
-        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent()).extracting(Order::getId).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Não deve buscar itens quando a página de IDs está vazia")
+    void shouldSkipItemQueryForEmptyPage() {
+        Pageable pageable = PageRequest.of(5, 10);
+        when(jpaRepository.findIdsWithFilters(null, null, pageable)).thenReturn(Page.empty(pageable));
+
+        Page<Order> result = repository.findAll(null, null, pageable);
+
+        assertThat(result.getContent()).isEmpty();
+        verify(jpaRepository, never()).findAllWithItemsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar a primeira página do cursor sem condição de posição")
+    void shouldFindFirstKeysetPage() {
+        when(jpaRepository.findFirstIdsByKeyset(null, 1L, Limit.of(21))).thenReturn(List.of(1L));
+        when(jpaRepository.findAllWithItemsByIdIn(List.of(1L))).thenReturn(List.of(sampleEntity));
+        when(mapper.toDomain(sampleEntity)).thenReturn(sampleOrder);
+
+        List<Order> result = repository.findAfter(null, 1L, null, null, 21);
+
+        assertThat(result).hasSize(1);
+        verify(jpaRepository, never()).findIdsAfterByKeyset(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar a página seguinte a partir de (dataCriacao, id)")
+    void shouldFindKeysetPageAfterPosition() {
+        LocalDateTime dataCriacao = LocalDateTime.now();
+        when(jpaRepository.findIdsAfterByKeyset(OrderStatus.PAID, null, dataCriacao, 7L, Limit.of(21)))
+                .thenReturn(List.of(1L));
+        when(jpaRepository.findAllWithItemsByIdIn(List.of(1L))).thenReturn(List.of(sampleEntity));
+        when(mapper.toDomain(sampleEntity)).thenReturn(sampleOrder);
+
+        List<Order> result = repository.findAfter(OrderStatus.PAID, null, dataCriacao, 7L, 21);
+
+        assertThat(result).hasSize(1);
     }
 
     @Test
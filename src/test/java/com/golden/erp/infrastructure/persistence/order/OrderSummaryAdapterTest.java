@@ -0,0 +1,154 @@
+package com.golden.erp.infrastructure.persistence.order;
+
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.dto.OrderSummaryResponse;
+import com.golden.erp.domain.order.entity.Order;
+import com.golden.erp.domain.order.entity.OrderItem;
+import com.golden.erp.domain.order.repository.OrderRepository;
+import com.golden.erp.domain.order.valueobject.OrderStatus;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere a projeção resumida contra o mapeamento completo e compara os bytes alocados por
+ * página nos dois caminhos.
+ */
+@Slf4j
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderRepositoryImpl.class, OrderMapper.class, OrderSummaryAdapter.class})
+class OrderSummaryAdapterTest {
+
+    private static final int ORDERS = 100;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSummaryAdapter summaryAdapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final Pageable pageable = PageRequest.of(0, ORDERS, Sort.by(Sort.Direction.DESC, "dataCriacao"));
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ORDERS; i++) {
+            orderRepository.save(orderWithItems(i % 2 == 0 ? OrderStatus.CREATED : OrderStatus.PAID, 3));
+        }
+        orderRepository.save(orderWithItems(OrderStatus.CREATED, 0));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Deve calcular quantidade de itens e total iguais aos do pedido completo")
+    void shouldMatchFullMapping() {
+        Map<Long, Order> full = orderRepository.findAll(null, null, PageRequest.of(0, ORDERS + 1)).getContent()
+                .stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
+
+        Page<OrderSummaryResponse> page = summaryAdapter.findAll(null, null, PageRequest.of(0, ORDERS + 1));
+
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS + 1);
+        assertThat(page.getContent()).allSatisfy(summary -> {
+            Order order = full.get(summary.getId());
+            assertThat(summary.getQuantidadeItens()).isEqualTo(order.getItens().size());
+            assertThat(summary.getTotal()).isEqualByComparingTo(order.getTotal());
+            assertThat(summary.getStatus()).isEqualTo(order.getStatus().name());
+            assertThat(summary.getClienteNome()).isEqualTo(order.getClienteNome());
+        });
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os mesmos filtros e a ordenação da listagem completa")
+    void shouldApplyFiltersAndSort() {
+        Page<OrderSummaryResponse> page = summaryAdapter.findAll(OrderStatus.PAID, 1L,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataCriacao")));
+
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS / 2);
+        assertThat(page.getContent()).hasSize(10).allMatch(summary -> "PAID".equals(summary.getStatus()));
+        assertThat(page.getContent()).extracting(OrderSummaryResponse::getDataCriacao)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar pelo total gravado no pedido")
+    void shouldSortByStoredTotal() {
+        Page<OrderSummaryResponse> page = summaryAdapter.findAll(null, null,
+                PageRequest.of(0, ORDERS + 1, Sort.by(Sort.Direction.ASC, "total")));
+
+        assertThat(page.getContent().get(0).getTotal()).isEqualByComparingTo("0.00");
+        assertThat(page.getContent()).extracting(OrderSummaryResponse::getTotal)
+                .isSortedAccordingTo(BigDecimal::compareTo);
+    }
+
+    @Test
+    @DisplayName("Deve alocar menos por página que o mapeamento completo")
+    void shouldAllocateLessThanFullMapping() {
+        Supplier<Object> fullPath = () -> orderRepository.findAll(null, null, pageable).map(OrderResponse::from);
+        Supplier<Object> summaryPath = () -> summaryAdapter.findAll(null, null, pageable);
+
+        long fullBytes = bytesPerPage(fullPath);
+        long summaryBytes = bytesPerPage(summaryPath);
+
+        log.info("Alocação por página de {} pedidos: completo {} KB, resumo {} KB ({}%)",
+                ORDERS, fullBytes / 1024, summaryBytes / 1024, summaryBytes * 100 / fullBytes);
+        assertThat(summaryBytes).isLessThan(fullBytes);
+    }
+
+    private long bytesPerPage(Supplier<Object> path) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < ROUNDS; i++) {
+            path.get();
+            entityManager.clear();
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROUNDS; i++) {
+            path.get();
+            entityManager.clear();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ROUNDS;
+    }
+
+    private Order orderWithItems(OrderStatus status, int quantidadeItens) {
+        List<OrderItem> itens = IntStream.rangeClosed(1, quantidadeItens)
+                .mapToObj(i -> OrderItem.builder()
+                        .produtoId((long) i).produtoNome("Produto " + i)
+                        .quantidade(i).precoUnitario(new BigDecimal("19.90"))
+                        .desconto(i == 2 ? new BigDecimal("1.50") : null)
+                        .build())
+                .toList();
+        return Order.builder()
+                .clienteId(1L).clienteNome("João")
+                .status(status)
+                .itens(new ArrayList<>(itens))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import com.golden.erp.infrastructure.persistence.product.ProductCatalogCache.CatalogEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductCatalogCache cache = new ProductCatalogCache(meterRegistry, 100, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CatalogEntry entry(Long id, String nome) {
+        return entry(id, nome, "v1");
+    }
+
+    private CatalogEntry entry(Long id, String nome, String version) {
+        return new CatalogEntry(id, "SKU-" + id, nome, new BigDecimal("49.90"), 10, true, 1, version);
+    }
+
+    private Optional<CatalogEntry> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(entry(id, "Camiseta"));
+    }
+
+    @Test
+    @DisplayName("Deve carregar uma vez e registrar acertos e faltas")
+    void shouldLoadOnceAndRecordHitRatio() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar produto inexistente")
+    void shouldNotCacheMissingProduct() {
+        cache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar no cache uma carga iniciada antes da invalidação")
+    void shouldDiscardLoadStartedBeforeInvalidation() {
+        Optional<CatalogEntry> stale = cache.get(1L, id -> {
+            // Outra transação altera e invalida o produto enquanto a leitura antiga está em curso
+            cache.invalidate(1L);
+            return Optional.of(entry(id, "Nome antigo"));
+        });
+
+        Optional<CatalogEntry> fresh = cache.get(1L, id -> Optional.of(entry(id, "Nome novo")));
+
+        assertThat(stale).map(CatalogEntry::nome).contains("Nome antigo");
+        assertThat(fresh).map(CatalogEntry::nome).contains("Nome novo");
+    }
+
+    @Test
+    @DisplayName("Deve carregar em lote apenas os IDs ausentes")
+    void shouldLoadOnlyMissingIdsInBatch() {
+        cache.get(1L, this::load);
+
+        Map<Long, CatalogEntry> result = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            assertThat(ids).containsExactlyInAnyOrder(2L, 3L);
+            return ids.stream().map(id -> entry(id, "Produto " + id)).toList();
+        });
+
+        assertThat(result).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(cache.getAll(List.of(2L, 3L), ids -> List.of())).containsOnlyKeys(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar a entrada alterada no banco sem passar por este cache")
+    void shouldReloadEntryChangedBehindTheCache() {
+        cache.getAll(List.of(1L, 2L), ids -> ids.stream().map(id -> entry(id, "Produto " + id)).toList());
+
+        // Outra instância alterou o produto 2: a versão no banco mudou e nada foi invalidado aqui
+        Map<Long, CatalogEntry> result = cache.getAllCurrent(List.of(1L, 2L),
+                ids -> Map.of(1L, "v1", 2L, "v2"),
+                ids -> {
+                    assertThat(ids).containsExactly(2L);
+                    return List.of(entry(2L, "Produto 2 alterado", "v2"));
+                });
+
+        assertThat(result.get(1L).nome()).isEqualTo("Produto 1");
+        assertThat(result.get(2L).nome()).isEqualTo("Produto 2 alterado");
+        assertThat(cache.getAll(List.of(2L), ids -> List.of()).get(2L).version()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Não deve devolver do cache produto removido por outra instância")
+    void shouldDropEntryRemovedBehindTheCache() {
+        cache.get(1L, this::load);
+
+        Map<Long, CatalogEntry> result = cache.getAllCurrent(List.of(1L), ids -> Map.of(), ids -> List.of());
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve devolver um Product novo a cada leitura")
+    void shouldBuildFreshProductEachTime() {
+        CatalogEntry cached = cache.get(1L, this::load).orElseThrow();
+
+        assertThat(cached.toProduct(5)).isNotSameAs(cached.toProduct(5));
+        assertThat(cached.toProduct(5).getEstoque()).isEqualTo(5);
+    }
+}
@@ -32,6 +32,37 @@ class ProductMapperTest {
         assertThat(result.getAtivo()).isTrue();
     }
 
+    @Test
+    @DisplayName("Deve usar o saldo agregado dos shards quando carregado")
+    void shouldMapAggregatedStock() {
+        ProductJpaEntity entity = ProductJpaEntity.builder()
+                .id(1L).sku("SKU-001").nome("Camiseta")
+                .precoBruto(new BigDecimal("49.90"))
+                .estoque(0).estoqueMinimo(10).ativo(true).shards(4).estoqueTotal(37)
+                .build();
+
+        Product result = mapper.toDomain(entity);
+
+        assertThat(result.getEstoque()).isEqualTo(37);
+        assertThat(result.getShards()).isEqualTo(4);
+        assertThat(result.isLowStock()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve zerar a coluna de estoque de produto fragmentado")
+    void shouldClearStockColumnWhenSharded() {
+        Product product = Product.builder()
+                .id(1L).sku("SKU-001").nome("Camiseta")
+                .precoBruto(new BigDecimal("49.90"))
+                .estoque(100).estoqueMinimo(10).ativo(true).shards(8)
+                .build();
+
+        ProductJpaEntity result = mapper.toJpaEntity(product);
+
+        assertThat(result.getEstoque()).isZero();
+        assertThat(result.getShards()).isEqualTo(8);
+    }
+
     @Test
     @DisplayName("Deve retornar null quando entity eh null")
     void shouldReturnNullWhenEntityNull() {
@@ -1,24 +1,40 @@
 package com.golden.erp.infrastructure.persistence.product;
 
 import com.golden.erp.domain.product.entity.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +46,21 @@ class ProductRepositoryImplTest {
     @Mock
     private ProductMapper mapper;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StockReservationLedger ledger;
+
+    @Mock
+    private ProductRowLocker rowLocker;
+
+    @Mock
+    private ProductStockShards stockShards;
+
+    @Spy
+    private ProductCatalogCache catalogCache = new ProductCatalogCache(new SimpleMeterRegistry(), 100, 60);
+
     @InjectMocks
     private ProductRepositoryImpl repository;
 
@@ -59,17 +90,154 @@ class ProductRepositoryImplTest {
         Product result = repository.save(sampleProduct);
 
         assertThat(result.getId()).isEqualTo(1L);
+        verify(ledger).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o produto antes de dividir o estoque em shards")
+    void shouldSaveShardedProduct() {
+        Product sharded = Product.builder()
+                .id(1L).sku("SKU-001").nome("Camiseta")
+                .precoBruto(new BigDecimal("49.90")).estoque(100).estoqueMinimo(10).ativo(true).shards(8)
+                .build();
+        ProductJpaEntity entity = ProductJpaEntity.builder()
+                .id(1L).sku("SKU-001").nome("Camiseta")
+                .precoBruto(new BigDecimal("49.90")).estoque(0).estoqueMinimo(10).ativo(true).shards(8)
+                .build();
+        when(mapper.toJpaEntity(sharded)).thenReturn(entity);
+        when(jpaRepository.saveAndFlush(entity)).thenReturn(entity);
+        when(mapper.toDomain(entity)).thenReturn(Product.builder().id(1L).estoque(0).shards(8).build());
+
+        Product result = repository.save(sharded);
+
+        assertThat(result.getEstoque()).isEqualTo(100);
+        verify(stockShards).replace(1L, 8, 100);
+        verify(stockShards).evict(1L);
     }
 
     @Test
-    @DisplayName("Deve buscar por ID")
+    @DisplayName("Deve buscar por ID com o estoque lido do banco")
     void shouldFindById() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(100));
         when(jpaRepository.findById(1L)).thenReturn(Optional.of(sampleEntity));
-        when(mapper.toDomain(sampleEntity)).thenReturn(sampleProduct);
 
         Optional<Product> result = repository.findById(1L);
 
         assertThat(result).isPresent();
+        assertThat(result.get().getSku()).isEqualTo("SKU-001");
+        assertThat(result.get().getEstoque()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Deve servir o catálogo do cache e ler apenas o estoque nas buscas seguintes")
+    void shouldServeCatalogFromCacheOnFindById() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(100), Optional.of(97));
+        when(jpaRepository.findById(1L)).thenReturn(Optional.of(sampleEntity));
+
+        repository.findById(1L);
+        Product second = repository.findById(1L).orElseThrow();
+
+        assertThat(second.getEstoque()).isEqualTo(97);
+        verify(jpaRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve devolver produto que não existe mais no banco, mesmo em cache")
+    void shouldNotFindRemovedProduct() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(100), Optional.empty());
+        when(jpaRepository.findById(1L)).thenReturn(Optional.of(sampleEntity));
+        repository.findById(1L);
+
+        assertThat(repository.findById(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve carregar do banco apenas os produtos ausentes do catálogo em cache")
+    void shouldLoadOnlyMissingCatalogEntries() {
+        ProductJpaEntity other = ProductJpaEntity.builder()
+                .id(2L).sku("SKU-002").nome("Calça")
+                .precoBruto(new BigDecimal("99.90")).estoque(5).estoqueMinimo(1).ativo(true).shards(1)
+                .build();
+        when(jpaRepository.findAllById(List.of(1L))).thenReturn(List.of(sampleEntity));
+        when(jpaRepository.findAllById(List.of(2L))).thenReturn(List.of(other));
+        when(jpaRepository.findUpdatedAtByIds(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, null}));
+
+        repository.findCatalogByIds(List.of(1L));
+        List<Product> result = repository.findCatalogByIds(List.of(1L, 2L));
+
+        assertThat(result).extracting(Product::getSku).containsExactlyInAnyOrder("SKU-001", "SKU-002");
+        assertThat(result).extracting(Product::getEstoque).containsOnlyNulls();
+        verify(jpaRepository, times(1)).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o catálogo de produto alterado por outra instância")
+    void shouldReloadCatalogChangedBehindTheCache() {
+        LocalDateTime changedAt = LocalDateTime.of(2026, 10, 18, 10, 30);
+        ProductJpaEntity repriced = ProductJpaEntity.builder()
+                .id(1L).sku("SKU-001").nome("Camiseta")
+                .precoBruto(new BigDecimal("59.90")).estoque(100).estoqueMinimo(10).ativo(true).shards(1)
+                .dataAtualizacao(changedAt)
+                .build();
+        when(jpaRepository.findAllById(List.of(1L))).thenReturn(List.of(sampleEntity), List.of(repriced));
+        when(jpaRepository.findUpdatedAtByIds(List.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, changedAt}));
+        repository.findCatalogByIds(List.of(1L));
+
+        Product reloaded = repository.findCatalogByIds(List.of(1L)).getFirst();
+
+        assertThat(reloaded.getPrecoBruto()).isEqualByComparingTo("59.90");
+        verify(jpaRepository, times(2)).findAllById(List.of(1L));
+        verify(catalogCache, never()).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o catálogo depois de salvar o produto")
+    void shouldInvalidateCatalogOnSave() {
+        ProductJpaEntity renamed = ProductJpaEntity.builder()
+                .id(1L).sku("SKU-001").nome("Camiseta Nova")
+                .precoBruto(new BigDecimal("59.90")).estoque(100).estoqueMinimo(10).ativo(true).shards(1)
+                .build();
+        when(jpaRepository.findAllById(List.of(1L))).thenReturn(List.of(sampleEntity), List.of(renamed));
+        when(mapper.toJpaEntity(sampleProduct)).thenReturn(renamed);
+        when(jpaRepository.save(renamed)).thenReturn(renamed);
+        when(mapper.toDomain(renamed)).thenReturn(sampleProduct);
+        repository.findCatalogByIds(List.of(1L));
+
+        repository.save(sampleProduct);
+        Product reloaded = repository.findCatalogByIds(List.of(1L)).getFirst();
+
+        assertThat(reloaded.getNome()).isEqualTo("Camiseta Nova");
+        assertThat(reloaded.getPrecoBruto()).isEqualByComparingTo("59.90");
+        verify(catalogCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o catálogo ao remover o produto")
+    void shouldInvalidateCatalogOnDelete() {
+        repository.deleteById(1L);
+
+        verify(catalogCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Deve buscar vários produtos por IDs em uma única consulta")
+    void shouldFindAllByIds() {
+        when(jpaRepository.findAllById(Set.of(1L))).thenReturn(List.of(sampleEntity));
+        when(mapper.toDomain(sampleEntity)).thenReturn(sampleProduct);
+
+        List<Product> result = repository.findAllByIds(Set.of(1L));
+
+        assertThat(result).containsExactly(sampleProduct);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco quando a lista de IDs estiver vazia")
+    void shouldNotQueryWhenIdsAreEmpty() {
+        List<Product> result = repository.findAllByIds(Set.of());
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(jpaRepository);
     }
 
     @Test
@@ -104,6 +272,7 @@ class ProductRepositoryImplTest {
     void shouldDeleteById() {
         repository.deleteById(1L);
         verify(jpaRepository).deleteById(1L);
+        verify(ledger).evict(1L);
     }
 
     @Test
@@ -123,4 +292,93 @@ class ProductRepositoryImplTest {
 
         assertThat(result).hasSize(1);
     }
+
+    @Test
+    @DisplayName("Deve baixar estoque em lote ordenado por ID e retornar produtos sem saldo")
+    void shouldDecreaseStockInBatchOrderedById() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(3L, 1);
+        quantities.put(1L, 2);
+        when(ledger.tryReserve(anyLong(), anyInt())).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        Set<Long> rejected = repository.decreaseStock(quantities);
+
+        assertThat(rejected).containsExactly(3L);
+        verify(rowLocker).lockInIdOrder(List.of(1L, 3L));
+        verify(ledger).evict(3L);
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(contains("estoque >= ?"), args.capture());
+        assertThat(args.getValue()).containsExactly(new Object[]{2, 1L, 2}, new Object[]{1, 3L, 1});
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar pelo ledger sem acessar o banco e liberar as reservas já feitas")
+    void shouldRejectFromLedgerWithoutTouchingDatabase() {
+        when(ledger.tryReserve(1L, 2)).thenReturn(true);
+        when(ledger.tryReserve(3L, 1)).thenReturn(false);
+
+        Set<Long> rejected = repository.decreaseStock(Map.of(1L, 2, 3L, 1));
+
+        assertThat(rejected).containsExactly(3L);
+        verify(ledger).release(1L, 2);
+        verifyNoInteractions(jdbcTemplate, rowLocker);
+    }
+
+    @Test
+    @DisplayName("Deve devolver estoque em lote")
+    void shouldIncreaseStockInBatch() {
+        repository.increaseStock(Map.of(1L, 2));
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(contains("estoque = estoque + ?"), args.capture());
+        assertThat(args.getValue()).containsExactly(new Object[]{2, 1L});
+        verify(ledger).release(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Deve baixar produto fragmentado pelos shards, sem tocar na linha de products")
+    void shouldDecreaseShardedProductThroughShards() {
+        when(ledger.tryReserve(anyLong(), anyInt())).thenReturn(true);
+        when(stockShards.shardCounts(Set.of(1L))).thenReturn(Map.of(1L, 8));
+        when(stockShards.decrease(1L, 8, 2)).thenReturn(true);
+
+        Set<Long> rejected = repository.decreaseStock(Map.of(1L, 2));
+
+        assertThat(rejected).isEmpty();
+        verifyNoInteractions(jdbcTemplate, rowLocker);
+    }
+
+    @Test
+    @DisplayName("Deve refazer a baixa pelos shards quando o produto foi fragmentado por outra instância")
+    void shouldRetryThroughShardsWhenReSharded() {
+        when(ledger.tryReserve(anyLong(), anyInt())).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+        when(stockShards.refresh(1L)).thenReturn(4);
+        when(stockShards.decrease(1L, 4, 2)).thenReturn(true);
+
+        Set<Long> rejected = repository.decreaseStock(Map.of(1L, 2));
+
+        assertThat(rejected).isEmpty();
+        verify(ledger, never()).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Deve devolver estoque de produto fragmentado num dos shards")
+    void shouldIncreaseShardedProductThroughShards() {
+        when(stockShards.shardCounts(Set.of(1L))).thenReturn(Map.of(1L, 8));
+        when(stockShards.increase(1L, 8, 2)).thenReturn(true);
+
+        repository.increaseStock(Map.of(1L, 2));
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(ledger).release(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco ao baixar estoque sem itens")
+    void shouldNotTouchDatabaseWhenNothingToDecrease() {
+        assertThat(repository.decreaseStock(Map.of())).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
 }
@@ -0,0 +1,98 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import com.golden.erp.domain.exception.StockLockUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductRowLockerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductRowLocker locker(String mode) {
+        return new ProductRowLocker(jdbcTemplate, meterRegistry, mode, 2000);
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco quando o lock está desligado")
+    void shouldDoNothingWhenDisabled() {
+        locker("none").lockInIdOrder(Set.of(1L, 2L));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve bloquear as linhas num único SELECT em ordem crescente de ID")
+    void shouldLockInAscendingIdOrder() {
+        locker("nowait").lockInIdOrder(List.of(7L, 3L, 7L));
+
+        verify(jdbcTemplate, times(1)).query(
+                eq("SELECT id, sku FROM products WHERE id IN (?, ?) ORDER BY id FOR UPDATE NOWAIT"),
+                any(RowCallbackHandler.class), eq(3L), eq(7L));
+    }
+
+    @Test
+    @DisplayName("Deve travar a união de um lote mesmo com o lock desligado, sem NOWAIT")
+    void shouldLockAllEvenWhenDisabled() {
+        locker("none").lockAllInIdOrder(Set.of(5L, 2L));
+
+        verify(jdbcTemplate, times(1)).query(
+                eq("SELECT id, sku FROM products WHERE id IN (?, ?) ORDER BY id FOR UPDATE"),
+                any(RowCallbackHandler.class), eq(2L), eq(5L));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a espera do lock por SKU")
+    void shouldRecordWaitPerSku() throws Exception {
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong("id")).thenReturn(3L, 7L);
+        when(rows.getString("sku")).thenReturn("SKU-3", "SKU-7");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rows);
+            handler.processRow(rows);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(3L), eq(7L));
+
+        locker("nowait").lockInIdOrder(List.of(7L, 3L));
+
+        assertThat(meterRegistry.get("stock.lock.wait").tags("sku", "SKU-3", "outcome", "acquired").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("stock.lock.wait").tags("sku", "SKU-7", "outcome", "acquired").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve traduzir lock indisponível para exceção de domínio e registrar o timeout")
+    void shouldTranslateLockFailure() {
+        doThrow(new CannotAcquireLockException("lock"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1L));
+
+        assertThatThrownBy(() -> locker("nowait").lockInIdOrder(Set.of(1L)))
+                .isInstanceOf(StockLockUnavailableException.class);
+        // Sem o SKU conhecido, a tag leva o ID do produto
+        assertThat(meterRegistry.get("stock.lock.wait").tags("sku", "1", "outcome", "timeout").timer().count())
+                .isEqualTo(1);
+    }
+}
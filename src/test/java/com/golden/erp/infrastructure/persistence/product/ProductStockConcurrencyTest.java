@@ -0,0 +1,403 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import com.golden.erp.domain.exception.StockLockUnavailableException;
+import com.golden.erp.domain.product.entity.Product;
+import com.golden.erp.domain.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ProductRepositoryImpl.class, ProductMapper.class, StockReservationLedger.class,
+        ProductRowLocker.class, ProductStockShards.class, ProductCatalogCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final int INITIAL_STOCK = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductJpaRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StockReservationLedger ledger;
+
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Autowired
+    private ProductMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductStockShards stockShards;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_stock_shards");
+        jpaRepository.deleteAll();
+        ReflectionTestUtils.setField(ledger, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("Não deve vender além do estoque com pedidos concorrentes no mesmo SKU")
+    void shouldNeverOversellHotSku() throws Exception {
+        Long productId = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("HOT-001").nome("Produto Quente")
+                .precoBruto(new BigDecimal("10.00")).estoque(INITIAL_STOCK).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+
+        HotSkuResult result = hammer(productId, "ledger ligado");
+
+        assertThat(result.sold()).isEqualTo(INITIAL_STOCK);
+        assertThat(result.rejected()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK);
+        assertThat(jpaRepository.findById(productId).orElseThrow().getEstoque()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve manter a consistência com o ledger desligado (caminho direto por linha)")
+    void shouldNeverOversellWithoutLedger() throws Exception {
+        ReflectionTestUtils.setField(ledger, "enabled", false);
+        Long productId = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("HOT-002").nome("Produto Quente")
+                .precoBruto(new BigDecimal("10.00")).estoque(INITIAL_STOCK).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+
+        HotSkuResult result = hammer(productId, "ledger desligado");
+
+        assertThat(result.sold()).isEqualTo(INITIAL_STOCK);
+        assertThat(jpaRepository.findById(productId).orElseThrow().getEstoque()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve vender além do estoque com o SKU quente dividido em shards")
+    void shouldNeverOversellShardedHotSku() throws Exception {
+        ReflectionTestUtils.setField(ledger, "enabled", false);
+        Long productId = productRepository.save(Product.builder()
+                .sku("HOT-003").nome("Produto Quente").precoBruto(new BigDecimal("10.00"))
+                .estoque(INITIAL_STOCK).estoqueMinimo(0).ativo(true).shards(8)
+                .build()).getId();
+
+        HotSkuResult result = hammer(productId, "8 shards, ledger desligado");
+
+        assertThat(result.sold()).isEqualTo(INITIAL_STOCK);
+        assertThat(result.rejected()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK);
+        assertThat(productRepository.findById(productId).orElseThrow().getEstoque()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve mudar a versão do produto com a baixa de estoque, com e sem shards")
+    void shouldChangeVersionWhenStockChanges() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long plain = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("VER-001").nome("Produto").precoBruto(new BigDecimal("10.00"))
+                .estoque(10).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        Long sharded = productRepository.save(Product.builder()
+                .sku("VER-002").nome("Produto").precoBruto(new BigDecimal("10.00"))
+                .estoque(10).estoqueMinimo(0).ativo(true).shards(4)
+                .build()).getId();
+        String plainBefore = productRepository.findVersionById(plain).orElseThrow();
+        String shardedBefore = productRepository.findVersionById(sharded).orElseThrow();
+
+        tx.executeWithoutResult(status -> productRepository.decreaseStock(Map.of(plain, 1, sharded, 1)));
+
+        assertThat(productRepository.findVersionById(plain)).isPresent().get().isNotEqualTo(plainBefore);
+        assertThat(productRepository.findVersionById(sharded)).isPresent().get().isNotEqualTo(shardedBefore);
+        assertThat(productRepository.findVersionById(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve expor o saldo agregado dos shards e usá-lo no alerta de estoque baixo")
+    void shouldExposeAggregatedShardStock() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long productId = productRepository.save(Product.builder()
+                .sku("SHD-001").nome("Produto Fragmentado").precoBruto(new BigDecimal("10.00"))
+                .estoque(10).estoqueMinimo(5).ativo(true).shards(4)
+                .build()).getId();
+
+        Set<Long> rejected = tx.execute(status -> productRepository.decreaseStock(Map.of(productId, 6)));
+        Product product = productRepository.findById(productId).orElseThrow();
+
+        assertThat(rejected).isEmpty();
+        assertThat(product.getEstoque()).isEqualTo(4);
+        assertThat(product.isLowStock()).isTrue();
+        assertThat(productRepository.findAllWithLowStock()).extracting(Product::getId).containsExactly(productId);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a aceitar pedidos depois que o estoque é devolvido")
+    void shouldAcceptAgainAfterStockIsRestored() {
+        Long productId = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("RST-001").nome("Produto Devolvido")
+                .precoBruto(new BigDecimal("10.00")).estoque(1).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Map<Long, Integer> oneUnit = Map.of(productId, 1);
+
+        Set<Long> first = tx.execute(status -> productRepository.decreaseStock(oneUnit));
+        Set<Long> second = tx.execute(status -> productRepository.decreaseStock(oneUnit));
+        tx.executeWithoutResult(status -> productRepository.increaseStock(oneUnit));
+        Set<Long> afterRestore = tx.execute(status -> productRepository.decreaseStock(oneUnit));
+
+        assertThat(first).isEmpty();
+        assertThat(second).containsExactly(productId);
+        assertThat(afterRestore).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve entrar em deadlock quando dois lotes seguram shards diferentes e precisam de vários")
+    void shouldNotDeadlockWhenBatchesHoldDifferentShards() throws Exception {
+        ReflectionTestUtils.setField(ledger, "enabled", false);
+        Long productId = productRepository.save(Product.builder()
+                .sku("SHD-001").nome("Produto Fragmentado").precoBruto(new BigDecimal("10.00"))
+                .estoque(10).estoqueMinimo(0).ativo(true).shards(2)
+                .build()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch attempted = new CountDownLatch(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Set<Long>>> batches = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            // Cada lote baixa 1 unidade (trava um shard) e depois pede 6, mais do que cabe no seu shard
+            batches.add(executor.submit(() -> tx.execute(status -> {
+                assertThat(productRepository.decreaseStock(Map.of(productId, 1))).isEmpty();
+                holding.countDown();
+                awaitQuietly(holding);
+                Set<Long> rejected = productRepository.decreaseStock(Map.of(productId, 6));
+                // Nenhum dos dois confirma antes de o outro tentar, senão o shard liberado seria válido
+                attempted.countDown();
+                awaitQuietly(attempted);
+                return rejected;
+            })));
+        }
+
+        try {
+            for (Future<Set<Long>> batch : batches) {
+                assertThat(batch.get(10, TimeUnit.SECONDS)).containsExactly(productId);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(productRepository.findById(productId).orElseThrow().getEstoque()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a baixa sem alterar o estoque quando o saldo é insuficiente")
+    void shouldRejectWithoutTouchingStock() {
+        Long productId = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("LOW-001").nome("Produto Escasso")
+                .precoBruto(new BigDecimal("10.00")).estoque(2).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Set<Long> rejected = tx.execute(status -> productRepository.decreaseStock(Map.of(productId, 3)));
+
+        assertThat(rejected).containsExactly(productId);
+        assertThat(jpaRepository.findById(productId).orElseThrow().getEstoque()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve falhar imediatamente em modo NOWAIT quando outro pedido segura a linha")
+    void shouldFailFastWithNowaitWhenRowIsLocked() throws Exception {
+        Long productId = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("LCK-001").nome("Produto Disputado")
+                .precoBruto(new BigDecimal("10.00")).estoque(10).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        ProductRepository nowaitRepository = repositoryWithLock("nowait");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holder = executor.submit(() -> tx.executeWithoutResult(status -> {
+            nowaitRepository.decreaseStock(Map.of(productId, 1));
+            locked.countDown();
+            awaitQuietly(release);
+        }));
+
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+            long begin = System.nanoTime();
+            assertThatThrownBy(() -> tx.execute(status -> nowaitRepository.decreaseStock(Map.of(productId, 1))))
+                    .isInstanceOf(StockLockUnavailableException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(1_000);
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+        assertThat(jpaRepository.findById(productId).orElseThrow().getEstoque()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Não deve entrar em deadlock com pedidos que travam os mesmos produtos em ordens diferentes")
+    void shouldNotDeadlockWithCrossedProductOrder() throws Exception {
+        Long first = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("LCK-A").nome("Produto A")
+                .precoBruto(new BigDecimal("10.00")).estoque(INITIAL_STOCK).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        Long second = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("LCK-B").nome("Produto B")
+                .precoBruto(new BigDecimal("10.00")).estoque(INITIAL_STOCK).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        ProductRepository waitRepository = repositoryWithLock("wait");
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean reversed = t % 2 == 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 25; i++) {
+                    Map<Long, Integer> quantities = new LinkedHashMap<>();
+                    quantities.put(reversed ? second : first, 1);
+                    quantities.put(reversed ? first : second, 1);
+                    tx.executeWithoutResult(status -> waitRepository.decreaseStock(quantities));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(jpaRepository.findById(first).orElseThrow().getEstoque()).isEqualTo(INITIAL_STOCK - 100);
+        assertThat(jpaRepository.findById(second).orElseThrow().getEstoque()).isEqualTo(INITIAL_STOCK - 100);
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o LOCK_TIMEOUT da conexão do H2 ao fim da transação")
+    void shouldRestoreSessionLockTimeout() {
+        Long productId = jpaRepository.save(ProductJpaEntity.builder()
+                .sku("LCK-T").nome("Produto com Timeout")
+                .precoBruto(new BigDecimal("10.00")).estoque(10).estoqueMinimo(0).ativo(true)
+                .build()).getId();
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        // Uma única conexão física reaproveitada entre transações, como faria um pool.
+        SingleConnectionDataSource pooled = new SingleConnectionDataSource(url, "sa", "", true);
+        try {
+            JdbcTemplate pooledJdbc = new JdbcTemplate(pooled);
+            ProductRowLocker locker = new ProductRowLocker(pooledJdbc, new SimpleMeterRegistry(), "wait", 2_000);
+            int before = lockTimeoutOf(pooledJdbc);
+
+            Integer during = new TransactionTemplate(new DataSourceTransactionManager(pooled)).execute(status -> {
+                locker.lockInIdOrder(Set.of(productId));
+                return lockTimeoutOf(pooledJdbc);
+            });
+
+            assertThat(during).isEqualTo(2_000);
+            assertThat(lockTimeoutOf(pooledJdbc)).isEqualTo(before);
+        } finally {
+            pooled.destroy();
+        }
+    }
+
+    private static int lockTimeoutOf(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT LOCK_TIMEOUT()", Integer.class);
+    }
+
+    private ProductRepository repositoryWithLock(String mode) {
+        ProductRowLocker locker = new ProductRowLocker(jdbcTemplate, new SimpleMeterRegistry(), mode, 2_000);
+        return new ProductRepositoryImpl(jpaRepository, mapper, jdbcTemplate, ledger, locker, stockShards, catalogCache);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HotSkuResult hammer(Long productId, String label) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    boolean ok = Boolean.TRUE.equals(tx.execute(status ->
+                            productRepository.decreaseStock(Map.of(productId, 1)).isEmpty()));
+                    // Com shards, a recusa pode vir de saldo preso por outras transações: o cliente tenta de novo
+                    while (!ok && productRepository.findById(productId).orElseThrow().getEstoque() > 0) {
+                        ok = Boolean.TRUE.equals(tx.execute(status ->
+                                productRepository.decreaseStock(Map.of(productId, 1)).isEmpty()));
+                    }
+                    (ok ? sold : rejected).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        executor.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("Hot SKU ({}): {} tentativas em {} ms ({} ops/s), vendidos={}, rejeitados={}",
+                label, attempts, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                attempts * 1_000_000_000L / Math.max(elapsedNanos, 1), sold.get(), rejected.get());
+
+        return new HotSkuResult(sold.get(), rejected.get());
+    }
+
+    private record HotSkuResult(int sold, int rejected) {
+    }
+}
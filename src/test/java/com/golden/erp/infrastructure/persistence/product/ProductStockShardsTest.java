@@ -0,0 +1,117 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockShardsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductJpaRepository jpaRepository;
+
+    @InjectMocks
+    private ProductStockShards stockShards;
+
+    @Test
+    @DisplayName("Deve guardar em memória a quantidade de shards consultada")
+    void shouldCacheShardCounts() {
+        when(jpaRepository.findShardsByIds(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 8}));
+
+        Map<Long, Integer> first = stockShards.shardCounts(List.of(1L));
+        Map<Long, Integer> second = stockShards.shardCounts(List.of(1L));
+
+        assertThat(first).containsEntry(1L, 8);
+        assertThat(second).containsEntry(1L, 8);
+        verify(jpaRepository, times(1)).findShardsByIds(any());
+    }
+
+    @Test
+    @DisplayName("Deve baixar do primeiro shard candidato que não está travado por outro pedido")
+    void shouldDecreaseFromSingleShard() {
+        when(jdbcTemplate.queryForList(contains("ORDER BY MOD"), eq(Integer.class), eq(1L), eq(2), anyInt(), eq(4)))
+                .thenReturn(List.of(1, 3));
+        when(jdbcTemplate.queryForList(contains("SKIP LOCKED"), eq(Integer.class), eq(1L), eq(1), eq(2)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(contains("SKIP LOCKED"), eq(Integer.class), eq(1L), eq(3), eq(2)))
+                .thenReturn(List.of(3));
+
+        boolean decreased = stockShards.decrease(1L, 4, 2);
+
+        assertThat(decreased).isTrue();
+        verify(jdbcTemplate).update(anyString(), eq(2), eq(1L), eq(3));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve consumir de vários shards quando nenhum livre tem saldo sozinho")
+    @SuppressWarnings("unchecked")
+    void shouldDrainAcrossShardsWhenFragmented() {
+        when(jdbcTemplate.queryForList(contains("ORDER BY MOD"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("ORDER BY shard FOR UPDATE SKIP LOCKED"), any(RowMapper.class), eq(1L)))
+                .thenReturn(List.of(new int[]{0, 1}, new int[]{1, 0}, new int[]{2, 2}));
+
+        boolean decreased = stockShards.decrease(1L, 3, 3);
+
+        assertThat(decreased).isTrue();
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.captor();
+        verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+        assertThat(args.getValue()).containsExactly(new Object[]{1, 1L, 0}, new Object[]{2, 1L, 2});
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quando a soma dos shards não cobre a quantidade")
+    @SuppressWarnings("unchecked")
+    void shouldRejectWhenAggregateIsInsufficient() {
+        when(jdbcTemplate.queryForList(contains("ORDER BY MOD"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("ORDER BY shard FOR UPDATE SKIP LOCKED"), any(RowMapper.class), eq(1L)))
+                .thenReturn(List.of(new int[]{0, 1}, new int[]{1, 1}));
+
+        assertThat(stockShards.decrease(1L, 2, 3)).isFalse();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve dividir o estoque igualmente entre os shards")
+    void shouldSplitStockEvenly() {
+        stockShards.replace(1L, 3, 10);
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.captor();
+        verify(jdbcTemplate).update(contains("DELETE"), eq(1L));
+        verify(jdbcTemplate).batchUpdate(contains("INSERT"), args.capture());
+        assertThat(args.getValue()).containsExactly(
+                new Object[]{1L, 0, 4}, new Object[]{1L, 1, 3}, new Object[]{1L, 2, 3});
+    }
+
+    @Test
+    @DisplayName("Deve apenas remover os shards quando o produto volta a ter um")
+    void shouldOnlyDeleteWhenSingleShard() {
+        stockShards.replace(1L, 1, 10);
+
+        verify(jdbcTemplate).update(contains("DELETE"), eq(1L));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,128 @@
+package com.golden.erp.infrastructure.persistence.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationLedgerTest {
+
+    @Mock
+    private ProductJpaRepository jpaRepository;
+
+    @InjectMocks
+    private StockReservationLedger ledger;
+
+    @Test
+    @DisplayName("Deve carregar o saldo do banco apenas na primeira reserva")
+    void shouldSeedOnceFromDatabase() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(10));
+
+        assertThat(ledger.tryReserve(1L, 4)).isTrue();
+        assertThat(ledger.tryReserve(1L, 6)).isTrue();
+
+        verify(jpaRepository, times(1)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar no banco antes de rejeitar")
+    void shouldConfirmRejectionWithDatabase() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(2));
+
+        assertThat(ledger.tryReserve(1L, 3)).isFalse();
+        verify(jpaRepository, times(2)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar e recarregar o contador quando o banco tem saldo que a memória não via")
+    void shouldAcceptWhenDatabaseHasStock() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(1), Optional.of(5));
+
+        assertThat(ledger.tryReserve(1L, 3)).isTrue();
+        assertThat(ledger.tryReserve(1L, 2)).isTrue();
+        verify(jpaRepository, times(2)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve deixar o banco decidir quando o produto não existe")
+    void shouldDeferToDatabaseWhenProductIsUnknown() {
+        when(jpaRepository.findStockById(99L)).thenReturn(Optional.empty());
+
+        assertThat(ledger.tryReserve(99L, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve liberar saldo reservado")
+    void shouldReleaseReservation() {
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(2));
+
+        assertThat(ledger.tryReserve(1L, 2)).isTrue();
+        ledger.release(1L, 2);
+
+        assertThat(ledger.tryReserve(1L, 2)).isTrue();
+        verify(jpaRepository, times(1)).findStockById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco quando desabilitado")
+    void shouldBypassWhenDisabled() {
+        ReflectionTestUtils.setField(ledger, "enabled", false);
+
+        assertThat(ledger.tryReserve(1L, 1_000)).isTrue();
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("Não deve reservar além do saldo com reservas concorrentes")
+    void shouldNeverOverReserveUnderContention() throws Exception {
+        int stock = 1_000;
+        int threads = 16;
+        int attemptsPerThread = 500;
+        // Depois da carga o banco já reflete as baixas: as rejeições confirmam o esgotamento
+        when(jpaRepository.findStockById(1L)).thenReturn(Optional.of(stock), Optional.of(0));
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (ledger.tryReserve(1L, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(reserved.get()).isEqualTo(stock);
+    }
+}
@@ -0,0 +1,110 @@
+package com.golden.erp.presentation.controller;
+
+import com.golden.erp.application.order.dto.OrderCursorPage;
+import com.golden.erp.application.order.dto.OrderResponse;
+import com.golden.erp.application.order.service.OrderCreateBatcher;
+import com.golden.erp.application.order.service.OrderExportService;
+import com.golden.erp.application.order.service.OrderIntakeService;
+import com.golden.erp.application.order.service.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @Mock
+    private OrderServiceImpl orderService;
+
+    @Mock
+    private OrderIntakeService intakeService;
+
+    @Mock
+    private OrderCreateBatcher orderCreateBatcher;
+
+    @Mock
+    private OrderExportService exportService;
+
+    @InjectMocks
+    private OrderController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve buscar o pedido na versão usada no ETag")
+    void shouldLoadOrderAtTaggedVersion() throws Exception {
+        when(orderService.findVersion(1L)).thenReturn("v1");
+        when(orderService.findById(1L, "v1")).thenReturn(OrderResponse.builder().id(1L).status("PAID").build());
+
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        verify(orderService, never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem montar o pedido quando o If-None-Match bate")
+    void shouldReturnNotModifiedWithoutLoadingOrder() throws Exception {
+        when(orderService.findVersion(1L)).thenReturn("v1");
+
+        mockMvc.perform(get("/api/orders/1").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, never()).findById(any(), any());
+        verify(orderService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Deve usar a listagem resumida com view=summary sem cursor")
+    void shouldRouteSummaryView() throws Exception {
+        when(orderService.findAllSummaries(isNull(), isNull(), any())).thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        mockMvc.perform(get("/api/orders").param("view", "summary"))
+                .andExpect(status().isOk());
+
+        verify(orderService).findAllSummaries(isNull(), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Deve usar a paginação por cursor quando view=summary vem junto com cursor")
+    void shouldRouteCursorWhenCombinedWithSummaryView() throws Exception {
+        when(orderService.findAllByCursor(null, null, "", 20))
+                .thenReturn(OrderCursorPage.builder().build());
+
+        mockMvc.perform(get("/api/orders").param("view", "summary").param("cursor", ""))
+                .andExpect(status().isOk());
+
+        verify(orderService).findAllByCursor(isNull(), isNull(), eq(""), eq(20));
+        verify(orderService, never()).findAllSummaries(any(), any(), any());
+    }
+}
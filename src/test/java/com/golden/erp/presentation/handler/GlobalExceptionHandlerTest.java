@@ -3,17 +3,25 @@ package com.golden.erp.presentation.handler;
 import com.golden.erp.domain.exception.DomainException;
 import com.golden.erp.domain.exception.DuplicateFieldException;
 import com.golden.erp.domain.exception.EntityNotFoundException;
+import com.golden.erp.domain.exception.IdempotencyKeyReuseException;
 import com.golden.erp.domain.exception.InsufficientStockException;
 import com.golden.erp.domain.exception.InvalidOrderStateException;
+import com.golden.erp.domain.exception.StockBusyException;
+import com.golden.erp.domain.exception.StockLockUnavailableException;
 import com.golden.erp.presentation.dto.ErrorResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.sql.SQLException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class GlobalExceptionHandlerTest {
@@ -44,6 +52,40 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getStatus()).isEqualTo(409);
     }
 
+    @Test
+    @DisplayName("Deve retornar 409 para chave única duplicada não traduzida")
+    void shouldReturn409ForDataIntegrityViolation() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("duplicate key",
+                new SQLException("duplicate key value violates unique constraint", "23505"));
+
+        ResponseEntity<ErrorResponse> response = handler.handleDataIntegrity(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).doesNotContain("duplicate key");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 para DuplicateKeyException")
+    void shouldReturn409ForDuplicateKey() {
+        ResponseEntity<ErrorResponse> response = handler.handleDataIntegrity(new DuplicateKeyException("duplicate key"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 500 para violação de integridade que não é chave duplicada")
+    void shouldReturn500ForOtherDataIntegrityViolation() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("not null",
+                new SQLException("null value in column \"cliente_id\" violates not-null constraint", "23502"));
+
+        ResponseEntity<ErrorResponse> response = handler.handleDataIntegrity(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).doesNotContain("cliente_id");
+    }
+
     @Test
     @DisplayName("Deve retornar 422 para InsufficientStockException")
     void shouldReturn422ForInsufficientStock() {
@@ -56,6 +98,44 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getStatus()).isEqualTo(422);
     }
 
+    @Test
+    @DisplayName("Deve retornar 409 com Retry-After para StockLockUnavailableException")
+    void shouldReturn409ForStockLockUnavailable() {
+        StockLockUnavailableException ex = new StockLockUnavailableException("SKU-001");
+
+        ResponseEntity<ErrorResponse> response = handler.handleStockLockUnavailable(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).contains("SKU-001");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 409 com Retry-After para StockBusyException")
+    void shouldReturn409ForStockBusy() {
+        StockBusyException ex = new StockBusyException("Camiseta");
+
+        ResponseEntity<ErrorResponse> response = handler.handleStockLockUnavailable(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).contains("Camiseta");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 422 para IdempotencyKeyReuseException")
+    void shouldReturn422ForIdempotencyKeyReuse() {
+        IdempotencyKeyReuseException ex = new IdempotencyKeyReuseException("chave-1");
+
+        ResponseEntity<ErrorResponse> response = handler.handleIdempotencyKeyReuse(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).contains("chave-1");
+    }
+
     @Test
     @DisplayName("Deve retornar 422 para InvalidOrderStateException")
     void shouldReturn422ForInvalidOrderState() {